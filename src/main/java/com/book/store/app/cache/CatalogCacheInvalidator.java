@@ -0,0 +1,57 @@
+package com.book.store.app.cache;
+
+import com.book.store.app.config.CacheConfig;
+import com.book.store.app.event.BookChangedEvent;
+import com.book.store.app.event.BooksImportedEvent;
+import com.book.store.app.event.CategoryChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class CatalogCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final CatalogVersion catalogVersion;
+    private final PageResponseCache pageResponseCache;
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        evict(CacheConfig.BOOKS, event.book().getId());
+        pageResponseCache.invalidateAll();
+        catalogVersion.increment();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksImported(BooksImportedEvent event) {
+        pageResponseCache.invalidateAll();
+        catalogVersion.increment();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        evict(CacheConfig.CATEGORIES, event.categoryId());
+        evict(CacheConfig.CATEGORY_LIST, SimpleKey.EMPTY);
+        if (event.deleted()) {
+            event.bookIds().forEach(id -> evict(CacheConfig.BOOKS, id));
+        }
+        pageResponseCache.invalidateAll();
+        catalogVersion.increment();
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
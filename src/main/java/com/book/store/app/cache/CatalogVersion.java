@@ -0,0 +1,34 @@
+package com.book.store.app.cache;
+
+import com.book.store.app.dto.ResourceVersion;
+import java.time.Clock;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CatalogVersion {
+
+    private final Clock clock;
+    private final String epoch;
+    private long changes;
+    private volatile ResourceVersion current;
+
+    public CatalogVersion(Clock clock) {
+        this.clock = clock;
+        this.epoch = Long.toString(clock.millis(), Character.MAX_RADIX);
+        this.current = version();
+    }
+
+    public ResourceVersion current() {
+        return current;
+    }
+
+    public synchronized void increment() {
+        changes++;
+        current = version();
+    }
+
+    private ResourceVersion version() {
+        return new ResourceVersion("W/\"catalog-" + epoch + "-" + changes + "\"",
+                clock.instant());
+    }
+}
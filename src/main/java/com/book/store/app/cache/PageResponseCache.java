@@ -0,0 +1,112 @@
+package com.book.store.app.cache;
+
+import com.book.store.app.config.PageCacheProperties;
+import com.book.store.app.dto.CacheStatsDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+@Component
+public class PageResponseCache {
+
+    public static final String NAME = "book-pages";
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final PageCacheProperties properties;
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
+    private final Cache<PageKey, EncodedPage> pages;
+
+    public PageResponseCache(PageCacheProperties properties, CatalogVersion catalogVersion,
+                             ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.catalogVersion = catalogVersion;
+        this.objectMapper = objectMapper;
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((PageKey key, EncodedPage page) -> page.weight())
+                .recordStats()
+                .build();
+    }
+
+    public ResponseEntity<?> respond(String endpoint, Object params, Pageable pageable,
+                                     WebRequest request, Supplier<?> loader) {
+        if (!isCacheable(pageable)) {
+            return ResponseEntity.ok(loader.get());
+        }
+        PageKey key = new PageKey(catalogVersion.current().etag(), endpoint, params,
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        EncodedPage page = pages.get(key, k -> encode(loader.get()));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (page.gzip() == null || acceptEncoding == null || !acceptEncoding.contains("gzip")) {
+            return response.body(page.json());
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(page.gzip());
+    }
+
+    public void invalidateAll() {
+        pages.invalidateAll();
+    }
+
+    public CacheStatsDto stats() {
+        CacheStats stats = pages.stats();
+        return new CacheStatsDto(NAME, properties.isEnabled(), pages.estimatedSize(),
+                stats.hitCount(), stats.missCount(), stats.evictionCount(), stats.hitRate());
+    }
+
+    private boolean isCacheable(Pageable pageable) {
+        return properties.isEnabled()
+                && pageable.isPaged()
+                && pageable.getPageNumber() < properties.getMaxPage()
+                && pageable.getPageSize() <= properties.getMaxPageSize();
+    }
+
+    private EncodedPage encode(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            boolean compress = properties.isGzip()
+                    && json.length >= properties.getGzipMinSize().toBytes();
+            return new EncodedPage(json, compress ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to encode catalog page", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private record PageKey(String version, String endpoint, Object params, int page, int size,
+                           Sort sort) {
+    }
+
+    private record EncodedPage(byte[] json, byte[] gzip) {
+
+        int weight() {
+            return ENTRY_OVERHEAD + json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.book.store.app.cart;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "cart.store.mode", havingValue = "memory")
+public class CartBuffer {
+
+    private final CartStore cartStore;
+    private final Clock clock;
+    private final int batchSize;
+    private final Duration idleTimeout;
+    private final ReentrantLock[] stripes;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Map<Long, CachedCart> carts = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    public CartBuffer(CartStore cartStore, Clock clock,
+                      @Value("${cart.store.stripes:64}") int stripes,
+                      @Value("${cart.store.flush-batch-size:100}") int batchSize,
+                      @Value("${cart.store.idle-timeout:PT10M}") Duration idleTimeout) {
+        this.cartStore = cartStore;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.idleTimeout = idleTimeout;
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public CartSnapshot read(Long userId) {
+        return withCart(userId, CachedCart::snapshot);
+    }
+
+    public Optional<CartLine> increment(Long userId, Long bookId, int quantity) {
+        return withCart(userId, cart -> {
+            CartLine line = cart.lines.get(bookId);
+            if (line == null) {
+                return Optional.empty();
+            }
+            return Optional.of(cart.put(line.withQuantity(line.quantity() + quantity)));
+        });
+    }
+
+    public CartLine add(Long userId, Long bookId, String title, int quantity) {
+        Long cartId = withCart(userId, cart -> cart.cartId);
+        Long itemId = cartStore.insertLine(cartId, bookId, quantity);
+        return withCart(userId, cart -> {
+            CartLine existing = cart.lines.get(bookId);
+            return cart.put(existing == null ? new CartLine(itemId, bookId, title, quantity)
+                    : existing.withQuantity(existing.quantity() + quantity));
+        });
+    }
+
+    public Optional<CartLine> setQuantity(Long userId, Long itemId, int quantity) {
+        return withCart(userId, cart -> cart.line(itemId)
+                .map(line -> cart.put(line.withQuantity(quantity))));
+    }
+
+    public boolean remove(Long userId, Long itemId) {
+        return withCart(userId, cart -> cart.line(itemId)
+                .map(line -> {
+                    cart.lines.remove(line.bookId());
+                    markDirty(userId, cart);
+                    return true;
+                })
+                .orElse(false));
+    }
+
+    public CartSnapshot beginCheckout(Long userId) {
+        flushLock.lock();
+        try {
+            CartSnapshot snapshot = withCart(userId, cart -> {
+                cart.checkingOut = true;
+                dirty.remove(userId);
+                return cart.snapshot();
+            });
+            try {
+                cartStore.save(List.of(snapshot));
+            } catch (RuntimeException e) {
+                endCheckout(userId, snapshot, false);
+                throw e;
+            }
+            return snapshot;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public void endCheckout(Long userId, CartSnapshot ordered, boolean committed) {
+        ReentrantLock lock = stripe(userId);
+        lock.lock();
+        try {
+            CachedCart cart = carts.get(userId);
+            if (cart == null) {
+                return;
+            }
+            cart.checkingOut = false;
+            if (!committed) {
+                markDirty(userId, cart);
+                return;
+            }
+            ordered.lines().forEach(line -> cart.lines.computeIfPresent(line.bookId(),
+                    (bookId, current) -> current.quantity() > line.quantity()
+                            ? current.withQuantity(current.quantity() - line.quantity())
+                            : null));
+            if (cart.lines.isEmpty()) {
+                dirty.remove(userId);
+            } else {
+                markDirty(userId, cart);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int dirtyCount() {
+        return dirty.size();
+    }
+
+    @Scheduled(fixedDelayString = "${cart.store.flush-interval:PT1S}")
+    public void flush() {
+        List<Long> batch = new ArrayList<>(batchSize);
+        for (Long userId : dirty) {
+            batch.add(userId);
+            if (batch.size() == batchSize) {
+                flushBatch(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            flushBatch(batch);
+        }
+        evictIdle();
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flush();
+    }
+
+    private void flushBatch(List<Long> userIds) {
+        flushLock.lock();
+        try {
+            List<CartSnapshot> snapshots = new ArrayList<>(userIds.size());
+            for (Long userId : userIds) {
+                ReentrantLock lock = stripe(userId);
+                lock.lock();
+                try {
+                    CachedCart cart = carts.get(userId);
+                    if (cart != null && !cart.checkingOut && dirty.remove(userId)) {
+                        snapshots.add(cart.snapshot());
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            try {
+                cartStore.save(snapshots);
+            } catch (RuntimeException e) {
+                snapshots.forEach(snapshot -> markDirty(snapshot.userId()));
+                throw e;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void evictIdle() {
+        Instant idleSince = clock.instant().minus(idleTimeout);
+        for (Long userId : carts.keySet()) {
+            ReentrantLock lock = stripe(userId);
+            lock.lock();
+            try {
+                CachedCart cart = carts.get(userId);
+                if (cart != null && !cart.checkingOut && !dirty.contains(userId)
+                        && cart.touchedAt.isBefore(idleSince)) {
+                    carts.remove(userId);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private <T> T withCart(Long userId, Function<CachedCart, T> action) {
+        ReentrantLock lock = stripe(userId);
+        CartSnapshot loaded = null;
+        while (true) {
+            lock.lock();
+            try {
+                CachedCart cart = carts.get(userId);
+                if (cart == null && loaded != null) {
+                    cart = new CachedCart(loaded);
+                    carts.put(userId, cart);
+                }
+                if (cart != null) {
+                    cart.touchedAt = clock.instant();
+                    return action.apply(cart);
+                }
+            } finally {
+                lock.unlock();
+            }
+            loaded = cartStore.load(userId);
+        }
+    }
+
+    private void markDirty(Long userId) {
+        ReentrantLock lock = stripe(userId);
+        lock.lock();
+        try {
+            if (carts.containsKey(userId)) {
+                dirty.add(userId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void markDirty(Long userId, CachedCart cart) {
+        cart.touchedAt = clock.instant();
+        dirty.add(userId);
+    }
+
+    private ReentrantLock stripe(Long userId) {
+        return stripes[Math.floorMod(userId.hashCode(), stripes.length)];
+    }
+
+    private final class CachedCart {
+        private final Long userId;
+        private final Long cartId;
+        private final Map<Long, CartLine> lines = new LinkedHashMap<>();
+        private Instant touchedAt = Instant.EPOCH;
+        private boolean checkingOut;
+
+        private CachedCart(CartSnapshot snapshot) {
+            this.userId = snapshot.userId();
+            this.cartId = snapshot.cartId();
+            snapshot.lines().forEach(line -> lines.put(line.bookId(), line));
+        }
+
+        private Optional<CartLine> line(Long itemId) {
+            return lines.values().stream()
+                    .filter(line -> line.id().equals(itemId))
+                    .findFirst();
+        }
+
+        private CartLine put(CartLine line) {
+            lines.put(line.bookId(), line);
+            markDirty(userId, this);
+            return line;
+        }
+
+        private CartSnapshot snapshot() {
+            return new CartSnapshot(userId, cartId, List.copyOf(lines.values()));
+        }
+    }
+}
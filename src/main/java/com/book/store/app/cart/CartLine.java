@@ -0,0 +1,8 @@
+package com.book.store.app.cart;
+
+public record CartLine(Long id, Long bookId, String title, int quantity) {
+
+    CartLine withQuantity(int quantity) {
+        return new CartLine(id, bookId, title, quantity);
+    }
+}
@@ -0,0 +1,6 @@
+package com.book.store.app.cart;
+
+import java.util.List;
+
+public record CartSnapshot(Long userId, Long cartId, List<CartLine> lines) {
+}
@@ -0,0 +1,117 @@
+package com.book.store.app.cart;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@ConditionalOnProperty(name = "cart.store.mode", havingValue = "memory")
+@RequiredArgsConstructor
+public class CartStore {
+
+    private static final String INSERT_LINE =
+            "INSERT INTO cart_items (id, cart_id, book_id, quantity) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_LINE =
+            "UPDATE cart_items SET quantity = ? WHERE id = ?";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public CartSnapshot load(Long userId) {
+        Long cartId = findCartId(userId).orElseGet(() -> createCart(userId));
+        List<CartLine> lines = namedJdbcTemplate.getJdbcTemplate().query(
+                "SELECT ci.id, ci.book_id, b.title, ci.quantity FROM cart_items ci "
+                        + "JOIN books b ON b.id = ci.book_id WHERE ci.cart_id = ? ORDER BY ci.id",
+                (rs, rowNum) -> new CartLine(rs.getLong(1), rs.getLong(2), rs.getString(3),
+                        rs.getInt(4)),
+                cartId);
+        return new CartSnapshot(userId, cartId, lines);
+    }
+
+    public Long insertLine(Long cartId, Long bookId, int quantity) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        try {
+            namedJdbcTemplate.getJdbcTemplate().update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        "INSERT INTO cart_items (cart_id, book_id, quantity) VALUES (?, ?, ?)",
+                        new String[] {"id"});
+                statement.setLong(1, cartId);
+                statement.setLong(2, bookId);
+                statement.setInt(3, quantity);
+                return statement;
+            }, keys);
+        } catch (DuplicateKeyException e) {
+            return namedJdbcTemplate.getJdbcTemplate().queryForObject(
+                    "SELECT id FROM cart_items WHERE cart_id = ? AND book_id = ?",
+                    Long.class, cartId, bookId);
+        }
+        return Objects.requireNonNull(keys.getKey()).longValue();
+    }
+
+    @Transactional
+    public void save(List<CartSnapshot> carts) {
+        if (carts.isEmpty()) {
+            return;
+        }
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        for (CartSnapshot cart : carts) {
+            List<Long> ids = cart.lines().stream().map(CartLine::id).toList();
+            if (ids.isEmpty()) {
+                namedJdbcTemplate.update("DELETE FROM cart_items WHERE cart_id = :cartId",
+                        Map.of("cartId", cart.cartId()));
+            } else {
+                namedJdbcTemplate.update("DELETE FROM cart_items WHERE cart_id = :cartId "
+                        + "AND id NOT IN (:ids)", Map.of("cartId", cart.cartId(), "ids", ids));
+            }
+            for (CartLine line : cart.lines()) {
+                updates.add(new Object[] {line.quantity(), line.id()});
+                inserts.add(new Object[] {line.id(), cart.cartId(), line.bookId(),
+                        line.quantity()});
+            }
+        }
+        int[] updated = namedJdbcTemplate.getJdbcTemplate().batchUpdate(UPDATE_LINE, updates);
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(inserts.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            namedJdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_LINE, missing);
+        }
+    }
+
+    private Optional<Long> findCartId(Long userId) {
+        return namedJdbcTemplate.getJdbcTemplate()
+                .query("SELECT id FROM shopping_carts WHERE user_id = ?",
+                        (rs, rowNum) -> rs.getLong(1), userId)
+                .stream()
+                .findFirst();
+    }
+
+    private Long createCart(Long userId) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        try {
+            namedJdbcTemplate.getJdbcTemplate().update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        "INSERT INTO shopping_carts (user_id) VALUES (?)", new String[] {"id"});
+                statement.setLong(1, userId);
+                return statement;
+            }, keys);
+        } catch (DuplicateKeyException e) {
+            return findCartId(userId).orElseThrow(() -> e);
+        }
+        return Objects.requireNonNull(keys.getKey()).longValue();
+    }
+}
@@ -0,0 +1,9 @@
+package com.book.store.app.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(BookImportProperties.class)
+public class BookImportConfig {
+}
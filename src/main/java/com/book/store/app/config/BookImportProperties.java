@@ -0,0 +1,15 @@
+package com.book.store.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "book.bulk")
+public class BookImportProperties {
+
+    private int chunkSize = 1000;
+
+    private int validationParallelism;
+
+    private int maxReportedErrors = 1000;
+}
@@ -0,0 +1,43 @@
+package com.book.store.app.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties({CatalogCacheProperties.class, PageCacheProperties.class})
+public class CacheConfig {
+
+    public static final String BOOKS = "books";
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORY_LIST = "category-list";
+
+    private static final List<String> REGIONS = List.of(BOOKS, CATEGORIES, CATEGORY_LIST);
+
+    @Bean
+    public CacheManager cacheManager(CatalogCacheProperties properties) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(REGIONS.stream()
+                .map(name -> createCache(name, properties))
+                .toList());
+        return cacheManager;
+    }
+
+    private Cache createCache(String name, CatalogCacheProperties properties) {
+        CatalogCacheProperties.Region region = properties.region(name);
+        if (!region.isEnabled()) {
+            return new NoOpCache(name);
+        }
+        String spec = region.getSpec() != null ? region.getSpec() : properties.getDefaultSpec();
+        return new CaffeineCache(name, Caffeine.from(spec).recordStats().build(), false);
+    }
+}
@@ -0,0 +1,25 @@
+package com.book.store.app.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "catalog.cache")
+public class CatalogCacheProperties {
+
+    private String defaultSpec = "maximumSize=1000,expireAfterWrite=10m";
+
+    private Map<String, Region> regions = new HashMap<>();
+
+    public Region region(String name) {
+        return regions.getOrDefault(name, new Region());
+    }
+
+    @Data
+    public static class Region {
+        private boolean enabled = true;
+        private String spec;
+    }
+}
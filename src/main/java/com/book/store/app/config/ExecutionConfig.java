@@ -0,0 +1,34 @@
+package com.book.store.app.config;
+
+import com.book.store.app.execution.DataSourceConcurrencyLimiter;
+import com.book.store.app.execution.VirtualThreads;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@EnableConfigurationProperties(ExecutionProperties.class)
+public class ExecutionConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "execution.mode", havingValue = "virtual")
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadExecutorCustomizer() {
+        return handler -> handler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-vt-")
+                .orElseThrow(() -> new IllegalStateException(
+                        "execution.mode=virtual requires a Java 21 runtime, running on "
+                                + Runtime.version())));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "execution.db.limit-enabled", matchIfMissing = true)
+    public static DataSourceConcurrencyLimiter dataSourceConcurrencyLimiter(
+            Environment environment) {
+        return new DataSourceConcurrencyLimiter(Binder.get(environment)
+                .bindOrCreate("execution.db", ExecutionProperties.Db.class));
+    }
+}
@@ -0,0 +1,27 @@
+package com.book.store.app.config;
+
+import com.book.store.app.execution.ExecutionMode;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "execution")
+public class ExecutionProperties {
+
+    private ExecutionMode mode = ExecutionMode.PLATFORM;
+
+    private Db db = new Db();
+
+    @Data
+    public static class Db {
+
+        private boolean limitEnabled = true;
+
+        private int maxConcurrency;
+
+        private int reservedConnections = 2;
+
+        private Duration acquireTimeout = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,28 @@
+package com.book.store.app.config;
+
+import com.book.store.app.instrumentation.DataSourceInstrumenter;
+import com.book.store.app.instrumentation.ServerTimingInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class InstrumentationConfig implements WebMvcConfigurer {
+
+    private final ServerTimingInterceptor serverTimingInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(serverTimingInterceptor);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "instrumentation.jdbc.enabled", matchIfMissing = true)
+    public static DataSourceInstrumenter dataSourceInstrumenter() {
+        return new DataSourceInstrumenter();
+    }
+}
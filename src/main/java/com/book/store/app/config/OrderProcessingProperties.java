@@ -0,0 +1,26 @@
+package com.book.store.app.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "order.processing")
+public class OrderProcessingProperties {
+
+    private boolean enabled = true;
+
+    private int concurrency = 4;
+
+    private int queueCapacity = 100;
+
+    private int batchSize = 20;
+
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    private int maxAttempts = 5;
+
+    private Duration claimTimeout = Duration.ofMinutes(5);
+
+    private Duration sseTimeout = Duration.ofMinutes(5);
+}
@@ -0,0 +1,22 @@
+package com.book.store.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(prefix = "catalog.page-cache")
+public class PageCacheProperties {
+
+    private boolean enabled = true;
+
+    private DataSize maxSize = DataSize.ofMegabytes(32);
+
+    private int maxPage = 5;
+
+    private int maxPageSize = 100;
+
+    private boolean gzip = true;
+
+    private DataSize gzipMinSize = DataSize.ofKilobytes(1);
+}
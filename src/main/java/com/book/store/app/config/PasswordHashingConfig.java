@@ -0,0 +1,38 @@
+package com.book.store.app.config;
+
+import com.book.store.app.security.BcryptWorkFactor;
+import com.book.store.app.security.OffloadingPasswordEncoder;
+import com.book.store.app.security.PasswordHashingExecutor;
+import java.util.Map;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+
+@Configuration
+@EnableConfigurationProperties(PasswordHashingProperties.class)
+public class PasswordHashingConfig {
+
+    private static final String BCRYPT = "bcrypt";
+
+    @Bean
+    public PasswordHashingExecutor passwordHashingExecutor(PasswordHashingProperties properties) {
+        return new PasswordHashingExecutor(properties.getThreads(), properties.getQueueCapacity(),
+                properties.getTimeout());
+    }
+
+    @Bean
+    public OffloadingPasswordEncoder passwordEncoder(PasswordHashingProperties properties,
+                                                     PasswordHashingExecutor executor) {
+        int strength = properties.getTargetDuration() == null
+                ? properties.getStrength()
+                : BcryptWorkFactor.calibrate(properties.getTargetDuration(),
+                        properties.getMinStrength(), properties.getMaxStrength());
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(BCRYPT,
+                Map.of(BCRYPT, bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new OffloadingPasswordEncoder(delegating, executor, strength);
+    }
+}
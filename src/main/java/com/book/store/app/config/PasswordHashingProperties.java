@@ -0,0 +1,24 @@
+package com.book.store.app.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "password.hashing")
+public class PasswordHashingProperties {
+
+    private int threads = 2;
+
+    private int queueCapacity = 64;
+
+    private Duration timeout = Duration.ofSeconds(5);
+
+    private int strength = 10;
+
+    private Duration targetDuration;
+
+    private int minStrength = 10;
+
+    private int maxStrength = 14;
+}
@@ -0,0 +1,30 @@
+package com.book.store.app.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "datasource.replicas")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    private List<String> urls = new ArrayList<>();
+
+    private String username;
+
+    private String password;
+
+    private int maximumPoolSize = 10;
+
+    private Duration checkInterval = Duration.ofSeconds(1);
+
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    private Duration validationTimeout = Duration.ofMillis(500);
+}
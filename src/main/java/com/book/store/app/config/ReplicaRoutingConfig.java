@@ -0,0 +1,72 @@
+package com.book.store.app.config;
+
+import com.book.store.app.routing.Replica;
+import com.book.store.app.routing.ReplicaRoutingDataSource;
+import com.book.store.app.routing.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "datasource.replicas", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaSet replicaSet(DataSourceProperties dataSourceProperties,
+                                 ReplicaProperties properties, Environment environment,
+                                 Clock clock) {
+        if (properties.getMaxLag().compareTo(properties.getCheckInterval()) <= 0) {
+            throw new IllegalStateException(
+                    "datasource.replicas.max-lag must be longer than check-interval");
+        }
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getUrls().size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.add(new Replica(name, replica(name, properties.getUrls().get(i),
+                    dataSourceProperties, properties)));
+        }
+        return new ReplicaSet(primary, replicas, clock, properties.getMaxLag(),
+                properties.getValidationTimeout());
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaSet replicaSet) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(replicaSet));
+    }
+
+    private static HikariDataSource replica(String name, String url,
+                                            DataSourceProperties dataSourceProperties,
+                                            ReplicaProperties properties) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName(name);
+        replica.setJdbcUrl(url);
+        replica.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        replica.setUsername(properties.getUsername() != null
+                ? properties.getUsername() : dataSourceProperties.determineUsername());
+        replica.setPassword(properties.getPassword() != null
+                ? properties.getPassword() : dataSourceProperties.determinePassword());
+        replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+        replica.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        replica.setValidationTimeout(properties.getValidationTimeout().toMillis());
+        replica.setReadOnly(true);
+        return replica;
+    }
+}
@@ -8,10 +8,12 @@ import com.book.store.app.service.AuthenticationService;
 import com.book.store.app.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -21,6 +23,8 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class AuthenticationController {
 
+    private static final String TOKEN_PREFIX = "Bearer ";
+
     private final UserService userService;
     private final AuthenticationService authenticationService;
 
@@ -40,4 +44,13 @@ public class AuthenticationController {
     ) {
         return authenticationService.authenticate(request);
     }
+
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PreAuthorize("isAuthenticated()")
+    public void logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        if (authorization.startsWith(TOKEN_PREFIX)) {
+            authenticationService.logout(authorization.substring(TOKEN_PREFIX.length()));
+        }
+    }
 }
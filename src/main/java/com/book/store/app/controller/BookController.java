@@ -1,15 +1,32 @@
 package com.book.store.app.controller;
 
+import com.book.store.app.cache.CatalogVersion;
+import com.book.store.app.cache.PageResponseCache;
 import com.book.store.app.dto.BookDto;
 import com.book.store.app.dto.BookSearchParametersDto;
+import com.book.store.app.dto.BookSliceDto;
+import com.book.store.app.dto.BulkImportResultDto;
+import com.book.store.app.dto.CatalogFormat;
 import com.book.store.app.dto.CreateBookRequestDto;
+import com.book.store.app.dto.FacetedBookPageDto;
+import com.book.store.app.dto.ResourceVersion;
+import com.book.store.app.service.BookExportService;
+import com.book.store.app.service.BookImportService;
 import com.book.store.app.service.BookService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,9 +35,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequestMapping("/api/books")
@@ -28,17 +48,70 @@ import org.springframework.web.bind.annotation.RestController;
 public class BookController {
 
     private final BookService bookService;
+    private final CatalogVersion catalogVersion;
+    private final PageResponseCache pageResponseCache;
+    private final BookExportService bookExportService;
+    private final BookImportService bookImportService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public Page<BookDto> getAll(
-            @PageableDefault(size = 10, sort = "title") Pageable pageable) {
-        return bookService.findAll(pageable);
+    public ResponseEntity<?> getAll(
+            @PageableDefault(size = 10, sort = "title") Pageable pageable,
+            ServletWebRequest request) {
+        if (ConditionalRequests.isEncodedNotModified(request, catalogVersion.current())) {
+            return null;
+        }
+        return pageResponseCache.respond("books", null, pageable, request,
+                () -> bookService.findAll(pageable));
+    }
+
+    @GetMapping(params = "after")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public BookSliceDto getAllAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        return bookService.findAllAfter(after, size, withTotal);
+    }
+
+    @GetMapping(params = {"keyset=true", "!after"})
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public BookSliceDto getFirstSlice(
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        return bookService.findAllAfter(null, size, withTotal);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public void exportBooks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        CatalogFormat catalogFormat = CatalogFormat.of(format);
+        response.setContentType(catalogFormat.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"books." + catalogFormat.getExtension() + "\"");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null || !acceptEncoding.contains("gzip")) {
+            bookExportService.export(catalogFormat, response.getOutputStream());
+            return;
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        try (GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream(), 8192)) {
+            bookExportService.export(catalogFormat, out);
+        }
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public BookDto getBookById(@PathVariable Long id) {
+    public BookDto getBookById(@PathVariable Long id, ServletWebRequest request) {
+        Optional<ResourceVersion> version = bookService.findVersion(id);
+        if (version.isPresent() && ConditionalRequests.isNotModified(request, version.get())) {
+            return null;
+        }
         return bookService.findById(id);
     }
 
@@ -49,6 +122,24 @@ public class BookController {
         return bookService.save(requestDto);
     }
 
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkImportResultDto importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false)
+            String contentEncoding,
+            @RequestParam(required = false) Integer chunkSize,
+            HttpServletRequest request) throws IOException {
+        CatalogFormat catalogFormat = CatalogFormat.ofMediaType(contentType);
+        if (!"gzip".equalsIgnoreCase(contentEncoding)) {
+            return bookImportService.importBooks(catalogFormat, request.getInputStream(),
+                    chunkSize);
+        }
+        try (GZIPInputStream in = new GZIPInputStream(request.getInputStream(), 8192)) {
+            return bookImportService.importBooks(catalogFormat, in, chunkSize);
+        }
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public BookDto updateBook(@PathVariable Long id,
@@ -65,9 +156,36 @@ public class BookController {
 
     @GetMapping("/search")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public Page<BookDto> searchBooks(
+    public ResponseEntity<?> searchBooks(
+            @ModelAttribute BookSearchParametersDto params,
+            @PageableDefault(size = 10, sort = "title") Pageable pageable,
+            ServletWebRequest request) {
+        return pageResponseCache.respond("books/search", params, pageable, request,
+                () -> bookService.search(params, pageable));
+    }
+
+    @GetMapping(value = "/search", params = {"facets=true", "!after", "keyset!=true"})
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public FacetedBookPageDto searchBooksWithFacets(
             @ModelAttribute BookSearchParametersDto params,
             @PageableDefault(size = 10, sort = "title") Pageable pageable) {
-        return bookService.search(params, pageable);
+        return bookService.searchWithFacets(params, pageable);
+    }
+
+    @GetMapping(value = "/search", params = "after")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public BookSliceDto searchBooksAfter(
+            @ModelAttribute BookSearchParametersDto params,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size) {
+        return bookService.searchAfter(params, after, size);
+    }
+
+    @GetMapping(value = "/search", params = {"keyset=true", "!after"})
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public BookSliceDto searchBooksFirstSlice(
+            @ModelAttribute BookSearchParametersDto params,
+            @RequestParam(defaultValue = "10") int size) {
+        return bookService.searchAfter(params, null, size);
     }
 }
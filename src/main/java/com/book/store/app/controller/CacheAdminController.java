@@ -0,0 +1,24 @@
+package com.book.store.app.controller;
+
+import com.book.store.app.dto.CacheStatsDto;
+import com.book.store.app.service.CacheStatsService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/caches")
+@RequiredArgsConstructor
+public class CacheAdminController {
+
+    private final CacheStatsService cacheStatsService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<CacheStatsDto> getStats() {
+        return cacheStatsService.getStats();
+    }
+}
@@ -1,11 +1,19 @@
 package com.book.store.app.controller;
 
+import com.book.store.app.cache.CatalogVersion;
 import com.book.store.app.dto.BookDtoWithoutCategoryIds;
+import com.book.store.app.dto.CategoryBookCountDto;
 import com.book.store.app.dto.CategoryDto;
+import com.book.store.app.dto.ResourceVersion;
 import com.book.store.app.service.CategoryService;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,8 +23,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -24,6 +34,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CatalogVersion catalogVersion;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -34,13 +45,20 @@ public class CategoryController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public List<CategoryDto> getAll() {
+    public List<CategoryDto> getAll(ServletWebRequest request) {
+        if (ConditionalRequests.isNotModified(request, catalogVersion.current())) {
+            return null;
+        }
         return categoryService.findAll();
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public CategoryDto getCategoryById(@PathVariable Long id) {
+    public CategoryDto getCategoryById(@PathVariable Long id, ServletWebRequest request) {
+        Optional<ResourceVersion> version = categoryService.findVersion(id);
+        if (version.isPresent() && ConditionalRequests.isNotModified(request, version.get())) {
+            return null;
+        }
         return categoryService.getById(id);
     }
 
@@ -60,7 +78,23 @@ public class CategoryController {
 
     @GetMapping("/{id}/books")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public List<BookDtoWithoutCategoryIds> getBooksByCategory(@PathVariable Long id) {
-        return categoryService.getBooksByCategoryId(id);
+    public Page<BookDtoWithoutCategoryIds> getBooksByCategory(
+            @PathVariable Long id,
+            @PageableDefault(size = 20) Pageable pageable) {
+        return categoryService.getBooksByCategoryId(id, pageable);
+    }
+
+    @GetMapping("/books")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public Page<BookDtoWithoutCategoryIds> getBooksInAllCategories(
+            @RequestParam Set<Long> categoryIds,
+            @PageableDefault(size = 20) Pageable pageable) {
+        return categoryService.getBooksInAllCategories(categoryIds, pageable);
+    }
+
+    @GetMapping("/counts")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public List<CategoryBookCountDto> getBookCounts() {
+        return categoryService.getBookCounts();
     }
 }
@@ -0,0 +1,35 @@
+package com.book.store.app.controller;
+
+import com.book.store.app.dto.ResourceVersion;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+final class ConditionalRequests {
+
+    private static final String REVALIDATE = CacheControl.noCache().cachePrivate()
+            .getHeaderValue();
+
+    private ConditionalRequests() {
+    }
+
+    static boolean isEncodedNotModified(ServletWebRequest request, ResourceVersion version) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        return isNotModified(request, version);
+    }
+
+    static boolean isNotModified(ServletWebRequest request, ResourceVersion version) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        }
+        if (version.lastModified() == null) {
+            return request.checkNotModified(version.etag());
+        }
+        return request.checkNotModified(version.etag(), version.lastModified().toEpochMilli());
+    }
+}
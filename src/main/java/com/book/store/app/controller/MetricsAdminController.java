@@ -0,0 +1,41 @@
+package com.book.store.app.controller;
+
+import com.book.store.app.dto.EndpointMetricsDto;
+import com.book.store.app.dto.PasswordHashingStatsDto;
+import com.book.store.app.service.PerformanceMetricsService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/metrics")
+@RequiredArgsConstructor
+public class MetricsAdminController {
+
+    private final PerformanceMetricsService performanceMetricsService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<EndpointMetricsDto> getMetrics() {
+        return performanceMetricsService.getEndpointMetrics();
+    }
+
+    @GetMapping("/password-hashing")
+    @PreAuthorize("hasRole('ADMIN')")
+    public PasswordHashingStatsDto getPasswordHashingStats() {
+        return performanceMetricsService.getPasswordHashingStats();
+    }
+
+    @DeleteMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void reset() {
+        performanceMetricsService.reset();
+    }
+}
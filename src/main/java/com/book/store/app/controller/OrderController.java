@@ -7,7 +7,12 @@ import com.book.store.app.service.OrderService;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -17,6 +22,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -26,7 +32,7 @@ public class OrderController {
     private final OrderService orderService;
 
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
+    @ResponseStatus(HttpStatus.ACCEPTED)
     @PreAuthorize("hasRole('USER')")
     public OrderResponseDto placeOrder(@Valid @RequestBody OrderRequestDto request) {
         return orderService.placeOrder(request);
@@ -34,8 +40,16 @@ public class OrderController {
 
     @GetMapping
     @PreAuthorize("hasRole('USER')")
-    public List<OrderResponseDto> getOrderHistory() {
-        return orderService.getOrderHistory();
+    public Page<OrderResponseDto> getOrderHistory(
+            @PageableDefault(size = 10, sort = "orderDate", direction = Sort.Direction.DESC)
+            Pageable pageable) {
+        return orderService.getOrderHistory(pageable);
+    }
+
+    @GetMapping(value = "/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('USER')")
+    public SseEmitter streamStatus(@PathVariable Long orderId) {
+        return orderService.streamStatus(orderId);
     }
 
     @GetMapping("/{orderId}/items")
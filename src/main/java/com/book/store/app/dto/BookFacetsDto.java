@@ -0,0 +1,10 @@
+package com.book.store.app.dto;
+
+import java.util.Map;
+
+public record BookFacetsDto(
+        Map<Long, Long> categories,
+        Map<String, Long> priceRanges,
+        Map<String, Long> authorInitials
+) {
+}
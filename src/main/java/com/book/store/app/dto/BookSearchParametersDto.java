@@ -1,8 +1,25 @@
 package com.book.store.app.dto;
 
+import java.math.BigDecimal;
+import java.util.Set;
+
 public record BookSearchParametersDto(
         String title,
         String author,
-        String isbn
+        String isbn,
+        Set<Long> categoryIds,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        String authorInitial
 ) {
+    public static BookSearchParametersDto of(String title, String author, String isbn) {
+        return new BookSearchParametersDto(title, author, isbn, null, null, null, null);
+    }
+
+    public boolean hasFilters() {
+        return categoryIds != null && !categoryIds.isEmpty()
+                || minPrice != null
+                || maxPrice != null
+                || authorInitial != null && !authorInitial.isBlank();
+    }
 }
@@ -0,0 +1,16 @@
+package com.book.store.app.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSliceDto {
+    private List<BookDto> content;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long approximateTotal;
+}
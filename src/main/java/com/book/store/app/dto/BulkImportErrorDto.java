@@ -0,0 +1,6 @@
+package com.book.store.app.dto;
+
+import java.util.List;
+
+public record BulkImportErrorDto(long row, String isbn, List<String> errors) {
+}
@@ -0,0 +1,15 @@
+package com.book.store.app.dto;
+
+import java.util.List;
+
+public record BulkImportResultDto(
+        long received,
+        long imported,
+        long rejected,
+        int chunks,
+        long durationMs,
+        double rowsPerSecond,
+        List<BulkImportErrorDto> errors,
+        boolean errorsTruncated
+) {
+}
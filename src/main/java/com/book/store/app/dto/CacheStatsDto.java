@@ -0,0 +1,12 @@
+package com.book.store.app.dto;
+
+public record CacheStatsDto(
+        String name,
+        boolean enabled,
+        long size,
+        long hits,
+        long misses,
+        long evictions,
+        double hitRate
+) {
+}
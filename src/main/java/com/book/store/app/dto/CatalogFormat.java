@@ -0,0 +1,43 @@
+package com.book.store.app.dto;
+
+import com.book.store.app.exception.UnsupportedCatalogFormatException;
+import java.util.Arrays;
+import java.util.Locale;
+
+public enum CatalogFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    CatalogFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static CatalogFormat of(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equals(value.toLowerCase(Locale.ROOT)))
+                .findFirst()
+                .orElseThrow(() -> new UnsupportedCatalogFormatException(
+                        "Unsupported catalog format: " + value));
+    }
+
+    public static CatalogFormat ofMediaType(String contentType) {
+        return Arrays.stream(values())
+                .filter(format -> contentType != null
+                        && contentType.toLowerCase(Locale.ROOT).startsWith(format.mediaType))
+                .findFirst()
+                .orElseThrow(() -> new UnsupportedCatalogFormatException(
+                        "Unsupported catalog media type: " + contentType));
+    }
+}
@@ -0,0 +1,4 @@
+package com.book.store.app.dto;
+
+public record CategoryBookCountDto(Long categoryId, long bookCount) {
+}
@@ -3,6 +3,7 @@ package com.book.store.app.dto;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
 import java.util.Set;
@@ -38,4 +39,12 @@ public class CreateBookRequestDto {
     private String coverImage;
 
     private Set<Long> categoryIds;
+
+    @PositiveOrZero(message = "Stock must be zero or greater")
+    private Integer stock;
+
+    public CreateBookRequestDto(String title, String author, String isbn, BigDecimal price,
+                                String description, String coverImage, Set<Long> categoryIds) {
+        this(title, author, isbn, price, description, coverImage, categoryIds, null);
+    }
 }
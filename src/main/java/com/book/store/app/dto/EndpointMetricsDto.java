@@ -0,0 +1,18 @@
+package com.book.store.app.dto;
+
+public record EndpointMetricsDto(
+        String endpoint,
+        long requests,
+        double meanMs,
+        double p50Ms,
+        double p95Ms,
+        double p99Ms,
+        double maxMs,
+        double statementsPerRequest,
+        long maxStatements,
+        double jdbcMeanMs,
+        double jdbcP95Ms,
+        double authMeanMs,
+        double authP95Ms
+) {
+}
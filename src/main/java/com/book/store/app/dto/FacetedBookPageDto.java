@@ -0,0 +1,6 @@
+package com.book.store.app.dto;
+
+import org.springframework.data.domain.Page;
+
+public record FacetedBookPageDto(Page<BookDto> books, BookFacetsDto facets) {
+}
@@ -0,0 +1,15 @@
+package com.book.store.app.dto;
+
+public record PasswordHashingStatsDto(
+        int strength,
+        int threads,
+        int queueCapacity,
+        int queued,
+        int active,
+        long completed,
+        long rejected,
+        double queueWaitP95Ms,
+        double hashMeanMs,
+        double hashP95Ms
+) {
+}
@@ -0,0 +1,15 @@
+package com.book.store.app.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+public record ResourceVersion(String etag, Instant lastModified) {
+
+    public static ResourceVersion of(String resource, long version, LocalDateTime updatedAt) {
+        Instant lastModified = updatedAt == null
+                ? null
+                : updatedAt.atZone(ZoneId.systemDefault()).toInstant();
+        return new ResourceVersion("\"" + resource + "-" + version + "\"", lastModified);
+    }
+}
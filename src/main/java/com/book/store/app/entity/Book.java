@@ -5,18 +5,25 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.Where;
 
 @Data
@@ -25,9 +32,13 @@ import org.hibernate.annotations.Where;
 @Entity
 @Table(
         name = "books",
-        uniqueConstraints = @UniqueConstraint(columnNames = "isbn")
+        uniqueConstraints = @UniqueConstraint(columnNames = "isbn"),
+        indexes = {
+                @Index(name = "idx_books_title_id", columnList = "title, id"),
+                @Index(name = "idx_books_price", columnList = "price")
+        }
 )
-@SQLDelete(sql = "UPDATE books SET deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE books SET deleted = true WHERE id = ? AND version = ?")
 @Where(clause = "deleted = false")
 public class Book {
 
@@ -47,20 +58,39 @@ public class Book {
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal price;
 
+    @Column(nullable = false, updatable = false)
+    private int stock;
+
     @Column(length = 2000)
     private String description;
 
     @Column(name = "cover_image", length = 512)
     private String coverImage;
 
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToMany
     @JoinTable(
             name = "books_categories",
             joinColumns = @JoinColumn(name = "book_id"),
-            inverseJoinColumns = @JoinColumn(name = "category_id")
+            inverseJoinColumns = @JoinColumn(name = "category_id"),
+            indexes = @Index(name = "idx_books_categories_category_book",
+                    columnList = "category_id, book_id")
     )
     private Set<Category> categories = new HashSet<>();
 
     @Column(nullable = false)
     private boolean deleted = false;
+
+    @EqualsAndHashCode.Exclude
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @EqualsAndHashCode.Exclude
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
 }
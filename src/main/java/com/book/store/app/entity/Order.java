@@ -1,5 +1,6 @@
 package com.book.store.app.entity;
 
+import com.book.store.app.exception.InvalidOrderStatusException;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -9,10 +10,13 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -20,9 +24,11 @@ import java.util.Set;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders",
+        indexes = @Index(name = "idx_orders_user_date_id", columnList = "user_id, orderDate, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -32,11 +38,26 @@ public class Order {
         PENDING,
         COMPLETED,
         DELIVERED,
-        CANCELLED
+        CANCELLED;
+
+        public boolean canTransitionTo(Status next) {
+            return switch (this) {
+                case PENDING -> next == COMPLETED || next == CANCELLED;
+                case COMPLETED -> next == DELIVERED || next == CANCELLED;
+                case DELIVERED, CANCELLED -> false;
+            };
+        }
+
+        public boolean isTerminal() {
+            return this == DELIVERED || this == CANCELLED;
+        }
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_id_generator")
+    @TableGenerator(name = "order_id_generator", table = "id_generators",
+            pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = "orders", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
@@ -58,4 +79,17 @@ public class Order {
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<OrderItem> orderItems = new HashSet<>();
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    public void transitionTo(Status next) {
+        if (!status.canTransitionTo(next)) {
+            throw new InvalidOrderStatusException(
+                    "Cannot change order status from " + status + " to " + next);
+        }
+        status = next;
+    }
 }
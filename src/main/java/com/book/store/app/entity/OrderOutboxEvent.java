@@ -0,0 +1,69 @@
+package com.book.store.app.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "order_outbox",
+        indexes = @Index(name = "idx_order_outbox_state_id", columnList = "state, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderOutboxEvent {
+
+    public enum Type {
+        ORDER_PLACED
+    }
+
+    public enum State {
+        PENDING,
+        PROCESSING,
+        DONE,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Type type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private State state = State.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime claimedAt;
+
+    private LocalDateTime processedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public OrderOutboxEvent(Long orderId, Type type, LocalDateTime createdAt) {
+        this.orderId = orderId;
+        this.type = type;
+        this.createdAt = createdAt;
+    }
+}
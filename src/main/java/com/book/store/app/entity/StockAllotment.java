@@ -0,0 +1,35 @@
+package com.book.store.app.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "stock_allotments",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stock_allotments_node_book",
+                columnNames = {"node", "book_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class StockAllotment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    @Column(nullable = false, length = 64)
+    private String node;
+
+    @Column(nullable = false)
+    private int quantity;
+}
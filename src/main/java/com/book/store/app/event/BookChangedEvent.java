@@ -0,0 +1,7 @@
+package com.book.store.app.event;
+
+import com.book.store.app.entity.Book;
+import java.util.Set;
+
+public record BookChangedEvent(Book book, Set<Long> categoryIds, boolean deleted) {
+}
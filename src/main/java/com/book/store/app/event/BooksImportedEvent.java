@@ -0,0 +1,7 @@
+package com.book.store.app.event;
+
+import java.util.List;
+import java.util.Set;
+
+public record BooksImportedEvent(List<Long> bookIds, Set<Long> categoryIds) {
+}
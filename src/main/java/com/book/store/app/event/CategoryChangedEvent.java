@@ -0,0 +1,6 @@
+package com.book.store.app.event;
+
+import java.util.Set;
+
+public record CategoryChangedEvent(Long categoryId, Set<Long> bookIds, boolean deleted) {
+}
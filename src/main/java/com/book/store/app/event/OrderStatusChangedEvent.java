@@ -0,0 +1,6 @@
+package com.book.store.app.event;
+
+import com.book.store.app.entity.Order;
+
+public record OrderStatusChangedEvent(Long orderId, Order.Status status) {
+}
@@ -0,0 +1,7 @@
+package com.book.store.app.exception;
+
+public class InvalidOrderStatusException extends RuntimeException {
+    public InvalidOrderStatusException(String message) {
+        super(message);
+    }
+}
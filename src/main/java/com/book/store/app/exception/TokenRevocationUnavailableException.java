@@ -0,0 +1,7 @@
+package com.book.store.app.exception;
+
+public class TokenRevocationUnavailableException extends RuntimeException {
+    public TokenRevocationUnavailableException(String message) {
+        super(message);
+    }
+}
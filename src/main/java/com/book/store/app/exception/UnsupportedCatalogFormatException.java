@@ -0,0 +1,7 @@
+package com.book.store.app.exception;
+
+public class UnsupportedCatalogFormatException extends RuntimeException {
+    public UnsupportedCatalogFormatException(String message) {
+        super(message);
+    }
+}
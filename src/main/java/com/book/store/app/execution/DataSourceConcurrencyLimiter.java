@@ -0,0 +1,47 @@
+package com.book.store.app.execution;
+
+import com.book.store.app.config.ExecutionProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+public class DataSourceConcurrencyLimiter implements BeanPostProcessor {
+
+    private final ExecutionProperties.Db properties;
+
+    public DataSourceConcurrencyLimiter(ExecutionProperties.Db properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)
+                || bean instanceof ConcurrencyLimitingDataSource) {
+            return bean;
+        }
+        return new ConcurrencyLimitingDataSource(dataSource, maxConcurrency(dataSource),
+                properties.getAcquireTimeout());
+    }
+
+    private int maxConcurrency(DataSource dataSource) {
+        if (properties.getMaxConcurrency() > 0) {
+            return properties.getMaxConcurrency();
+        }
+        HikariDataSource hikari = hikari(dataSource);
+        if (hikari != null) {
+            return Math.max(1, hikari.getMaximumPoolSize() - properties.getReservedConnections());
+        }
+        throw new IllegalStateException(
+                "execution.db.max-concurrency must be set for " + dataSource.getClass());
+    }
+
+    private static HikariDataSource hikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.book.store.app.execution;
+
+public enum ExecutionMode {
+    PLATFORM,
+    VIRTUAL
+}
@@ -0,0 +1,22 @@
+package com.book.store.app.instrumentation;
+
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+public class DataSourceInstrumenter implements BeanPostProcessor, Ordered {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)
+                || bean instanceof StatementTimingDataSource) {
+            return bean;
+        }
+        return new StatementTimingDataSource(dataSource);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
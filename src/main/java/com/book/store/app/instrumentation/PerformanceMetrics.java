@@ -0,0 +1,59 @@
+package com.book.store.app.instrumentation;
+
+import com.book.store.app.dto.EndpointMetricsDto;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PerformanceMetrics {
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    public void record(RequestTimings timings, long elapsedNanos) {
+        endpoints.computeIfAbsent(timings.getEndpoint(), name -> new EndpointStats())
+                .record(timings, elapsedNanos);
+    }
+
+    public List<EndpointMetricsDto> snapshot() {
+        return endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .sorted(Comparator.comparing(EndpointMetricsDto::endpoint))
+                .toList();
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    private static final class EndpointStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram jdbc = new LatencyHistogram();
+        private final LatencyHistogram auth = new LatencyHistogram();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+
+        private void record(RequestTimings timings, long elapsedNanos) {
+            latency.record(elapsedNanos);
+            jdbc.record(timings.getJdbcNanos());
+            auth.record(timings.getAuthNanos());
+            statements.add(timings.getStatements());
+            maxStatements.accumulate(timings.getStatements());
+        }
+
+        private EndpointMetricsDto toDto(String endpoint) {
+            long requests = latency.count();
+            return new EndpointMetricsDto(endpoint, requests,
+                    latency.meanMillis(), latency.percentileMillis(50),
+                    latency.percentileMillis(95), latency.percentileMillis(99),
+                    latency.maxMillis(),
+                    requests == 0 ? 0 : (double) statements.sum() / requests,
+                    maxStatements.get(), jdbc.meanMillis(), jdbc.percentileMillis(95),
+                    auth.meanMillis(), auth.percentileMillis(95));
+        }
+    }
+}
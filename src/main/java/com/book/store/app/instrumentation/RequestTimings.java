@@ -0,0 +1,76 @@
+package com.book.store.app.instrumentation;
+
+import java.util.Locale;
+
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.nanoTime();
+    private String endpoint;
+    private int statements;
+    private long jdbcNanos;
+    private long authNanos;
+
+    private RequestTimings() {
+    }
+
+    public static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static void recordStatement(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.statements++;
+            timings.jdbcNanos += nanos;
+        }
+    }
+
+    public static void recordAuthentication(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.authNanos += nanos;
+        }
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public long getAuthNanos() {
+        return authNanos;
+    }
+
+    public String toServerTiming() {
+        return String.format(Locale.ROOT,
+                "app;dur=%.3f, db;dur=%.3f;desc=\"%d statements\", auth;dur=%.3f",
+                elapsedNanos() / 1e6, jdbcNanos / 1e6, statements, authNanos / 1e6);
+    }
+}
@@ -0,0 +1,69 @@
+package com.book.store.app.instrumentation;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+@RestControllerAdvice
+public class ServerTimingInterceptor implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    static final String SERVER_TIMING = "Server-Timing";
+    private static final String CONTROLLER_PACKAGE = "com.book.store.app.controller";
+
+    private final boolean serverTiming;
+
+    public ServerTimingInterceptor(
+            @Value("${instrumentation.server-timing.enabled:true}") boolean serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                             Object handler) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null && handler instanceof HandlerMethod method
+                && method.getBeanType().getPackageName().equals(CONTROLLER_PACKAGE)) {
+            timings.setEndpoint(method.getBeanType().getSimpleName() + "."
+                    + method.getMethod().getName());
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response,
+                           Object handler, ModelAndView modelAndView) {
+        RequestTimings timings = RequestTimings.current();
+        if (serverTiming && timings != null && !response.isCommitted()
+                && !response.containsHeader(SERVER_TIMING)) {
+            response.setHeader(SERVER_TIMING, timings.toServerTiming());
+        }
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return serverTiming;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null && !response.getHeaders().containsKey(SERVER_TIMING)) {
+            response.getHeaders().set(SERVER_TIMING, timings.toServerTiming());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,284 @@
+package com.book.store.app.inventory;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class StockLedger {
+
+    private final StockStore stockStore;
+    private final Clock clock;
+    private final int chunkSize;
+    private final Duration idleTimeout;
+    private final Duration soldOutBackoff;
+    private final ReentrantLock[] stripes;
+    private final Condition[] idle;
+    private final Map<Long, Allotment> allotments = new ConcurrentHashMap<>();
+
+    public StockLedger(StockStore stockStore, Clock clock,
+                       @Value("${inventory.ledger.chunk-size:10}") int chunkSize,
+                       @Value("${inventory.ledger.stripes:64}") int stripes,
+                       @Value("${inventory.ledger.idle-timeout:PT30S}") Duration idleTimeout,
+                       @Value("${inventory.ledger.sold-out-backoff:PT1S}")
+                       Duration soldOutBackoff) {
+        this.stockStore = stockStore;
+        this.clock = clock;
+        this.chunkSize = chunkSize;
+        this.idleTimeout = idleTimeout;
+        this.soldOutBackoff = soldOutBackoff;
+        this.stripes = new ReentrantLock[stripes];
+        this.idle = new Condition[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+            this.idle[i] = this.stripes[i].newCondition();
+        }
+    }
+
+    public boolean reserve(Long bookId, int quantity) {
+        ReentrantLock lock = stripe(bookId);
+        lock.lock();
+        try {
+            Allotment allotment = allotments.computeIfAbsent(bookId, id -> new Allotment());
+            Instant now = clock.instant();
+            allotment.touchedAt = now;
+            while (allotment.available < quantity && allotment.busy) {
+                idle(bookId).awaitUninterruptibly();
+            }
+            if (allotment.available < quantity && now.isAfter(allotment.soldOutUntil)) {
+                claim(bookId, allotment, quantity - allotment.available, now);
+            }
+            if (allotment.available < quantity) {
+                return false;
+            }
+            allotment.available -= quantity;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            record(bookId, -quantity);
+        } catch (RuntimeException e) {
+            credit(bookId, quantity);
+            throw e;
+        }
+        return true;
+    }
+
+    public void restock(Long bookId, int stock) {
+        ReentrantLock lock = stripe(bookId);
+        lock.lock();
+        try {
+            Allotment allotment = allotments.computeIfAbsent(bookId, id -> new Allotment());
+            await(bookId, allotment);
+            allotment.busy = true;
+            allotment.soldOutUntil = Instant.EPOCH;
+            final int allotted = Math.min(allotment.available, Math.max(stock, 0));
+            final int removed = allotment.available - allotted;
+            if (removed > 0) {
+                releaseOnRollback(Map.of(bookId, removed));
+                allotment.available = allotted;
+            }
+            lock.unlock();
+            try {
+                if (removed > 0) {
+                    record(bookId, -removed);
+                }
+                stockStore.restock(bookId, stock - allotted);
+            } finally {
+                lock.lock();
+                allotment.busy = false;
+                idle(bookId).signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(Long bookId, int quantity) {
+        credit(bookId, quantity);
+        record(bookId, quantity);
+    }
+
+    public void releaseOnRollback(Map<Long, Integer> quantities) {
+        registerCredit(quantities, TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+
+    public void releaseAfterCommit(Map<Long, Integer> quantities) {
+        quantities.forEach(this::record);
+        registerCredit(quantities, TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    public int available(Long bookId) {
+        Allotment allotment = allotments.get(bookId);
+        return allotment == null ? 0 : allotment.available;
+    }
+
+    @PostConstruct
+    public void recover() {
+        stockStore.recover();
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.reconcile-interval:PT10S}")
+    public void reconcile() {
+        Instant idleSince = clock.instant().minus(idleTimeout);
+        returnToStore(allotment -> allotment.touchedAt.isBefore(idleSince));
+    }
+
+    @PreDestroy
+    public void reconcileAll() {
+        returnToStore(allotment -> true);
+    }
+
+    private void credit(Long bookId, int quantity) {
+        ReentrantLock lock = stripe(bookId);
+        lock.lock();
+        try {
+            Allotment allotment = allotments.computeIfAbsent(bookId, id -> new Allotment());
+            allotment.available += quantity;
+            allotment.touchedAt = clock.instant();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void returnToStore(Predicate<Allotment> condition) {
+        Map<Long, Integer> returned = new HashMap<>();
+        for (Long bookId : allotments.keySet()) {
+            ReentrantLock lock = stripe(bookId);
+            lock.lock();
+            try {
+                Allotment allotment = allotments.get(bookId);
+                if (allotment != null) {
+                    await(bookId, allotment);
+                }
+                if (allotment != null && condition.test(allotment)) {
+                    allotments.remove(bookId);
+                    if (allotment.available > 0) {
+                        returned.put(bookId, allotment.available);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (returned.isEmpty()) {
+            return;
+        }
+        try {
+            stockStore.restore(returned);
+        } catch (RuntimeException e) {
+            returned.forEach(this::credit);
+            throw e;
+        }
+    }
+
+    private void registerCredit(Map<Long, Integer> quantities, int creditStatus) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (creditStatus == TransactionSynchronization.STATUS_COMMITTED) {
+                quantities.forEach(this::credit);
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == creditStatus) {
+                            quantities.forEach(StockLedger.this::credit);
+                        }
+                    }
+                });
+    }
+
+    private void record(Long bookId, int quantity) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            stockStore.record(Map.of(bookId, quantity));
+            return;
+        }
+        pendingRecords().quantities.merge(bookId, quantity, Integer::sum);
+    }
+
+    private PendingRecords pendingRecords() {
+        PendingRecords pending =
+                (PendingRecords) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        PendingRecords created = new PendingRecords();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        stockStore.record(created.quantities);
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager
+                                .unbindResourceIfPossible(StockLedger.this);
+                    }
+                });
+        return created;
+    }
+
+    private void claim(Long bookId, Allotment allotment, int missing, Instant now) {
+        ReentrantLock lock = stripe(bookId);
+        allotment.busy = true;
+        int claimed = 0;
+        lock.unlock();
+        try {
+            claimed = stockStore.claim(bookId, Math.max(missing, chunkSize), missing);
+        } finally {
+            lock.lock();
+            allotment.busy = false;
+            allotment.available += claimed;
+            if (claimed == 0) {
+                allotment.soldOutUntil = now.plus(soldOutBackoff);
+            }
+            idle(bookId).signalAll();
+        }
+    }
+
+    private void await(Long bookId, Allotment allotment) {
+        while (allotment.busy) {
+            idle(bookId).awaitUninterruptibly();
+        }
+    }
+
+    private ReentrantLock stripe(Long bookId) {
+        return stripes[stripeIndex(bookId)];
+    }
+
+    private Condition idle(Long bookId) {
+        return idle[stripeIndex(bookId)];
+    }
+
+    private int stripeIndex(Long bookId) {
+        return Math.floorMod(bookId.hashCode(), stripes.length);
+    }
+
+    private static final class Allotment {
+        private int available;
+        private Instant touchedAt = Instant.EPOCH;
+        private Instant soldOutUntil = Instant.EPOCH;
+        private boolean busy;
+    }
+
+    private static final class PendingRecords {
+        private final Map<Long, Integer> quantities = new HashMap<>();
+    }
+}
@@ -0,0 +1,82 @@
+package com.book.store.app.inventory;
+
+import com.book.store.app.entity.StockAllotment;
+import com.book.store.app.repository.BookRepository;
+import com.book.store.app.repository.StockAllotmentRepository;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class StockStore {
+
+    private final BookRepository bookRepository;
+    private final StockAllotmentRepository allotmentRepository;
+    private final String node;
+
+    public StockStore(BookRepository bookRepository,
+                      StockAllotmentRepository allotmentRepository,
+                      @Value("${inventory.ledger.node:local}") String node) {
+        this.bookRepository = bookRepository;
+        this.allotmentRepository = allotmentRepository;
+        this.node = node;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int claim(Long bookId, int preferred, int minimum) {
+        int claimed = take(bookId, preferred, minimum);
+        if (claimed > 0) {
+            allotmentRepository.add(bookId, node, claimed);
+        }
+        return claimed;
+    }
+
+    @Transactional
+    public void record(Map<Long, Integer> quantities) {
+        new TreeMap<>(quantities).forEach((bookId, quantity) -> {
+            if (quantity != 0) {
+                allotmentRepository.add(bookId, node, quantity);
+            }
+        });
+    }
+
+    @Transactional
+    public void restock(Long bookId, int stock) {
+        int current = bookRepository.findStockById(bookId).orElse(stock);
+        if (current != stock) {
+            bookRepository.adjustStock(bookId, stock - current);
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void restore(Map<Long, Integer> quantities) {
+        new TreeMap<>(quantities).forEach((bookId, quantity) -> {
+            bookRepository.adjustStock(bookId, quantity);
+            allotmentRepository.add(bookId, node, -quantity);
+        });
+    }
+
+    @Transactional
+    public void recover() {
+        for (StockAllotment allotment : allotmentRepository.findAllByNode(node)) {
+            if (allotment.getQuantity() != 0) {
+                bookRepository.adjustStock(allotment.getBookId(), allotment.getQuantity());
+            }
+        }
+        allotmentRepository.deleteAllOfNode(node);
+    }
+
+    private int take(Long bookId, int preferred, int minimum) {
+        if (bookRepository.decrementStock(bookId, preferred) == 1) {
+            return preferred;
+        }
+        int remaining = bookRepository.findStockById(bookId).orElse(0);
+        if (remaining > minimum && bookRepository.decrementStock(bookId, remaining) == 1) {
+            return remaining;
+        }
+        return bookRepository.decrementStock(bookId, minimum) == 1 ? minimum : 0;
+    }
+}
@@ -0,0 +1,31 @@
+package com.book.store.app.mapper;
+
+import com.book.store.app.entity.Category;
+import com.book.store.app.exception.EntityNotFoundException;
+import com.book.store.app.repository.CategoryRepository;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BookCategoryResolver {
+
+    private final CategoryRepository categoryRepository;
+
+    public Set<Category> toCategories(Set<Long> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<Category> categories = categoryRepository.findAllById(categoryIds);
+        if (categories.size() != categoryIds.size()) {
+            Set<Long> missing = new TreeSet<>(categoryIds);
+            categories.forEach(category -> missing.remove(category.getId()));
+            throw new EntityNotFoundException("Categories not found with ids " + missing);
+        }
+        return new HashSet<>(categories);
+    }
+}
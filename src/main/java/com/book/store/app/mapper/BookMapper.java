@@ -4,16 +4,12 @@ import com.book.store.app.dto.BookDto;
 import com.book.store.app.dto.BookDtoWithoutCategoryIds;
 import com.book.store.app.dto.CreateBookRequestDto;
 import com.book.store.app.entity.Book;
-import com.book.store.app.entity.Category;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
-import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = BookCategoryResolver.class)
 public interface BookMapper {
 
     @Mapping(target = "categoryIds", ignore = true)
@@ -23,23 +19,19 @@ public interface BookMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
-    @Mapping(target = "categories", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "categories", source = "categoryIds")
     Book toEntity(CreateBookRequestDto dto);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
-    @Mapping(target = "categories", ignore = true)
+    @Mapping(target = "categories", source = "categoryIds",
+            conditionExpression = "java(dto.getCategoryIds() != null)")
+    @Mapping(target = "stock", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     void updateEntityFromDto(CreateBookRequestDto dto, @MappingTarget Book book);
 
     BookDtoWithoutCategoryIds toDtoWithoutCategories(Book book);
-
-    @AfterMapping
-    default void setCategoryIds(@MappingTarget BookDto bookDto, Book book) {
-        if (book.getCategories() != null) {
-            Set<Long> ids = book.getCategories().stream()
-                    .map(Category::getId)
-                    .collect(Collectors.toSet());
-            bookDto.setCategoryIds(ids);
-        }
-    }
 }
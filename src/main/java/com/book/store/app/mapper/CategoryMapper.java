@@ -14,6 +14,8 @@ public interface CategoryMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "books", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Category toEntity(CategoryDto dto);
 
     List<CategoryDto> toDtoList(List<Category> categories);
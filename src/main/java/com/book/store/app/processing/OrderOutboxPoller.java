@@ -0,0 +1,78 @@
+package com.book.store.app.processing;
+
+import com.book.store.app.config.OrderProcessingProperties;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "order.processing.enabled", havingValue = "true",
+        matchIfMissing = true)
+public class OrderOutboxPoller {
+
+    private final OrderProcessor orderProcessor;
+    private final OrderProcessingProperties properties;
+    private final ThreadPoolExecutor executor;
+
+    public OrderOutboxPoller(OrderProcessor orderProcessor,
+                             OrderProcessingProperties properties) {
+        this.orderProcessor = orderProcessor;
+        this.properties = properties;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getConcurrency(), properties.getConcurrency(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> new Thread(runnable, "order-worker-" + threads.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Scheduled(fixedDelayString = "${order.processing.claim-timeout:PT5M}")
+    public void releaseExpiredClaims() {
+        orderProcessor.releaseExpiredClaims();
+    }
+
+    @Scheduled(fixedDelayString = "${order.processing.poll-interval:PT0.5S}")
+    public void poll() {
+        int capacity = Math.min(properties.getBatchSize(), freeSlots());
+        if (capacity <= 0) {
+            return;
+        }
+        for (Long eventId : orderProcessor.claim(capacity)) {
+            try {
+                executor.execute(() -> handle(eventId));
+            } catch (RejectedExecutionException e) {
+                orderProcessor.release(eventId);
+            }
+        }
+    }
+
+    public int freeSlots() {
+        int idleWorkers = executor.getMaximumPoolSize() - executor.getActiveCount();
+        return executor.getQueue().remainingCapacity() + Math.max(0, idleWorkers);
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void handle(Long eventId) {
+        try {
+            orderProcessor.process(eventId);
+        } catch (RuntimeException e) {
+            orderProcessor.markFailed(eventId, e);
+        }
+    }
+}
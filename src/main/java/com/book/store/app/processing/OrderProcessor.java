@@ -0,0 +1,123 @@
+package com.book.store.app.processing;
+
+import com.book.store.app.config.OrderProcessingProperties;
+import com.book.store.app.entity.Book;
+import com.book.store.app.entity.Order;
+import com.book.store.app.entity.OrderItem;
+import com.book.store.app.entity.OrderOutboxEvent;
+import com.book.store.app.event.OrderStatusChangedEvent;
+import com.book.store.app.inventory.StockLedger;
+import com.book.store.app.repository.OrderOutboxRepository;
+import com.book.store.app.repository.OrderRepository;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor
+public class OrderProcessor {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OrderOutboxRepository outboxRepo;
+    private final OrderRepository orderRepo;
+    private final StockLedger stockLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderProcessingProperties properties;
+    private final Clock clock;
+
+    @Transactional
+    public List<Long> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return outboxRepo.findIdsByState(OrderOutboxEvent.State.PENDING, PageRequest.of(0, limit))
+                .stream()
+                .filter(id -> outboxRepo.claim(id, now) == 1)
+                .toList();
+    }
+
+    @Transactional
+    public void release(Long eventId) {
+        outboxRepo.release(eventId);
+    }
+
+    @Transactional
+    public int releaseExpiredClaims() {
+        return outboxRepo.releaseClaimedBefore(
+                LocalDateTime.now(clock).minus(properties.getClaimTimeout()));
+    }
+
+    @Transactional
+    public void process(Long eventId) {
+        OrderOutboxEvent event = outboxRepo.findForUpdateById(eventId).orElse(null);
+        if (event == null || event.getState() != OrderOutboxEvent.State.PROCESSING) {
+            return;
+        }
+        orderRepo.findWithItemsById(event.getOrderId())
+                .filter(order -> order.getStatus() == Order.Status.PENDING)
+                .ifPresent(order -> changeStatus(order,
+                        totalMatches(order) && reserveStock(order)
+                                ? Order.Status.COMPLETED
+                                : Order.Status.CANCELLED));
+        event.setState(OrderOutboxEvent.State.DONE);
+        event.setProcessedAt(LocalDateTime.now(clock));
+    }
+
+    @Transactional
+    public void markFailed(Long eventId, RuntimeException error) {
+        outboxRepo.findById(eventId).ifPresent(event -> {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setLastError(truncate(String.valueOf(error.getMessage())));
+            if (event.getAttempts() < properties.getMaxAttempts()) {
+                event.setState(OrderOutboxEvent.State.PENDING);
+                event.setClaimedAt(null);
+                return;
+            }
+            event.setState(OrderOutboxEvent.State.FAILED);
+            event.setProcessedAt(LocalDateTime.now(clock));
+            orderRepo.findById(event.getOrderId())
+                    .filter(order -> order.getStatus() == Order.Status.PENDING)
+                    .ifPresent(order -> changeStatus(order, Order.Status.CANCELLED));
+        });
+    }
+
+    private boolean reserveStock(Order order) {
+        Map<Long, Integer> reserved = new HashMap<>();
+        for (OrderItem item : order.getOrderItems()) {
+            Book book = item.getBook();
+            if (book == null || book.isDeleted()
+                    || !stockLedger.reserve(book.getId(), item.getQuantity())) {
+                reserved.forEach(stockLedger::release);
+                return false;
+            }
+            reserved.merge(book.getId(), item.getQuantity(), Integer::sum);
+        }
+        stockLedger.releaseOnRollback(reserved);
+        return true;
+    }
+
+    private boolean totalMatches(Order order) {
+        BigDecimal expected = order.getOrderItems().stream()
+                .map(i -> i.getPrice().multiply(BigDecimal.valueOf(i.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return expected.compareTo(order.getTotal()) == 0;
+    }
+
+    private void changeStatus(Order order, Order.Status status) {
+        order.transitionTo(status);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getId(), status));
+    }
+
+    private String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH
+                ? message.substring(0, MAX_ERROR_LENGTH)
+                : message;
+    }
+}
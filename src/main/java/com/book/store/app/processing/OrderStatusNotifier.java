@@ -0,0 +1,70 @@
+package com.book.store.app.processing;
+
+import com.book.store.app.config.OrderProcessingProperties;
+import com.book.store.app.dto.OrderStatusDto;
+import com.book.store.app.entity.Order;
+import com.book.store.app.event.OrderStatusChangedEvent;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Component
+public class OrderStatusNotifier {
+
+    private static final String EVENT_NAME = "status";
+
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+
+    public OrderStatusNotifier(OrderProcessingProperties properties) {
+        this.timeoutMillis = properties.getSseTimeout().toMillis();
+    }
+
+    public SseEmitter subscribe(Long orderId, Order.Status current) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        subscribers.computeIfAbsent(orderId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+        emitter.onCompletion(() -> unsubscribe(orderId, emitter));
+        emitter.onTimeout(() -> unsubscribe(orderId, emitter));
+        emitter.onError(e -> unsubscribe(orderId, emitter));
+        send(orderId, emitter, current);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        Set<SseEmitter> emitters = subscribers.get(event.orderId());
+        if (emitters != null) {
+            emitters.forEach(emitter -> send(event.orderId(), emitter, event.status()));
+        }
+    }
+
+    public int subscriberCount(Long orderId) {
+        Set<SseEmitter> emitters = subscribers.get(orderId);
+        return emitters == null ? 0 : emitters.size();
+    }
+
+    private void send(Long orderId, SseEmitter emitter, Order.Status status) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .data(new OrderStatusDto(orderId, status.name())));
+            if (status.isTerminal()) {
+                emitter.complete();
+                unsubscribe(orderId, emitter);
+            }
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(orderId, emitter);
+        }
+    }
+
+    private void unsubscribe(Long orderId, SseEmitter emitter) {
+        subscribers.computeIfPresent(orderId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package com.book.store.app.repository;
+
+import com.book.store.app.dto.CreateBookRequestDto;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class BookBulkRepository {
+
+    private static final String INSERT_BOOK = "INSERT INTO books "
+            + "(title, author, isbn, price, stock, description, cover_image, deleted) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, false)";
+    private static final String INSERT_BOOK_CATEGORY =
+            "INSERT INTO books_categories (book_id, category_id) VALUES (?, ?)";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public Set<String> findAllIsbns() {
+        Set<String> isbns = new HashSet<>();
+        namedJdbcTemplate.getJdbcTemplate()
+                .query("SELECT isbn FROM books", rs -> {
+                    isbns.add(rs.getString(1));
+                });
+        return isbns;
+    }
+
+    public Set<Long> findActiveCategoryIds() {
+        return new HashSet<>(namedJdbcTemplate.getJdbcTemplate()
+                .queryForList("SELECT id FROM categories WHERE deleted = false", Long.class));
+    }
+
+    @Transactional
+    public List<Long> insertAll(List<CreateBookRequestDto> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+        namedJdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_BOOK, books, books.size(),
+                (statement, book) -> {
+                    statement.setString(1, book.getTitle());
+                    statement.setString(2, book.getAuthor());
+                    statement.setString(3, book.getIsbn());
+                    statement.setBigDecimal(4, book.getPrice());
+                    statement.setInt(5, book.getStock() == null ? 0 : book.getStock());
+                    statement.setString(6, book.getDescription());
+                    statement.setString(7, book.getCoverImage());
+                });
+        Map<String, Long> idsByIsbn = findIdsByIsbn(books);
+        List<Long> ids = new ArrayList<>(books.size());
+        List<Object[]> links = new ArrayList<>();
+        for (CreateBookRequestDto book : books) {
+            Long id = idsByIsbn.get(book.getIsbn());
+            ids.add(id);
+            if (book.getCategoryIds() != null) {
+                book.getCategoryIds().forEach(categoryId ->
+                        links.add(new Object[] {id, categoryId}));
+            }
+        }
+        if (!links.isEmpty()) {
+            namedJdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_BOOK_CATEGORY, links);
+        }
+        return ids;
+    }
+
+    private Map<String, Long> findIdsByIsbn(List<CreateBookRequestDto> books) {
+        Map<String, Long> ids = new HashMap<>(books.size() * 2);
+        namedJdbcTemplate.query("SELECT id, isbn FROM books WHERE isbn IN (:isbns)",
+                Map.of("isbns", books.stream().map(CreateBookRequestDto::getIsbn).toList()),
+                rs -> {
+                    ids.put(rs.getString("isbn"), rs.getLong("id"));
+                });
+        return ids;
+    }
+}
@@ -0,0 +1,8 @@
+package com.book.store.app.repository;
+
+public interface BookCategoryLink {
+
+    Long getBookId();
+
+    Long getCategoryId();
+}
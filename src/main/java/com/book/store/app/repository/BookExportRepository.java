@@ -0,0 +1,9 @@
+package com.book.store.app.repository;
+
+import com.book.store.app.entity.Book;
+import java.util.stream.Stream;
+
+public interface BookExportRepository {
+
+    Stream<Book> streamAllForExport();
+}
@@ -0,0 +1,37 @@
+package com.book.store.app.repository;
+
+import com.book.store.app.entity.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.stream.Stream;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.AvailableHints;
+
+public class BookExportRepositoryImpl implements BookExportRepository {
+
+    private static final int FETCH_SIZE = 500;
+    private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Book> streamAllForExport() {
+        return entityManager.createQuery("SELECT b FROM Book b ORDER BY b.id ASC", Book.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE,
+                        isMySql() ? MYSQL_STREAMING_FETCH_SIZE : FETCH_SIZE)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .setHint(AvailableHints.HINT_CACHEABLE, false)
+                .getResultStream();
+    }
+
+    private boolean isMySql() {
+        Dialect dialect = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        return dialect instanceof MySQLDialect;
+    }
+}
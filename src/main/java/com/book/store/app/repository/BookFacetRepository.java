@@ -0,0 +1,10 @@
+package com.book.store.app.repository;
+
+import com.book.store.app.dto.BookFacetsDto;
+import com.book.store.app.entity.Book;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface BookFacetRepository {
+
+    BookFacetsDto countFacets(Specification<Book> spec);
+}
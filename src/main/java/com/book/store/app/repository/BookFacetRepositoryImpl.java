@@ -0,0 +1,62 @@
+package com.book.store.app.repository;
+
+import com.book.store.app.dto.BookFacetsDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.entity.Category;
+import com.book.store.app.search.BookFacets;
+import com.book.store.app.search.BookFacets.PriceBucket;
+import com.book.store.app.specification.BookSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import org.springframework.data.jpa.domain.Specification;
+
+public class BookFacetRepositoryImpl implements BookFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public BookFacetsDto countFacets(Specification<Book> spec) {
+        Map<Long, Long> categories = new HashMap<>();
+        groupCount(spec, (root, cb) -> {
+            Join<Book, Category> category = root.join("categories");
+            return category.get("id");
+        }).forEach(tuple -> categories.put(tuple.get(0, Long.class), tuple.get(1, Long.class)));
+
+        Map<PriceBucket, Long> priceRanges = new EnumMap<>(PriceBucket.class);
+        groupCount(spec, (root, cb) -> root.get("price")).forEach(tuple -> priceRanges.merge(
+                PriceBucket.of(tuple.get(0, BigDecimal.class)), tuple.get(1, Long.class),
+                Long::sum));
+
+        Map<String, Long> authorInitials = new HashMap<>();
+        groupCount(spec, BookSpecification::authorInitial).forEach(tuple -> authorInitials
+                .put(tuple.get(0, String.class), tuple.get(1, Long.class)));
+
+        return BookFacets.toDto(categories, priceRanges, authorInitials);
+    }
+
+    private List<Tuple> groupCount(
+            Specification<Book> spec,
+            BiFunction<Root<Book>, CriteriaBuilder, Expression<?>> key) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> root = query.from(Book.class);
+        Expression<?> group = key.apply(root, cb);
+        query.multiselect(group, cb.count(root))
+                .where(spec.toPredicate(root, query, cb))
+                .groupBy(group);
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -1,10 +1,15 @@
 package com.book.store.app.repository;
 
 import com.book.store.app.entity.Book;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,13 +17,66 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface BookRepository
         extends JpaRepository<Book, Long>,
-        JpaSpecificationExecutor<Book> {
+        JpaSpecificationExecutor<Book>,
+        BookFacetRepository,
+        BookExportRepository {
 
     List<Book> findByDeletedFalse();
 
     Optional<Book> findByIdAndDeletedFalse(Long id);
 
-    @Query("SELECT b FROM Book b JOIN b.categories c WHERE c.id = :categoryId AND b.deleted "
-            + "= false")
-    List<Book> findAllByCategoryId(@Param("categoryId") Long categoryId);
+    Slice<Book> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT b FROM Book b ORDER BY b.title ASC, b.id ASC")
+    List<Book> findFirstTitlePage(Pageable pageable);
+
+    @Query("SELECT b FROM Book b WHERE b.title > :title OR (b.title = :title AND b.id > :id) "
+            + "ORDER BY b.title ASC, b.id ASC")
+    List<Book> findTitlePageAfter(@Param("title") String title, @Param("id") Long id,
+                                  Pageable pageable);
+
+    @Query(value = "SELECT b FROM Book b WHERE b.id IN "
+            + "(SELECT cb.id FROM Category c JOIN c.books cb WHERE c.id = :categoryId)",
+            countQuery = "SELECT COUNT(b) FROM Category c JOIN c.books b "
+                    + "WHERE c.id = :categoryId")
+    Page<Book> findPageByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query("SELECT b.id FROM Category c JOIN c.books b WHERE c.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query("SELECT b.id AS bookId, c.id AS categoryId FROM Book b JOIN b.categories c "
+            + "WHERE b.id IN :bookIds")
+    List<BookCategoryLink> findCategoryLinks(@Param("bookIds") Collection<Long> bookIds);
+
+    @Query("SELECT b.id AS bookId, c.id AS categoryId FROM Book b JOIN b.categories c "
+            + "WHERE b.id >= :bookId AND (b.id > :bookId OR c.id > :categoryId) "
+            + "ORDER BY b.id ASC, c.id ASC")
+    List<BookCategoryLink> findCategoryLinksAfter(@Param("bookId") Long bookId,
+                                                  @Param("categoryId") Long categoryId,
+                                                  Pageable pageable);
+
+    @Query("SELECT c.id AS categoryId, COUNT(b.id) AS bookCount FROM Book b "
+            + "JOIN b.categories c GROUP BY c.id")
+    List<CategoryBookCount> countBooksByCategory();
+
+    @Query("SELECT b.version AS version, b.updatedAt AS updatedAt FROM Book b "
+            + "WHERE b.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Book b SET b.version = b.version + 1, b.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE b.id IN :ids")
+    int incrementVersions(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT b.stock FROM Book b WHERE b.id = :id")
+    Optional<Integer> findStockById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Book b SET b.stock = b.stock - :quantity "
+            + "WHERE b.id = :id AND b.deleted = false AND b.stock >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE Book b SET b.stock = b.stock + :quantity WHERE b.id = :id")
+    int adjustStock(@Param("id") Long id, @Param("quantity") int quantity);
 }
@@ -1,7 +1,46 @@
 package com.book.store.app.repository;
 
+import com.book.store.app.dto.CartItemDto;
 import com.book.store.app.entity.CartItem;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface CartItemRepository extends JpaRepository<CartItem, Long> {
+public interface CartItemRepository
+        extends JpaRepository<CartItem, Long>,
+        CartItemUpsertRepository {
+
+    @Query("SELECT ci FROM CartItem ci JOIN FETCH ci.book WHERE ci.shoppingCart.id = :cartId")
+    List<CartItem> findAllWithBookByCartId(@Param("cartId") Long cartId);
+
+    @Query("SELECT new com.book.store.app.dto.CartItemDto(ci.id, b.id, b.title, ci.quantity) "
+            + "FROM CartItem ci JOIN ci.book b "
+            + "WHERE ci.shoppingCart.id = :cartId AND b.id = :bookId")
+    Optional<CartItemDto> findDtoByCartIdAndBookId(@Param("cartId") Long cartId,
+                                                   @Param("bookId") Long bookId);
+
+    @Query("SELECT new com.book.store.app.dto.CartItemDto(ci.id, b.id, b.title, ci.quantity) "
+            + "FROM CartItem ci JOIN ci.book b WHERE ci.id = :id")
+    Optional<CartItemDto> findDtoById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE CartItem ci SET ci.quantity = :quantity WHERE ci.id = :id "
+            + "AND ci.shoppingCart.id IN "
+            + "(SELECT c.id FROM ShoppingCart c WHERE c.user.id = :userId)")
+    int updateQuantity(@Param("id") Long id,
+                       @Param("userId") Long userId,
+                       @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.id = :id "
+            + "AND ci.shoppingCart.id IN "
+            + "(SELECT c.id FROM ShoppingCart c WHERE c.user.id = :userId)")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.shoppingCart.id = :cartId")
+    int deleteAllByCartId(@Param("cartId") Long cartId);
 }
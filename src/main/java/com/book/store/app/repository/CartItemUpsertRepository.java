@@ -0,0 +1,6 @@
+package com.book.store.app.repository;
+
+public interface CartItemUpsertRepository {
+
+    int upsert(Long cartId, Long bookId, int quantity);
+}
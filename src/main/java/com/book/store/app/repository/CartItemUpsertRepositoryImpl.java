@@ -0,0 +1,41 @@
+package com.book.store.app.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+public class CartItemUpsertRepositoryImpl implements CartItemUpsertRepository {
+
+    private static final String MYSQL_UPSERT = "INSERT INTO cart_items "
+            + "(cart_id, book_id, quantity) SELECT :cartId, b.id, :quantity FROM books b "
+            + "WHERE b.id = :bookId AND b.deleted = false "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity + :quantity";
+    private static final String MERGE_UPSERT = "MERGE INTO cart_items ci "
+            + "USING (SELECT b.id FROM books b WHERE b.id = :bookId AND b.deleted = false) b "
+            + "ON ci.cart_id = :cartId AND ci.book_id = b.id "
+            + "WHEN MATCHED THEN UPDATE SET quantity = ci.quantity + :quantity "
+            + "WHEN NOT MATCHED THEN INSERT (cart_id, book_id, quantity) "
+            + "VALUES (:cartId, b.id, :quantity)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int upsert(Long cartId, Long bookId, int quantity) {
+        return entityManager.createNativeQuery(isMySql() ? MYSQL_UPSERT : MERGE_UPSERT)
+                .setParameter("cartId", cartId)
+                .setParameter("bookId", bookId)
+                .setParameter("quantity", quantity)
+                .executeUpdate();
+    }
+
+    private boolean isMySql() {
+        Dialect dialect = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        return dialect instanceof MySQLDialect;
+    }
+}
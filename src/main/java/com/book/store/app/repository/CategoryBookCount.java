@@ -0,0 +1,8 @@
+package com.book.store.app.repository;
+
+public interface CategoryBookCount {
+
+    Long getCategoryId();
+
+    long getBookCount();
+}
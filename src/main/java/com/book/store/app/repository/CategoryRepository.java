@@ -1,9 +1,16 @@
 package com.book.store.app.repository;
 
 import com.book.store.app.entity.Category;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    @Query("SELECT c.version AS version, c.updatedAt AS updatedAt FROM Category c "
+            + "WHERE c.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,10 @@
+package com.book.store.app.repository;
+
+import java.time.LocalDateTime;
+
+public interface EntityVersion {
+
+    long getVersion();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,37 @@
+package com.book.store.app.repository;
+
+import com.book.store.app.entity.OrderOutboxEvent;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEvent, Long> {
+    @Query("SELECT e.id FROM OrderOutboxEvent e WHERE e.state = :state ORDER BY e.id")
+    List<Long> findIdsByState(@Param("state") OrderOutboxEvent.State state, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OrderOutboxEvent e WHERE e.id = :id")
+    Optional<OrderOutboxEvent> findForUpdateById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE OrderOutboxEvent e SET e.state = 'PROCESSING', e.claimedAt = :claimedAt "
+            + "WHERE e.id = :id AND e.state = 'PENDING'")
+    int claim(@Param("id") Long id, @Param("claimedAt") LocalDateTime claimedAt);
+
+    @Modifying
+    @Query("UPDATE OrderOutboxEvent e SET e.state = 'PENDING', e.claimedAt = NULL "
+            + "WHERE e.id = :id AND e.state = 'PROCESSING'")
+    int release(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE OrderOutboxEvent e SET e.state = 'PENDING', e.claimedAt = NULL "
+            + "WHERE e.state = 'PROCESSING' AND e.claimedAt < :claimedBefore")
+    int releaseClaimedBefore(@Param("claimedBefore") LocalDateTime claimedBefore);
+}
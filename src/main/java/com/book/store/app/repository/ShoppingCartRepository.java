@@ -1,10 +1,14 @@
 package com.book.store.app.repository;
 
 import com.book.store.app.entity.ShoppingCart;
-import com.book.store.app.entity.User;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long> {
-    Optional<ShoppingCart> findByUser(User user);
+    Optional<ShoppingCart> findByUserId(Long userId);
+
+    @Query("SELECT c.id FROM ShoppingCart c WHERE c.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
 }
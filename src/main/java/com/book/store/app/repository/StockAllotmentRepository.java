@@ -0,0 +1,19 @@
+package com.book.store.app.repository;
+
+import com.book.store.app.entity.StockAllotment;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StockAllotmentRepository
+        extends JpaRepository<StockAllotment, Long>,
+        StockAllotmentUpsertRepository {
+
+    List<StockAllotment> findAllByNode(String node);
+
+    @Modifying
+    @Query("DELETE FROM StockAllotment a WHERE a.node = :node")
+    int deleteAllOfNode(@Param("node") String node);
+}
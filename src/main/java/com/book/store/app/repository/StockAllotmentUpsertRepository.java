@@ -0,0 +1,6 @@
+package com.book.store.app.repository;
+
+public interface StockAllotmentUpsertRepository {
+
+    int add(Long bookId, String node, int quantity);
+}
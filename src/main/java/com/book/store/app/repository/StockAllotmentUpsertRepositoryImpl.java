@@ -0,0 +1,39 @@
+package com.book.store.app.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+public class StockAllotmentUpsertRepositoryImpl implements StockAllotmentUpsertRepository {
+
+    private static final String MYSQL_UPSERT = "INSERT INTO stock_allotments "
+            + "(book_id, node, quantity) VALUES (:bookId, :node, :quantity) "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity + :quantity";
+    private static final String MERGE_UPSERT = "MERGE INTO stock_allotments sa "
+            + "USING (SELECT 1 AS one) s ON sa.book_id = :bookId AND sa.node = :node "
+            + "WHEN MATCHED THEN UPDATE SET quantity = sa.quantity + :quantity "
+            + "WHEN NOT MATCHED THEN INSERT (book_id, node, quantity) "
+            + "VALUES (:bookId, :node, :quantity)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int add(Long bookId, String node, int quantity) {
+        return entityManager.createNativeQuery(isMySql() ? MYSQL_UPSERT : MERGE_UPSERT)
+                .setParameter("bookId", bookId)
+                .setParameter("node", node)
+                .setParameter("quantity", quantity)
+                .executeUpdate();
+    }
+
+    private boolean isMySql() {
+        Dialect dialect = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        return dialect instanceof MySQLDialect;
+    }
+}
@@ -0,0 +1,53 @@
+package com.book.store.app.routing;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+
+public final class Replica {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy;
+    private volatile Duration lag;
+
+    public Replica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public Duration getLag() {
+        return lag;
+    }
+
+    public boolean isAvailable(Duration maxLag) {
+        Duration current = lag;
+        return healthy && current != null && current.compareTo(maxLag) <= 0;
+    }
+
+    Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    void markDown() {
+        healthy = false;
+    }
+
+    void update(boolean healthy, Duration lag) {
+        this.lag = lag;
+        this.healthy = healthy;
+    }
+}
@@ -0,0 +1,114 @@
+package com.book.store.app.routing;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+public class ReplicaSet implements AutoCloseable {
+
+    static final String WRITE_HEARTBEAT =
+            "UPDATE replication_heartbeat SET beat_millis = ? WHERE id = 1";
+    static final String READ_HEARTBEAT =
+            "SELECT beat_millis FROM replication_heartbeat WHERE id = 1";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Clock clock;
+    private final Duration maxLag;
+    private final Duration validationTimeout;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaSet(DataSource primary, List<Replica> replicas, Clock clock, Duration maxLag,
+                      Duration validationTimeout) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.clock = clock;
+        this.maxLag = maxLag;
+        this.validationTimeout = validationTimeout;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public Connection readConnection() throws SQLException {
+        int size = replicas.size();
+        int start = size == 0 ? 0 : Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isAvailable(maxLag)) {
+                try {
+                    return replica.getConnection();
+                } catch (SQLException e) {
+                    replica.markDown();
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.check-interval:PT1S}")
+    public void checkHealth() {
+        writeHeartbeat();
+        for (Replica replica : replicas) {
+            check(replica);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            closeIfPossible(replica.getDataSource());
+        }
+        closeIfPossible(primary);
+    }
+
+    private void writeHeartbeat() {
+        try (Connection connection = primary.getConnection();
+                PreparedStatement statement = connection.prepareStatement(WRITE_HEARTBEAT)) {
+            statement.setLong(1, clock.millis());
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            return;
+        }
+    }
+
+    private void check(Replica replica) {
+        try (Connection connection = replica.getConnection()) {
+            if (!connection.isValid((int) Math.max(1, validationTimeout.toSeconds()))) {
+                replica.update(false, replica.getLag());
+                return;
+            }
+            replica.update(true, lag(connection));
+        } catch (SQLException e) {
+            replica.update(false, null);
+        }
+    }
+
+    private Duration lag(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(READ_HEARTBEAT);
+                ResultSet resultSet = statement.executeQuery()) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            return Duration.ofMillis(Math.max(0, clock.millis() - resultSet.getLong(1)));
+        }
+    }
+
+    private static void closeIfPossible(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
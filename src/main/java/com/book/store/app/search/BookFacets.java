@@ -0,0 +1,74 @@
+package com.book.store.app.search;
+
+import com.book.store.app.dto.BookFacetsDto;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+public final class BookFacets {
+
+    private BookFacets() {
+    }
+
+    public static BookFacetsDto toDto(Map<Long, Long> categories,
+                                      Map<PriceBucket, Long> priceRanges,
+                                      Map<String, Long> authorInitials) {
+        Map<String, Long> prices = new LinkedHashMap<>();
+        for (PriceBucket bucket : PriceBucket.values()) {
+            prices.put(bucket.label(), priceRanges.getOrDefault(bucket, 0L));
+        }
+        return new BookFacetsDto(nonZero(categories), prices, nonZero(authorInitials));
+    }
+
+    public static String authorInitial(String author) {
+        if (author == null || author.isBlank()) {
+            return "";
+        }
+        return author.trim().substring(0, 1).toUpperCase(Locale.ROOT);
+    }
+
+    private static <K> Map<K, Long> nonZero(Map<K, Long> counts) {
+        Map<K, Long> result = new TreeMap<>();
+        counts.forEach((key, count) -> {
+            if (count > 0) {
+                result.put(key, count);
+            }
+        });
+        return result;
+    }
+
+    public enum PriceBucket {
+        UNDER_10("0-10", new BigDecimal("10")),
+        FROM_10_TO_20("10-20", new BigDecimal("20")),
+        FROM_20_TO_50("20-50", new BigDecimal("50")),
+        FROM_50_TO_100("50-100", new BigDecimal("100")),
+        FROM_100("100+", null);
+
+        private final String label;
+        private final BigDecimal upper;
+
+        PriceBucket(String label, BigDecimal upper) {
+            this.label = label;
+            this.upper = upper;
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public BigDecimal upper() {
+            return upper;
+        }
+
+        public static PriceBucket of(BigDecimal price) {
+            for (PriceBucket bucket : values()) {
+                if (bucket.upper == null || price.compareTo(bucket.upper) < 0) {
+                    return bucket;
+                }
+            }
+            return FROM_100;
+        }
+    }
+}
@@ -0,0 +1,448 @@
+package com.book.store.app.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+public final class BookIdBitmap {
+
+    private static final int CONTAINER_BITS = 16;
+    private static final int LOW_MASK = (1 << CONTAINER_BITS) - 1;
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = (1 << CONTAINER_BITS) / Long.SIZE;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Container[] containers = new Container[INITIAL_CAPACITY];
+    private int size;
+    private long cardinality;
+
+    public static BookIdBitmap of(Collection<Long> ids) {
+        BookIdBitmap bitmap = new BookIdBitmap();
+        ids.forEach(bitmap::add);
+        return bitmap;
+    }
+
+    public static BookIdBitmap intersect(List<BookIdBitmap> bitmaps) {
+        if (bitmaps.isEmpty()) {
+            return new BookIdBitmap();
+        }
+        List<BookIdBitmap> bySize = bitmaps.stream()
+                .sorted(Comparator.comparingLong(BookIdBitmap::cardinality))
+                .toList();
+        BookIdBitmap result = bySize.get(0);
+        for (int i = 1; i < bySize.size(); i++) {
+            result = result.and(bySize.get(i));
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    public boolean add(long id) {
+        requireValid(id);
+        long key = id >>> CONTAINER_BITS;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, key, new ArrayContainer());
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add(low(id));
+        if (containers[index].cardinality() == before) {
+            return false;
+        }
+        cardinality++;
+        return true;
+    }
+
+    public boolean remove(long id) {
+        requireValid(id);
+        int index = Arrays.binarySearch(keys, 0, size, id >>> CONTAINER_BITS);
+        if (index < 0) {
+            return false;
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.remove(low(id));
+        if (containers[index].cardinality() == before) {
+            return false;
+        }
+        cardinality--;
+        if (containers[index].cardinality() == 0) {
+            delete(index);
+        }
+        return true;
+    }
+
+    public boolean contains(long id) {
+        if (id < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, id >>> CONTAINER_BITS);
+        return index >= 0 && containers[index].contains(low(id));
+    }
+
+    public long cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    public BookIdBitmap and(BookIdBitmap other) {
+        BookIdBitmap result = new BookIdBitmap();
+        int left = 0;
+        int right = 0;
+        while (left < size && right < other.size) {
+            if (keys[left] < other.keys[right]) {
+                left++;
+            } else if (keys[left] > other.keys[right]) {
+                right++;
+            } else {
+                Container container = containers[left].and(other.containers[right]);
+                if (container.cardinality() > 0) {
+                    result.insert(result.size, keys[left], container);
+                    result.cardinality += container.cardinality();
+                }
+                left++;
+                right++;
+            }
+        }
+        return result;
+    }
+
+    public long andCardinality(BookIdBitmap other) {
+        long result = 0;
+        int left = 0;
+        int right = 0;
+        while (left < size && right < other.size) {
+            if (keys[left] < other.keys[right]) {
+                left++;
+            } else if (keys[left] > other.keys[right]) {
+                right++;
+            } else {
+                result += containers[left].andCardinality(other.containers[right]);
+                left++;
+                right++;
+            }
+        }
+        return result;
+    }
+
+    public BookIdBitmap copy() {
+        BookIdBitmap copy = new BookIdBitmap();
+        copy.keys = Arrays.copyOf(keys, Math.max(size, INITIAL_CAPACITY));
+        copy.containers = new Container[copy.keys.length];
+        for (int i = 0; i < size; i++) {
+            copy.containers[i] = containers[i].copy();
+        }
+        copy.size = size;
+        copy.cardinality = cardinality;
+        return copy;
+    }
+
+    public long[] page(long offset, int limit) {
+        if (offset >= cardinality || limit <= 0) {
+            return new long[0];
+        }
+        long[] out = new long[(int) Math.min(limit, cardinality - offset)];
+        long skip = offset;
+        int position = 0;
+        for (int i = 0; i < size && position < out.length; i++) {
+            int containerCardinality = containers[i].cardinality();
+            if (skip >= containerCardinality) {
+                skip -= containerCardinality;
+                continue;
+            }
+            position = containers[i].collect((int) skip, keys[i] << CONTAINER_BITS, out,
+                    position);
+            skip = 0;
+        }
+        return out;
+    }
+
+    private void insert(int index, long key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void delete(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        size--;
+        containers[size] = null;
+    }
+
+    private static char low(long id) {
+        return (char) (id & LOW_MASK);
+    }
+
+    private static void requireValid(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Book id must not be negative: " + id);
+        }
+    }
+
+    private interface Container {
+
+        int cardinality();
+
+        boolean contains(char value);
+
+        Container add(char value);
+
+        Container remove(char value);
+
+        Container and(Container other);
+
+        int andCardinality(Container other);
+
+        Container copy();
+
+        int collect(int skip, long base, long[] out, int position);
+    }
+
+    private static final class ArrayContainer implements Container {
+
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[INITIAL_CAPACITY], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        public Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, cardinality * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        public Container and(Container other) {
+            char[] result = new char[Math.min(cardinality, other.cardinality())];
+            int count = 0;
+            if (other instanceof ArrayContainer array) {
+                int left = 0;
+                int right = 0;
+                while (left < cardinality && right < array.cardinality) {
+                    if (values[left] < array.values[right]) {
+                        left++;
+                    } else if (values[left] > array.values[right]) {
+                        right++;
+                    } else {
+                        result[count++] = values[left];
+                        left++;
+                        right++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        public int andCardinality(Container other) {
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, values.length), cardinality);
+        }
+
+        @Override
+        public int collect(int skip, long base, long[] out, int position) {
+            for (int i = skip; i < cardinality && position < out.length; i++) {
+                out[position++] = base | values[i];
+            }
+            return position;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer() {
+            this(new long[BITMAP_WORDS], 0);
+        }
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & 1L << value) != 0;
+        }
+
+        @Override
+        public Container add(char value) {
+            long word = words[value >>> 6];
+            long updated = word | 1L << value;
+            if (updated != word) {
+                words[value >>> 6] = updated;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            long word = words[value >>> 6];
+            long updated = word & ~(1L << value);
+            if (updated == word) {
+                return this;
+            }
+            words[value >>> 6] = updated;
+            cardinality--;
+            return cardinality <= ARRAY_LIMIT ? toArray() : this;
+        }
+
+        @Override
+        public Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            BitmapContainer bitmap = (BitmapContainer) other;
+            long[] result = new long[BITMAP_WORDS];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = words[i] & bitmap.words[i];
+                count += Long.bitCount(result[i]);
+            }
+            BitmapContainer container = new BitmapContainer(result, count);
+            return count <= ARRAY_LIMIT ? container.toArray() : container;
+        }
+
+        @Override
+        public int andCardinality(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.andCardinality(this);
+            }
+            BitmapContainer bitmap = (BitmapContainer) other;
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                count += Long.bitCount(words[i] & bitmap.words[i]);
+            }
+            return count;
+        }
+
+        @Override
+        public Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        public int collect(int skip, long base, long[] out, int position) {
+            int remaining = skip;
+            for (int i = 0; i < BITMAP_WORDS && position < out.length; i++) {
+                long word = words[i];
+                int bits = Long.bitCount(word);
+                if (remaining >= bits) {
+                    remaining -= bits;
+                    continue;
+                }
+                while (word != 0 && position < out.length) {
+                    int bit = Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    if (remaining > 0) {
+                        remaining--;
+                    } else {
+                        out[position++] = base | (long) i << 6 | bit;
+                    }
+                }
+            }
+            return position;
+        }
+
+        private ArrayContainer toArray() {
+            char[] values = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[count++] = (char) (i << 6 | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+    }
+}
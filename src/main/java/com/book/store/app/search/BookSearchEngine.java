@@ -0,0 +1,23 @@
+package com.book.store.app.search;
+
+import com.book.store.app.dto.BookCursor;
+import com.book.store.app.dto.BookFacetsDto;
+import com.book.store.app.dto.BookSearchParametersDto;
+import com.book.store.app.entity.Book;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface BookSearchEngine {
+    Page<Book> search(BookSearchParametersDto params, Pageable pageable);
+
+    Slice<Book> searchAfter(BookSearchParametersDto params, BookCursor after, int size);
+
+    BookFacetsDto facets(BookSearchParametersDto params);
+
+    default void index(Book book) {
+    }
+
+    default void remove(Long bookId) {
+    }
+}
@@ -0,0 +1,227 @@
+package com.book.store.app.search;
+
+import com.book.store.app.entity.Category;
+import com.book.store.app.event.BookChangedEvent;
+import com.book.store.app.event.BooksImportedEvent;
+import com.book.store.app.event.CategoryChangedEvent;
+import com.book.store.app.repository.BookCategoryLink;
+import com.book.store.app.repository.BookRepository;
+import com.book.store.app.repository.CategoryBookCount;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class CategoryMembershipIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 10000;
+    private static final int IMPORT_BATCH_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, BookIdBitmap> members = new HashMap<>();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            members.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Pageable batch = PageRequest.of(0, REBUILD_BATCH_SIZE);
+        List<BookCategoryLink> links = bookRepository.findCategoryLinksAfter(0L, 0L, batch);
+        while (!links.isEmpty()) {
+            link(links);
+            if (links.size() < REBUILD_BATCH_SIZE) {
+                break;
+            }
+            BookCategoryLink last = links.get(links.size() - 1);
+            links = bookRepository.findCategoryLinksAfter(last.getBookId(),
+                    last.getCategoryId(), batch);
+        }
+        ready = true;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        Long bookId = event.book().getId();
+        Set<Long> current = event.deleted()
+                ? Set.of()
+                : event.book().getCategories().stream()
+                        .map(Category::getId)
+                        .collect(Collectors.toSet());
+        lock.writeLock().lock();
+        try {
+            for (Long categoryId : event.categoryIds()) {
+                if (!current.contains(categoryId)) {
+                    unlink(categoryId, bookId);
+                }
+            }
+            current.forEach(categoryId -> members
+                    .computeIfAbsent(categoryId, id -> new BookIdBitmap())
+                    .add(bookId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksImported(BooksImportedEvent event) {
+        List<Long> ids = event.bookIds();
+        for (int from = 0; from < ids.size(); from += IMPORT_BATCH_SIZE) {
+            link(bookRepository.findCategoryLinks(
+                    ids.subList(from, Math.min(from + IMPORT_BATCH_SIZE, ids.size()))));
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (!event.deleted()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            members.remove(event.categoryId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Map<Long, Long> counts() {
+        if (!ready) {
+            return bookRepository.countBooksByCategory().stream()
+                    .collect(Collectors.toMap(CategoryBookCount::getCategoryId,
+                            CategoryBookCount::getBookCount));
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Long> counts = new HashMap<>();
+            members.forEach((categoryId, bitmap) -> {
+                if (!bitmap.isEmpty()) {
+                    counts.put(categoryId, bitmap.cardinality());
+                }
+            });
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<Long, Long> counts(BookIdBitmap scope) {
+        Map<Long, Long> counts = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            members.forEach((categoryId, bitmap) -> {
+                long count = bitmap.andCardinality(scope);
+                if (count > 0) {
+                    counts.put(categoryId, count);
+                }
+            });
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public BookIdBitmap members(Collection<Long> categoryIds) {
+        Set<Long> distinct = new LinkedHashSet<>(categoryIds);
+        if (!ready) {
+            return BookIdBitmap.intersect(distinct.stream()
+                    .map(id -> BookIdBitmap.of(bookRepository.findIdsByCategoryId(id)))
+                    .toList());
+        }
+        lock.readLock().lock();
+        try {
+            List<BookIdBitmap> bitmaps = new ArrayList<>(distinct.size());
+            for (Long categoryId : distinct) {
+                BookIdBitmap bitmap = members.get(categoryId);
+                if (bitmap == null) {
+                    return new BookIdBitmap();
+                }
+                bitmaps.add(bitmap);
+            }
+            return BookIdBitmap.intersect(bitmaps).copy();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public MembershipPage page(Collection<Long> categoryIds, long offset, int limit) {
+        Set<Long> distinct = new LinkedHashSet<>(categoryIds);
+        if (distinct.isEmpty()) {
+            return new MembershipPage(List.of(), 0);
+        }
+        if (!ready) {
+            List<BookIdBitmap> bitmaps = distinct.stream()
+                    .map(id -> BookIdBitmap.of(bookRepository.findIdsByCategoryId(id)))
+                    .toList();
+            return MembershipPage.of(BookIdBitmap.intersect(bitmaps), offset, limit);
+        }
+        lock.readLock().lock();
+        try {
+            List<BookIdBitmap> bitmaps = new ArrayList<>(distinct.size());
+            for (Long categoryId : distinct) {
+                BookIdBitmap bitmap = members.get(categoryId);
+                if (bitmap == null) {
+                    return new MembershipPage(List.of(), 0);
+                }
+                bitmaps.add(bitmap);
+            }
+            return MembershipPage.of(BookIdBitmap.intersect(bitmaps), offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void link(List<BookCategoryLink> links) {
+        lock.writeLock().lock();
+        try {
+            links.forEach(link -> members
+                    .computeIfAbsent(link.getCategoryId(), id -> new BookIdBitmap())
+                    .add(link.getBookId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unlink(Long categoryId, Long bookId) {
+        BookIdBitmap bitmap = members.get(categoryId);
+        if (bitmap != null && bitmap.remove(bookId) && bitmap.isEmpty()) {
+            members.remove(categoryId);
+        }
+    }
+
+    public record MembershipPage(List<Long> bookIds, long total) {
+        static MembershipPage of(BookIdBitmap bitmap, long offset, int limit) {
+            List<Long> ids = Arrays.stream(bitmap.page(offset, limit)).boxed().toList();
+            return new MembershipPage(ids, bitmap.cardinality());
+        }
+    }
+}
@@ -0,0 +1,513 @@
+package com.book.store.app.search;
+
+import com.book.store.app.dto.BookCursor;
+import com.book.store.app.dto.BookFacetsDto;
+import com.book.store.app.dto.BookSearchParametersDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.event.BookChangedEvent;
+import com.book.store.app.event.BooksImportedEvent;
+import com.book.store.app.repository.BookRepository;
+import com.book.store.app.search.BookFacets.PriceBucket;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@ConditionalOnProperty(name = "book.search.engine", havingValue = "index", matchIfMissing = true)
+public class InMemoryBookSearchEngine implements BookSearchEngine {
+
+    private static final int GRAM_SIZE = 3;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int EXACT_MATCH_SCORE = 3;
+    private static final int PREFIX_MATCH_SCORE = 2;
+    private static final int SUBSTRING_MATCH_SCORE = 1;
+
+    private static final Comparator<IndexedBook> KEYSET_ORDER = Comparator
+            .comparing(IndexedBook::title, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(IndexedBook::id);
+
+    private final BookRepository bookRepository;
+    private final CategoryMembershipIndex membershipIndex;
+    private final BookSearchEngine fallback;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedBook> documents = new HashMap<>();
+    private final Map<Field, Map<String, Set<Long>>> postings = new EnumMap<>(Field.class);
+    private final Map<PriceBucket, BookIdBitmap> priceFacets = new EnumMap<>(PriceBucket.class);
+    private final Map<String, BookIdBitmap> initialFacets = new HashMap<>();
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    public InMemoryBookSearchEngine(BookRepository bookRepository,
+                                    CategoryMembershipIndex membershipIndex) {
+        this.bookRepository = bookRepository;
+        this.membershipIndex = membershipIndex;
+        this.fallback = new SpecificationBookSearchEngine(bookRepository);
+        for (Field field : Field.values()) {
+            postings.put(field, new HashMap<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.values().forEach(Map::clear);
+            priceFacets.clear();
+            initialFacets.clear();
+            changedDuringRebuild.clear();
+            rebuilding = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            load();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        ready = true;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.deleted()) {
+            remove(event.book().getId());
+        } else {
+            index(event.book());
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksImported(BooksImportedEvent event) {
+        List<Long> ids = event.bookIds();
+        for (int from = 0; from < ids.size(); from += REBUILD_BATCH_SIZE) {
+            List<Book> books = bookRepository.findAllById(
+                    ids.subList(from, Math.min(from + REBUILD_BATCH_SIZE, ids.size())));
+            lock.writeLock().lock();
+            try {
+                books.forEach(this::replace);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public void index(Book book) {
+        lock.writeLock().lock();
+        try {
+            replace(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            track(bookId);
+            evict(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<Book> search(BookSearchParametersDto params, Pageable pageable) {
+        if (!ready) {
+            return fallback.search(params, pageable);
+        }
+        BookIdBitmap categoryMembers = categoryMembers(params);
+        List<Match> matches;
+        lock.readLock().lock();
+        try {
+            matches = collectMatches(params, categoryMembers);
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(comparator(pageable.getSort()));
+
+        List<Match> pageMatches = matches;
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), matches.size());
+            int to = Math.min(from + pageable.getPageSize(), matches.size());
+            pageMatches = matches.subList(from, to);
+        }
+        List<Long> ids = pageMatches.stream()
+                .map(match -> match.document().id())
+                .collect(Collectors.toList());
+        return new PageImpl<>(hydrate(ids), pageable, matches.size());
+    }
+
+    @Override
+    public Slice<Book> searchAfter(BookSearchParametersDto params, BookCursor after, int size) {
+        if (!ready) {
+            return fallback.searchAfter(params, after, size);
+        }
+        BookIdBitmap categoryMembers = categoryMembers(params);
+        List<Match> matches;
+        lock.readLock().lock();
+        try {
+            matches = collectMatches(params, categoryMembers);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> ids = matches.stream()
+                .map(Match::document)
+                .filter(document -> after == null || isAfter(document, after))
+                .sorted(KEYSET_ORDER)
+                .limit(size + 1L)
+                .map(IndexedBook::id)
+                .collect(Collectors.toList());
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+        return new SliceImpl<>(hydrate(pageIds), PageRequest.of(0, size), hasNext);
+    }
+
+    @Override
+    public BookFacetsDto facets(BookSearchParametersDto params) {
+        if (!ready || !membershipIndex.isReady()) {
+            return fallback.facets(params);
+        }
+        boolean unfiltered = terms(params).isEmpty() && !params.hasFilters();
+        BookIdBitmap categoryMembers = categoryMembers(params);
+        BookIdBitmap scope = null;
+        Map<PriceBucket, Long> priceRanges = new EnumMap<>(PriceBucket.class);
+        Map<String, Long> authorInitials = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            if (!unfiltered) {
+                scope = new BookIdBitmap();
+                for (Match match : collectMatches(params, categoryMembers)) {
+                    scope.add(match.document().id());
+                }
+            }
+            countWithin(priceFacets, scope, priceRanges);
+            countWithin(initialFacets, scope, authorInitials);
+        } finally {
+            lock.readLock().unlock();
+        }
+        Map<Long, Long> categories = scope == null
+                ? membershipIndex.counts()
+                : membershipIndex.counts(scope);
+        return BookFacets.toDto(categories, priceRanges, authorInitials);
+    }
+
+    private static <K> void countWithin(Map<K, BookIdBitmap> facets, BookIdBitmap scope,
+                                        Map<K, Long> counts) {
+        facets.forEach((key, bitmap) -> counts.put(key,
+                scope == null ? bitmap.cardinality() : bitmap.andCardinality(scope)));
+    }
+
+    private BookIdBitmap categoryMembers(BookSearchParametersDto params) {
+        if (params.categoryIds() == null || params.categoryIds().isEmpty()) {
+            return null;
+        }
+        return membershipIndex.members(params.categoryIds());
+    }
+
+    private static boolean isAfter(IndexedBook document, BookCursor after) {
+        int byTitle = String.CASE_INSENSITIVE_ORDER.compare(document.title(), after.title());
+        return byTitle > 0 || byTitle == 0 && document.id() > after.id();
+    }
+
+    private List<Match> collectMatches(BookSearchParametersDto params,
+                                       BookIdBitmap categoryMembers) {
+        Map<Field, String> terms = terms(params);
+        Set<Long> candidates = null;
+        for (Map.Entry<Field, String> term : terms.entrySet()) {
+            if (term.getValue().length() >= GRAM_SIZE) {
+                Set<Long> fieldCandidates = candidates(term.getKey(), term.getValue());
+                if (candidates == null) {
+                    candidates = fieldCandidates;
+                } else {
+                    candidates.retainAll(fieldCandidates);
+                }
+            }
+        }
+        Collection<IndexedBook> pool;
+        if (candidates != null) {
+            pool = candidates.stream().map(documents::get).filter(Objects::nonNull).toList();
+        } else if (categoryMembers != null) {
+            pool = Arrays.stream(categoryMembers.page(0, (int) categoryMembers.cardinality()))
+                    .mapToObj(documents::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+        } else {
+            pool = documents.values();
+        }
+
+        String initial = BookFacets.authorInitial(params.authorInitial());
+        List<Match> matches = new ArrayList<>();
+        for (IndexedBook document : pool) {
+            if (!matchesFilters(document, params, categoryMembers, initial)) {
+                continue;
+            }
+            int score = score(document, terms);
+            if (score > 0 || terms.isEmpty()) {
+                matches.add(new Match(document, score));
+            }
+        }
+        return matches;
+    }
+
+    private static Map<Field, String> terms(BookSearchParametersDto params) {
+        Map<Field, String> terms = new EnumMap<>(Field.class);
+        putTerm(terms, Field.TITLE, params.title());
+        putTerm(terms, Field.AUTHOR, params.author());
+        putTerm(terms, Field.ISBN, params.isbn());
+        return terms;
+    }
+
+    private static boolean matchesFilters(IndexedBook document, BookSearchParametersDto params,
+                                          BookIdBitmap categoryMembers, String initial) {
+        return (categoryMembers == null || categoryMembers.contains(document.id()))
+                && (params.minPrice() == null
+                        || document.price().compareTo(params.minPrice()) >= 0)
+                && (params.maxPrice() == null
+                        || document.price().compareTo(params.maxPrice()) <= 0)
+                && (initial.isEmpty() || initial.equals(document.initial()));
+    }
+
+    private Set<Long> candidates(Field field, String term) {
+        Map<String, Set<Long>> fieldPostings = postings.get(field);
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(term)) {
+            Set<Long> posting = fieldPostings.get(gram);
+            if (posting == null) {
+                return new HashSet<>();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private int score(IndexedBook document, Map<Field, String> terms) {
+        int score = 0;
+        for (Map.Entry<Field, String> term : terms.entrySet()) {
+            String value = term.getKey().key(document);
+            String query = term.getValue();
+            if (value.equals(query)) {
+                score += EXACT_MATCH_SCORE;
+            } else if (value.startsWith(query)) {
+                score += PREFIX_MATCH_SCORE;
+            } else if (value.contains(query)) {
+                score += SUBSTRING_MATCH_SCORE;
+            } else {
+                return 0;
+            }
+        }
+        return score;
+    }
+
+    private Comparator<Match> comparator(Sort sort) {
+        Comparator<Match> byId = Comparator.comparing(match -> match.document().id());
+        if (sort.isUnsorted()) {
+            return Comparator.comparingInt(Match::score).reversed()
+                    .thenComparing(match -> match.document().title(),
+                            String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(byId);
+        }
+        Comparator<Match> result = null;
+        for (Sort.Order order : sort) {
+            Comparator<Match> next = propertyComparator(order.getProperty());
+            if (next == null) {
+                continue;
+            }
+            next = order.isAscending() ? next : next.reversed();
+            result = result == null ? next : result.thenComparing(next);
+        }
+        return result == null ? byId : result.thenComparing(byId);
+    }
+
+    private Comparator<Match> propertyComparator(String property) {
+        return switch (property) {
+            case "id" -> Comparator.comparing(match -> match.document().id());
+            case "title" -> Comparator.comparing(match -> match.document().title(),
+                    String.CASE_INSENSITIVE_ORDER);
+            case "author" -> Comparator.comparing(match -> match.document().author(),
+                    String.CASE_INSENSITIVE_ORDER);
+            case "isbn" -> Comparator.comparing(match -> match.document().isbn(),
+                    String.CASE_INSENSITIVE_ORDER);
+            case "price" -> Comparator.comparing(match -> match.document().price());
+            default -> null;
+        };
+    }
+
+    private List<Book> hydrate(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Book> byId = bookRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private void load() {
+        Pageable batch = PageRequest.of(0, REBUILD_BATCH_SIZE);
+        Slice<Book> slice = bookRepository.findByIdGreaterThanOrderByIdAsc(0L, batch);
+        while (!slice.isEmpty()) {
+            lock.writeLock().lock();
+            try {
+                slice.filter(book -> !changedDuringRebuild.contains(book.getId()))
+                        .forEach(this::put);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!slice.hasNext()) {
+                break;
+            }
+            Long lastId = slice.getContent().get(slice.getNumberOfElements() - 1).getId();
+            slice = bookRepository.findByIdGreaterThanOrderByIdAsc(lastId, batch);
+        }
+    }
+
+    private void replace(Book book) {
+        track(book.getId());
+        evict(book.getId());
+        put(book);
+    }
+
+    private void track(Long bookId) {
+        if (rebuilding) {
+            changedDuringRebuild.add(bookId);
+        }
+    }
+
+    private void put(Book book) {
+        if (book.isDeleted()) {
+            return;
+        }
+        IndexedBook document = IndexedBook.of(book);
+        documents.put(document.id(), document);
+        priceFacets.computeIfAbsent(PriceBucket.of(document.price()), b -> new BookIdBitmap())
+                .add(document.id());
+        initialFacets.computeIfAbsent(document.initial(), i -> new BookIdBitmap())
+                .add(document.id());
+        for (Field field : Field.values()) {
+            Map<String, Set<Long>> fieldPostings = postings.get(field);
+            for (String gram : grams(field.key(document))) {
+                fieldPostings.computeIfAbsent(gram, g -> new HashSet<>()).add(document.id());
+            }
+        }
+    }
+
+    private void evict(Long bookId) {
+        IndexedBook document = documents.remove(bookId);
+        if (document == null) {
+            return;
+        }
+        unmark(priceFacets, PriceBucket.of(document.price()), bookId);
+        unmark(initialFacets, document.initial(), bookId);
+        for (Field field : Field.values()) {
+            Map<String, Set<Long>> fieldPostings = postings.get(field);
+            for (String gram : grams(field.key(document))) {
+                Set<Long> posting = fieldPostings.get(gram);
+                if (posting != null && posting.remove(bookId) && posting.isEmpty()) {
+                    fieldPostings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static <K> void unmark(Map<K, BookIdBitmap> facets, K key, Long bookId) {
+        BookIdBitmap bitmap = facets.get(key);
+        if (bitmap != null && bitmap.remove(bookId) && bitmap.isEmpty()) {
+            facets.remove(key);
+        }
+    }
+
+    private static void putTerm(Map<Field, String> terms, Field field, String value) {
+        if (value != null && !value.isBlank()) {
+            terms.put(field, normalize(value));
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private enum Field {
+        TITLE(IndexedBook::titleKey),
+        AUTHOR(IndexedBook::authorKey),
+        ISBN(IndexedBook::isbnKey);
+
+        private final Function<IndexedBook, String> extractor;
+
+        Field(Function<IndexedBook, String> extractor) {
+            this.extractor = extractor;
+        }
+
+        String key(IndexedBook document) {
+            return extractor.apply(document);
+        }
+    }
+
+    private record IndexedBook(Long id, String title, String author, String isbn,
+                               BigDecimal price, String titleKey, String authorKey,
+                               String isbnKey, String initial) {
+        static IndexedBook of(Book book) {
+            return new IndexedBook(book.getId(), book.getTitle(), book.getAuthor(),
+                    book.getIsbn(), book.getPrice(), normalize(book.getTitle()),
+                    normalize(book.getAuthor()), normalize(book.getIsbn()),
+                    BookFacets.authorInitial(book.getAuthor()));
+        }
+    }
+
+    private record Match(IndexedBook document, int score) {
+    }
+}
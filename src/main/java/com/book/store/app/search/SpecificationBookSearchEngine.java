@@ -0,0 +1,51 @@
+package com.book.store.app.search;
+
+import static com.book.store.app.specification.BookSpecification.withSearchParams;
+
+import com.book.store.app.dto.BookCursor;
+import com.book.store.app.dto.BookFacetsDto;
+import com.book.store.app.dto.BookSearchParametersDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.repository.BookRepository;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "book.search.engine", havingValue = "specification")
+@RequiredArgsConstructor
+public class SpecificationBookSearchEngine implements BookSearchEngine {
+
+    private static final Sort KEYSET_ORDER = Sort.by("title", "id");
+
+    private final BookRepository bookRepository;
+
+    @Override
+    public Page<Book> search(BookSearchParametersDto params, Pageable pageable) {
+        return bookRepository.findAll(withSearchParams(params), pageable);
+    }
+
+    @Override
+    public BookFacetsDto facets(BookSearchParametersDto params) {
+        return bookRepository.countFacets(withSearchParams(params));
+    }
+
+    @Override
+    public Slice<Book> searchAfter(BookSearchParametersDto params, BookCursor after, int size) {
+        ScrollPosition position = after == null
+                ? ScrollPosition.keyset()
+                : ScrollPosition.forward(Map.of("title", after.title(), "id", after.id()));
+        Window<Book> window = bookRepository.findBy(withSearchParams(params),
+                query -> query.sortBy(KEYSET_ORDER).limit(size).scroll(position));
+        return new SliceImpl<>(window.getContent(), PageRequest.of(0, size), window.hasNext());
+    }
+}
@@ -0,0 +1,35 @@
+package com.book.store.app.security;
+
+import java.time.Duration;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+public final class BcryptWorkFactor {
+
+    private static final int SAMPLES = 3;
+
+    private BcryptWorkFactor() {
+    }
+
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        String salt = BCrypt.gensalt(minStrength);
+        BCrypt.hashpw("calibration", salt);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long started = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            best = Math.min(best, System.nanoTime() - started);
+        }
+        return strengthFor(best, target, minStrength, maxStrength);
+    }
+
+    static int strengthFor(long minStrengthNanos, Duration target, int minStrength,
+                           int maxStrength) {
+        int strength = minStrength;
+        long expected = minStrengthNanos;
+        while (strength < maxStrength && expected * 2 <= target.toNanos()) {
+            expected *= 2;
+            strength++;
+        }
+        return strength;
+    }
+}
@@ -0,0 +1,55 @@
+package com.book.store.app.security;
+
+import com.book.store.app.entity.RoleName;
+import com.book.store.app.entity.User;
+import com.book.store.app.exception.EntityNotFoundException;
+import com.book.store.app.repository.UserRepository;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CurrentUserProvider {
+
+    private final UserRepository userRepository;
+
+    public Long getId() {
+        Authentication authentication = getAuthentication();
+        if (authentication.getPrincipal() instanceof CustomUserDetails user
+                && user.getId() != null) {
+            return user.getId();
+        }
+        String email = authentication.getName();
+        return userRepository.findIdByEmail(email)
+                .orElseThrow(() -> new EntityNotFoundException("User not found: " + email));
+    }
+
+    public Set<RoleName> getRoles() {
+        Authentication authentication = getAuthentication();
+        if (authentication.getPrincipal() instanceof CustomUserDetails user) {
+            return user.getRoles();
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(RoleName::valueOf)
+                .collect(Collectors.toSet());
+    }
+
+    public User getReference() {
+        return userRepository.getReferenceById(getId());
+    }
+
+    private Authentication getAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new AuthenticationCredentialsNotFoundException("No authenticated user");
+        }
+        return authentication;
+    }
+}
@@ -1,7 +1,10 @@
 package com.book.store.app.security;
 
+import com.book.store.app.entity.Role;
+import com.book.store.app.entity.RoleName;
 import com.book.store.app.entity.User;
 import java.util.Collection;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -9,27 +12,47 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 public class CustomUserDetails implements UserDetails {
 
-    private final User user;
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final Set<RoleName> roles;
 
     public CustomUserDetails(User user) {
-        this.user = user;
+        this(user.getId(), user.getEmail(), user.getPassword(), user.getRoles().stream()
+                .map(Role::getName)
+                .collect(Collectors.toSet()));
+    }
+
+    public CustomUserDetails(Long id, String email, String password, Set<RoleName> roles) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.roles = Set.copyOf(roles);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Set<RoleName> getRoles() {
+        return roles;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName().name()))
+        return roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.name()))
                 .collect(Collectors.toList());
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
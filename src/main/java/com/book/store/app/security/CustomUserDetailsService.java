@@ -4,13 +4,15 @@ import com.book.store.app.entity.User;
 import com.book.store.app.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -21,4 +23,15 @@ public class CustomUserDetailsService implements UserDetailsService {
                         + email));
         return new CustomUserDetails(user);
     }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        if (user instanceof CustomUserDetails details) {
+            return new CustomUserDetails(details.getId(), details.getUsername(), newPassword,
+                    details.getRoles());
+        }
+        return loadUserByUsername(user.getUsername());
+    }
 }
@@ -1,19 +1,20 @@
 package com.book.store.app.security;
 
+import com.book.store.app.instrumentation.RequestTimings;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final String AUTH_HEADER = "Authorization";
@@ -21,6 +22,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenDenyList tokenDenyList;
+    private final boolean stateless;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   UserDetailsService userDetailsService,
+                                   TokenDenyList tokenDenyList,
+                                   @Value("${jwt.stateless:true}") boolean stateless) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.tokenDenyList = tokenDenyList;
+        this.stateless = stateless;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -28,17 +41,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain)
             throws ServletException, IOException {
 
-        String authHeader = request.getHeader(AUTH_HEADER);
-        if (authHeader != null && authHeader.startsWith(TOKEN_PREFIX)) {
-            String token = authHeader.substring(TOKEN_PREFIX.length());
-            if (jwtUtil.validateToken(token)) {
-                String username = jwtUtil.extractUsername(token);
-                var userDetails = userDetailsService.loadUserByUsername(username);
-                var authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        long started = System.nanoTime();
+        try {
+            String authHeader = request.getHeader(AUTH_HEADER);
+            if (authHeader != null && authHeader.startsWith(TOKEN_PREFIX)) {
+                String token = authHeader.substring(TOKEN_PREFIX.length());
+                jwtUtil.verify(token)
+                        .filter(verified -> !tokenDenyList.isRevoked(verified.tokenId()))
+                        .ifPresent(verified -> {
+                            UserDetails userDetails = resolveUser(verified);
+                            var authToken = new UsernamePasswordAuthenticationToken(
+                                    userDetails, null, userDetails.getAuthorities());
+                            SecurityContextHolder.getContext().setAuthentication(authToken);
+                        });
             }
+        } finally {
+            RequestTimings.recordAuthentication(System.nanoTime() - started);
         }
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolveUser(VerifiedToken verified) {
+        String subject = verified.claims().getSubject();
+        if (stateless) {
+            return verified.userDetails()
+                    .map(UserDetails.class::cast)
+                    .orElseGet(() -> userDetailsService.loadUserByUsername(subject));
+        }
+        return userDetailsService.loadUserByUsername(subject);
+    }
 }
@@ -1,29 +1,80 @@
 package com.book.store.app.security;
 
+import com.book.store.app.entity.RoleName;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.expiration}")
-    private long expiration;
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
 
+    private final long expiration;
     private final Key secret;
+    private final JwtParser parser;
+    private final boolean caching;
+    private final Cache<ByteBuffer, VerifiedToken> verified;
+    private final ThreadLocal<MessageDigest> digest = ThreadLocal.withInitial(JwtUtil::sha256);
 
-    public JwtUtil(@Value("${jwt.secret}") String secretString) {
+    public JwtUtil(@Value("${jwt.secret}") String secretString,
+                   @Value("${jwt.expiration}") long expiration,
+                   @Value("${jwt.cache.max-size:10000}") long cacheSize) {
         this.secret = Keys.hmacShaKeyFor(secretString.getBytes(StandardCharsets.UTF_8));
+        this.expiration = expiration;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(secret)
+                .build();
+        this.caching = cacheSize > 0;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<ByteBuffer, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, VerifiedToken token,
+                                                  long currentTime) {
+                        return untilExpiry(token);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, VerifiedToken token,
+                                                  long currentTime, long currentDuration) {
+                        return untilExpiry(token);
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, VerifiedToken token,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String generateToken(String email) {
         Date now = new Date();
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
                 .setIssuedAt(now)
                 .setExpiration(new Date(now.getTime() + expiration))
@@ -31,24 +82,92 @@ public class JwtUtil {
                 .compact();
     }
 
+    public String generateToken(CustomUserDetails user) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLES_CLAIM, user.getRoles().stream().map(RoleName::name).toList())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + expiration))
+                .signWith(secret)
+                .compact();
+    }
+
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        if (!caching) {
+            return parse(token);
+        }
+        ByteBuffer key = ByteBuffer.wrap(digest.get()
+                .digest(token.getBytes(StandardCharsets.UTF_8)));
+        VerifiedToken cached = verified.getIfPresent(key);
+        if (cached != null) {
+            return cached.isExpired(Instant.now()) ? Optional.empty() : Optional.of(cached);
+        }
+        Optional<VerifiedToken> parsed = parse(token);
+        parsed.ifPresent(verifiedToken -> verified.put(key, verifiedToken));
+        return parsed;
+    }
+
+    public Optional<Claims> parseClaims(String token) {
+        return verify(token).map(VerifiedToken::claims);
+    }
+
+    public Optional<CustomUserDetails> toUserDetails(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (userId == null || roles == null) {
+            return Optional.empty();
+        }
+        Set<RoleName> roleNames = roles.stream()
+                .map(role -> RoleName.valueOf(role.toString()))
+                .collect(Collectors.toSet());
+        return Optional.of(new CustomUserDetails(userId, claims.getSubject(), null, roleNames));
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secret)
-                .build()
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
 
     public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+
+    public long cachedTokens() {
+        verified.cleanUp();
+        return verified.estimatedSize();
+    }
+
+    private Optional<VerifiedToken> parse(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(secret)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Instant expiresAt = claims.getExpiration() == null
+                    ? Instant.MAX : claims.getExpiration().toInstant();
+            return Optional.of(new VerifiedToken(claims, toUserDetails(claims).orElse(null),
+                    expiresAt));
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
+        }
+    }
+
+    private static long untilExpiry(VerifiedToken token) {
+        if (token.expiresAt() == Instant.MAX) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 }
@@ -0,0 +1,60 @@
+package com.book.store.app.security;
+
+import com.book.store.app.exception.TokenRevocationUnavailableException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TokenDenyList {
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private final int maxSize;
+
+    public TokenDenyList(Clock clock, @Value("${jwt.deny-list.max-size:10000}") int maxSize) {
+        this.clock = clock;
+        this.maxSize = maxSize;
+    }
+
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null) {
+            return;
+        }
+        if (revoked.size() >= maxSize && !revoked.containsKey(tokenId)) {
+            purgeExpired();
+            if (revoked.size() >= maxSize) {
+                throw new TokenRevocationUnavailableException(
+                        "Token deny list is full, the token was not revoked");
+            }
+        }
+        revoked.put(tokenId, expiresAt);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        Instant expiresAt = revoked.get(tokenId);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt.isBefore(clock.instant())) {
+            revoked.remove(tokenId, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private void purgeExpired() {
+        Instant now = clock.instant();
+        revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+    }
+}
@@ -0,0 +1,20 @@
+package com.book.store.app.security;
+
+import io.jsonwebtoken.Claims;
+import java.time.Instant;
+import java.util.Optional;
+
+public record VerifiedToken(Claims claims, CustomUserDetails principal, Instant expiresAt) {
+
+    public String tokenId() {
+        return claims.getId();
+    }
+
+    public Optional<CustomUserDetails> userDetails() {
+        return Optional.ofNullable(principal);
+    }
+
+    boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
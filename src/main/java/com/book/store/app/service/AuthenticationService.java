@@ -5,4 +5,6 @@ import com.book.store.app.dto.UserLoginResponseDto;
 
 public interface AuthenticationService {
     UserLoginResponseDto authenticate(UserLoginRequestDto request);
+
+    void logout(String token);
 }
@@ -2,7 +2,9 @@ package com.book.store.app.service;
 
 import com.book.store.app.dto.UserLoginRequestDto;
 import com.book.store.app.dto.UserLoginResponseDto;
+import com.book.store.app.security.CustomUserDetails;
 import com.book.store.app.security.JwtUtil;
+import com.book.store.app.security.TokenDenyList;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -15,13 +17,22 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final TokenDenyList tokenDenyList;
 
     @Override
     public UserLoginResponseDto authenticate(UserLoginRequestDto request) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.email(), request.password())
         );
-        String token = jwtUtil.generateToken(authentication.getName());
+        String token = authentication.getPrincipal() instanceof CustomUserDetails user
+                ? jwtUtil.generateToken(user)
+                : jwtUtil.generateToken(authentication.getName());
         return new UserLoginResponseDto(token);
     }
+
+    @Override
+    public void logout(String token) {
+        jwtUtil.parseClaims(token).ifPresent(claims ->
+                tokenDenyList.revoke(claims.getId(), claims.getExpiration().toInstant()));
+    }
 }
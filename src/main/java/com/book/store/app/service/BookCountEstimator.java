@@ -0,0 +1,37 @@
+package com.book.store.app.service;
+
+import com.book.store.app.repository.BookRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookCountEstimator {
+
+    private final BookRepository bookRepository;
+    private final Clock clock;
+    private final Duration ttl;
+    private volatile CachedCount cached;
+
+    public BookCountEstimator(BookRepository bookRepository, Clock clock,
+                              @Value("${book.pagination.count-ttl:PT1M}") Duration ttl) {
+        this.bookRepository = bookRepository;
+        this.clock = clock;
+        this.ttl = ttl;
+    }
+
+    public long estimate() {
+        CachedCount current = cached;
+        Instant now = clock.instant();
+        if (current == null || now.isAfter(current.expiresAt())) {
+            current = new CachedCount(bookRepository.count(), now.plus(ttl));
+            cached = current;
+        }
+        return current.value();
+    }
+
+    private record CachedCount(long value, Instant expiresAt) {
+    }
+}
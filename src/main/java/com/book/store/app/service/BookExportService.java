@@ -0,0 +1,9 @@
+package com.book.store.app.service;
+
+import com.book.store.app.dto.CatalogFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BookExportService {
+    long export(CatalogFormat format, OutputStream out) throws IOException;
+}
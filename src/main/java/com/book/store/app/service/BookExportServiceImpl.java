@@ -0,0 +1,111 @@
+package com.book.store.app.service;
+
+import com.book.store.app.dto.BookDtoWithoutCategoryIds;
+import com.book.store.app.dto.CatalogFormat;
+import com.book.store.app.entity.Book;
+import com.book.store.app.mapper.BookMapper;
+import com.book.store.app.repository.BookRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class BookExportServiceImpl implements BookExportService {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final String CSV_HEADER =
+            "id,title,author,isbn,price,description,coverImage\n";
+
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final int clearInterval;
+
+    public BookExportServiceImpl(BookRepository bookRepository,
+                                 BookMapper bookMapper,
+                                 ObjectMapper objectMapper,
+                                 EntityManager entityManager,
+                                 @Value("${book.export.clear-interval:500}") int clearInterval) {
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.clearInterval = clearInterval;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long export(CatalogFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setPrettyPrinter(new MinimalPrettyPrinter(""));
+        if (format == CatalogFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        long rows = 0;
+        try (Stream<Book> books = bookRepository.streamAllForExport()) {
+            Iterator<Book> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                BookDtoWithoutCategoryIds book = bookMapper.toDtoWithoutCategories(iterator.next());
+                if (format == CatalogFormat.CSV) {
+                    writeCsv(writer, book);
+                } else {
+                    json.writeObject(book);
+                    json.flush();
+                    writer.write('\n');
+                }
+                if (++rows % clearInterval == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private void writeCsv(Writer writer, BookDtoWithoutCategoryIds book) throws IOException {
+        writer.write(String.valueOf(book.getId()));
+        writer.write(',');
+        writeCsvField(writer, book.getTitle());
+        writer.write(',');
+        writeCsvField(writer, book.getAuthor());
+        writer.write(',');
+        writeCsvField(writer, book.getIsbn());
+        writer.write(',');
+        writer.write(book.getPrice() == null ? "" : book.getPrice().toPlainString());
+        writer.write(',');
+        writeCsvField(writer, book.getDescription());
+        writer.write(',');
+        writeCsvField(writer, book.getCoverImage());
+        writer.write('\n');
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,11 @@
+package com.book.store.app.service;
+
+import com.book.store.app.dto.BulkImportResultDto;
+import com.book.store.app.dto.CatalogFormat;
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BookImportService {
+    BulkImportResultDto importBooks(CatalogFormat format, InputStream in, Integer chunkSize)
+            throws IOException;
+}
@@ -0,0 +1,304 @@
+package com.book.store.app.service;
+
+import com.book.store.app.config.BookImportProperties;
+import com.book.store.app.dto.BulkImportErrorDto;
+import com.book.store.app.dto.BulkImportResultDto;
+import com.book.store.app.dto.CatalogFormat;
+import com.book.store.app.dto.CreateBookRequestDto;
+import com.book.store.app.event.BooksImportedEvent;
+import com.book.store.app.repository.BookBulkRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+@Service
+public class BookImportServiceImpl implements BookImportService {
+
+    private final BookBulkRepository bookBulkRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookImportProperties properties;
+    private final ForkJoinPool validationPool;
+
+    public BookImportServiceImpl(BookBulkRepository bookBulkRepository,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 ApplicationEventPublisher eventPublisher,
+                                 BookImportProperties properties) {
+        this.bookBulkRepository = bookBulkRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.validationPool = new ForkJoinPool(properties.getValidationParallelism() > 0
+                ? properties.getValidationParallelism()
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validationPool.shutdown();
+    }
+
+    @Override
+    public BulkImportResultDto importBooks(CatalogFormat format, InputStream in,
+                                           Integer chunkSize) throws IOException {
+        final long started = System.nanoTime();
+        int size = chunkSize != null && chunkSize > 0 ? chunkSize : properties.getChunkSize();
+        ImportRun run = new ImportRun(bookBulkRepository.findAllIsbns(),
+                bookBulkRepository.findActiveCategoryIds(), properties.getMaxReportedErrors());
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8));
+        try (RowSource rows = format == CatalogFormat.CSV
+                ? new CsvRowSource(new CsvRecordReader(reader))
+                : new NdjsonRowSource(reader)) {
+            List<RawRow> chunk = new ArrayList<>(size);
+            for (RawRow row = rows.next(); row != null; row = rows.next()) {
+                chunk.add(row);
+                if (chunk.size() == size) {
+                    processChunk(chunk, run);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, run);
+            }
+        }
+        if (!run.importedIds.isEmpty()) {
+            eventPublisher.publishEvent(
+                    new BooksImportedEvent(run.importedIds, run.linkedCategoryIds));
+        }
+        return run.toResult(System.nanoTime() - started);
+    }
+
+    private void processChunk(List<RawRow> chunk, ImportRun run) {
+        List<ParsedRow> parsed = validationPool
+                .submit(() -> chunk.parallelStream().map(this::parse).toList())
+                .join();
+        List<CreateBookRequestDto> accepted = new ArrayList<>(parsed.size());
+        List<Long> acceptedRows = new ArrayList<>(parsed.size());
+        for (ParsedRow row : parsed) {
+            run.received++;
+            if (!row.errors().isEmpty()) {
+                run.reject(row.number(), row.isbn(), row.errors());
+                continue;
+            }
+            CreateBookRequestDto book = row.book();
+            List<Long> unknownCategories = book.getCategoryIds() == null ? List.of()
+                    : book.getCategoryIds().stream()
+                            .filter(id -> !run.categoryIds.contains(id))
+                            .sorted()
+                            .toList();
+            if (!unknownCategories.isEmpty()) {
+                run.reject(row.number(), row.isbn(),
+                        List.of("categoryIds: unknown categories " + unknownCategories));
+            } else if (!run.isbns.add(book.getIsbn())) {
+                run.reject(row.number(), row.isbn(), List.of("isbn: ISBN already exists"));
+            } else {
+                accepted.add(book);
+                acceptedRows.add(row.number());
+            }
+        }
+        run.chunks++;
+        try {
+            run.importedIds.addAll(bookBulkRepository.insertAll(accepted));
+            accepted.stream()
+                    .filter(book -> book.getCategoryIds() != null)
+                    .forEach(book -> run.linkedCategoryIds.addAll(book.getCategoryIds()));
+        } catch (DataAccessException e) {
+            String error = "Chunk rejected: " + e.getMostSpecificCause().getMessage();
+            for (int i = 0; i < accepted.size(); i++) {
+                run.isbns.remove(accepted.get(i).getIsbn());
+                run.reject(acceptedRows.get(i), accepted.get(i).getIsbn(), List.of(error));
+            }
+        }
+    }
+
+    private ParsedRow parse(RawRow row) {
+        List<String> errors = new ArrayList<>();
+        CreateBookRequestDto book;
+        if (row.json() != null) {
+            try {
+                book = objectMapper.readValue(row.json(), CreateBookRequestDto.class);
+            } catch (JsonProcessingException e) {
+                return new ParsedRow(row.number(), null, null,
+                        List.of("Malformed JSON: " + e.getOriginalMessage()));
+            }
+        } else {
+            book = fromCsv(row.fields(), errors);
+        }
+        validator.validate(book).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .forEach(errors::add);
+        return new ParsedRow(row.number(), book, book.getIsbn(), errors);
+    }
+
+    private CreateBookRequestDto fromCsv(Map<String, String> fields, List<String> errors) {
+        CreateBookRequestDto book = new CreateBookRequestDto();
+        book.setTitle(fields.get("title"));
+        book.setAuthor(fields.get("author"));
+        book.setIsbn(fields.get("isbn"));
+        book.setDescription(fields.get("description"));
+        book.setCoverImage(fields.get("coverimage"));
+        try {
+            book.setPrice(fields.get("price") == null ? null : new BigDecimal(fields.get("price")));
+        } catch (NumberFormatException e) {
+            errors.add("price: must be a number");
+        }
+        try {
+            book.setStock(fields.get("stock") == null ? null
+                    : Integer.valueOf(fields.get("stock")));
+        } catch (NumberFormatException e) {
+            errors.add("stock: must be a whole number");
+        }
+        try {
+            book.setCategoryIds(fields.get("categoryids") == null ? null
+                    : Arrays.stream(fields.get("categoryids").split("[;|]"))
+                            .map(String::trim)
+                            .filter(id -> !id.isEmpty())
+                            .map(Long::valueOf)
+                            .collect(Collectors.toSet()));
+        } catch (NumberFormatException e) {
+            errors.add("categoryIds: must be numeric ids separated by ';'");
+        }
+        return book;
+    }
+
+    private interface RowSource extends AutoCloseable {
+        RawRow next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static class NdjsonRowSource implements RowSource {
+        private final BufferedReader reader;
+        private long number;
+
+        NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    return new RawRow(++number, line, null);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static class CsvRowSource implements RowSource {
+        private final CsvRecordReader reader;
+        private List<String> header;
+        private long number;
+
+        CsvRowSource(CsvRecordReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            if (header == null) {
+                List<String> names = reader.next();
+                if (names == null) {
+                    return null;
+                }
+                header = names.stream()
+                        .map(name -> name.trim().replace("_", "").toLowerCase(Locale.ROOT))
+                        .toList();
+            }
+            List<String> values;
+            while ((values = reader.next()) != null) {
+                if (values.size() == 1 && values.get(0).isBlank()) {
+                    continue;
+                }
+                Map<String, String> fields = new HashMap<>();
+                for (int i = 0; i < Math.min(header.size(), values.size()); i++) {
+                    if (!values.get(i).isEmpty()) {
+                        fields.put(header.get(i), values.get(i));
+                    }
+                }
+                return new RawRow(++number, null, fields);
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private record RawRow(long number, String json, Map<String, String> fields) {
+    }
+
+    private record ParsedRow(long number, CreateBookRequestDto book, String isbn,
+                             List<String> errors) {
+    }
+
+    private static class ImportRun {
+        private final Set<String> isbns;
+        private final Set<Long> categoryIds;
+        private final int maxReportedErrors;
+        private final List<BulkImportErrorDto> errors = new ArrayList<>();
+        private final List<Long> importedIds = new ArrayList<>();
+        private final Set<Long> linkedCategoryIds = new HashSet<>();
+        private long received;
+        private long rejected;
+        private int chunks;
+
+        ImportRun(Set<String> isbns, Set<Long> categoryIds, int maxReportedErrors) {
+            this.isbns = isbns;
+            this.categoryIds = categoryIds;
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void reject(long row, String isbn, List<String> messages) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BulkImportErrorDto(row, isbn, messages));
+            }
+        }
+
+        BulkImportResultDto toResult(long elapsedNanos) {
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            double rowsPerSecond = elapsedNanos == 0 ? 0
+                    : received * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+            return new BulkImportResultDto(received, importedIds.size(), rejected, chunks,
+                    durationMs, Math.round(rowsPerSecond * 10) / 10.0, errors,
+                    rejected > errors.size());
+        }
+    }
+}
@@ -2,7 +2,11 @@ package com.book.store.app.service;
 
 import com.book.store.app.dto.BookDto;
 import com.book.store.app.dto.BookSearchParametersDto;
+import com.book.store.app.dto.BookSliceDto;
 import com.book.store.app.dto.CreateBookRequestDto;
+import com.book.store.app.dto.FacetedBookPageDto;
+import com.book.store.app.dto.ResourceVersion;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -11,11 +15,19 @@ public interface BookService {
 
     Page<BookDto> findAll(Pageable pageable);
 
+    BookSliceDto findAllAfter(String after, int size, boolean withTotal);
+
     BookDto findById(Long id);
 
+    Optional<ResourceVersion> findVersion(Long id);
+
     BookDto update(Long id, CreateBookRequestDto dto);
 
     void delete(Long id);
 
     Page<BookDto> search(BookSearchParametersDto params, Pageable pageable);
+
+    FacetedBookPageDto searchWithFacets(BookSearchParametersDto params, Pageable pageable);
+
+    BookSliceDto searchAfter(BookSearchParametersDto params, String after, int size);
 }
@@ -1,17 +1,36 @@
 package com.book.store.app.service;
 
-import static com.book.store.app.specification.BookSpecification.withSearchParams;
-
+import com.book.store.app.config.CacheConfig;
+import com.book.store.app.dto.BookCursor;
 import com.book.store.app.dto.BookDto;
 import com.book.store.app.dto.BookSearchParametersDto;
+import com.book.store.app.dto.BookSliceDto;
 import com.book.store.app.dto.CreateBookRequestDto;
+import com.book.store.app.dto.FacetedBookPageDto;
+import com.book.store.app.dto.ResourceVersion;
 import com.book.store.app.entity.Book;
+import com.book.store.app.entity.Category;
+import com.book.store.app.event.BookChangedEvent;
 import com.book.store.app.exception.EntityNotFoundException;
+import com.book.store.app.inventory.StockLedger;
 import com.book.store.app.mapper.BookMapper;
+import com.book.store.app.repository.BookCategoryLink;
 import com.book.store.app.repository.BookRepository;
+import com.book.store.app.search.BookSearchEngine;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,30 +38,61 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
 
+    private static final int MAX_SLICE_SIZE = 100;
+
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
+    private final BookSearchEngine bookSearchEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookCountEstimator bookCountEstimator;
+    private final StockLedger stockLedger;
 
     @Override
     @Transactional
     public BookDto save(CreateBookRequestDto dto) {
         Book entity = bookMapper.toEntity(dto);
         Book saved = bookRepository.save(entity);
-        return bookMapper.toDto(saved);
+        Set<Long> categoryIds = categoryIds(saved);
+        eventPublisher.publishEvent(new BookChangedEvent(saved, categoryIds, false));
+        return toDto(saved, categoryIds);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<BookDto> findAll(Pageable pageable) {
-        return bookRepository.findAll(pageable)
-                .map(bookMapper::toDto);
+        return toDtoPage(bookRepository.findAll(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookSliceDto findAllAfter(String after, int size, boolean withTotal) {
+        BookCursor cursor = BookCursor.decode(after);
+        int limit = sliceSize(size);
+        Pageable window = PageRequest.of(0, limit + 1);
+        List<Book> books = cursor == null
+                ? bookRepository.findFirstTitlePage(window)
+                : bookRepository.findTitlePageAfter(cursor.title(), cursor.id(), window);
+        boolean hasNext = books.size() > limit;
+        Slice<Book> slice = new SliceImpl<>(hasNext ? books.subList(0, limit) : books,
+                PageRequest.of(0, limit), hasNext);
+        return toSliceDto(slice, withTotal ? bookCountEstimator.estimate() : null);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BOOKS, key = "#id")
     public BookDto findById(Long id) {
         Book book = bookRepository.findByIdAndDeletedFalse(id)
                 .orElseThrow(() -> new EntityNotFoundException("Book not found with id " + id));
-        return bookMapper.toDto(book);
+        return toDto(book, categoryIds(book));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> findVersion(Long id) {
+        return bookRepository.findVersionById(id)
+                .map(version -> ResourceVersion.of("book-" + id, version.getVersion(),
+                        version.getUpdatedAt()));
     }
 
     @Override
@@ -50,9 +100,16 @@ public class BookServiceImpl implements BookService {
     public BookDto update(Long id, CreateBookRequestDto dto) {
         Book book = bookRepository.findByIdAndDeletedFalse(id)
                 .orElseThrow(() -> new EntityNotFoundException("Book not found with id " + id));
+        Set<Long> affectedCategoryIds = categoryIds(book);
         bookMapper.updateEntityFromDto(dto, book);
         Book updated = bookRepository.save(book);
-        return bookMapper.toDto(updated);
+        if (dto.getStock() != null) {
+            stockLedger.restock(id, dto.getStock());
+        }
+        Set<Long> categoryIds = categoryIds(updated);
+        affectedCategoryIds.addAll(categoryIds);
+        eventPublisher.publishEvent(new BookChangedEvent(updated, affectedCategoryIds, false));
+        return toDto(updated, categoryIds);
     }
 
     @Override
@@ -61,12 +118,73 @@ public class BookServiceImpl implements BookService {
         Book book = bookRepository.findByIdAndDeletedFalse(id)
                 .orElseThrow(() -> new EntityNotFoundException("Book not found with id " + id));
         bookRepository.deleteById(book.getId());
+        eventPublisher.publishEvent(new BookChangedEvent(book, categoryIds(book), true));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<BookDto> search(BookSearchParametersDto params, Pageable pageable) {
-        return bookRepository.findAll(withSearchParams(params), pageable)
-                .map(bookMapper::toDto);
+        return toDtoPage(bookSearchEngine.search(params, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FacetedBookPageDto searchWithFacets(BookSearchParametersDto params,
+                                               Pageable pageable) {
+        return new FacetedBookPageDto(search(params, pageable), bookSearchEngine.facets(params));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookSliceDto searchAfter(BookSearchParametersDto params, String after, int size) {
+        BookCursor cursor = BookCursor.decode(after);
+        return toSliceDto(bookSearchEngine.searchAfter(params, cursor, sliceSize(size)), null);
+    }
+
+    private BookSliceDto toSliceDto(Slice<Book> slice, Long approximateTotal) {
+        List<Book> content = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            Book last = content.get(content.size() - 1);
+            nextCursor = new BookCursor(last.getTitle(), last.getId()).encode();
+        }
+        List<BookDto> dtos = bookMapper.toDtoList(content);
+        Map<Long, Set<Long>> categoryIds = categoryIdsByBook(content);
+        dtos.forEach(dto -> dto.setCategoryIds(
+                categoryIds.getOrDefault(dto.getId(), new HashSet<>())));
+        return new BookSliceDto(dtos, nextCursor, slice.hasNext(), approximateTotal);
+    }
+
+    private Page<BookDto> toDtoPage(Page<Book> books) {
+        Map<Long, Set<Long>> categoryIds = categoryIdsByBook(books.getContent());
+        return books.map(book -> toDto(book,
+                categoryIds.getOrDefault(book.getId(), new HashSet<>())));
+    }
+
+    private Map<Long, Set<Long>> categoryIdsByBook(List<Book> books) {
+        if (books.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> bookIds = books.stream().map(Book::getId).toList();
+        return bookRepository.findCategoryLinks(bookIds).stream()
+                .collect(Collectors.groupingBy(BookCategoryLink::getBookId,
+                        Collectors.mapping(BookCategoryLink::getCategoryId,
+                                Collectors.toCollection(HashSet::new))));
+    }
+
+    private BookDto toDto(Book book, Set<Long> categoryIds) {
+        BookDto dto = bookMapper.toDto(book);
+        dto.setCategoryIds(categoryIds);
+        return dto;
+    }
+
+    private static Set<Long> categoryIds(Book book) {
+        return book.getCategories().stream()
+                .map(Category::getId)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private static int sliceSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SLICE_SIZE));
     }
 }
@@ -0,0 +1,8 @@
+package com.book.store.app.service;
+
+import com.book.store.app.dto.CacheStatsDto;
+import java.util.List;
+
+public interface CacheStatsService {
+    List<CacheStatsDto> getStats();
+}
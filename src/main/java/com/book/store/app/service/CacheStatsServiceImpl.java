@@ -0,0 +1,39 @@
+package com.book.store.app.service;
+
+import com.book.store.app.cache.PageResponseCache;
+import com.book.store.app.dto.CacheStatsDto;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatsServiceImpl implements CacheStatsService {
+
+    private final CacheManager cacheManager;
+    private final PageResponseCache pageResponseCache;
+
+    @Override
+    public List<CacheStatsDto> getStats() {
+        return Stream.concat(cacheManager.getCacheNames().stream()
+                                .map(cacheManager::getCache)
+                                .map(this::toDto),
+                        Stream.of(pageResponseCache.stats()))
+                .toList();
+    }
+
+    private CacheStatsDto toDto(Cache cache) {
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            return new CacheStatsDto(cache.getName(), false, 0, 0, 0, 0, 0);
+        }
+        var nativeCache = caffeineCache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        return new CacheStatsDto(cache.getName(), true, nativeCache.estimatedSize(),
+                stats.hitCount(), stats.missCount(), stats.evictionCount(), stats.hitRate());
+    }
+}
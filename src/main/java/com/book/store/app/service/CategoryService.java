@@ -1,19 +1,31 @@
 package com.book.store.app.service;
 
 import com.book.store.app.dto.BookDtoWithoutCategoryIds;
+import com.book.store.app.dto.CategoryBookCountDto;
 import com.book.store.app.dto.CategoryDto;
+import com.book.store.app.dto.ResourceVersion;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 public interface CategoryService {
     List<CategoryDto> findAll();
 
     CategoryDto getById(Long id);
 
+    Optional<ResourceVersion> findVersion(Long id);
+
     CategoryDto save(CategoryDto categoryDto);
 
     CategoryDto update(Long id, CategoryDto categoryDto);
 
     void deleteById(Long id);
 
-    List<BookDtoWithoutCategoryIds> getBooksByCategoryId(Long id);
+    Page<BookDtoWithoutCategoryIds> getBooksByCategoryId(Long id, Pageable pageable);
+
+    Page<BookDtoWithoutCategoryIds> getBooksInAllCategories(Set<Long> ids, Pageable pageable);
+
+    List<CategoryBookCountDto> getBookCounts();
 }
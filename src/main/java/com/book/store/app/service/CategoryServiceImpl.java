@@ -1,17 +1,37 @@
 package com.book.store.app.service;
 
+import com.book.store.app.config.CacheConfig;
 import com.book.store.app.dto.BookDtoWithoutCategoryIds;
+import com.book.store.app.dto.CategoryBookCountDto;
 import com.book.store.app.dto.CategoryDto;
+import com.book.store.app.dto.ResourceVersion;
 import com.book.store.app.entity.Book;
 import com.book.store.app.entity.Category;
+import com.book.store.app.event.CategoryChangedEvent;
 import com.book.store.app.mapper.BookMapper;
 import com.book.store.app.mapper.CategoryMapper;
 import com.book.store.app.repository.BookRepository;
 import com.book.store.app.repository.CategoryRepository;
+import com.book.store.app.search.CategoryMembershipIndex;
+import com.book.store.app.search.CategoryMembershipIndex.MembershipPage;
 import jakarta.persistence.EntityNotFoundException;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,9 +43,12 @@ public class CategoryServiceImpl implements CategoryService {
     private final BookRepository bookRepo;
     private final CategoryMapper categoryMapper;
     private final BookMapper bookMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryMembershipIndex membershipIndex;
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CATEGORY_LIST)
     public List<CategoryDto> findAll() {
         return categoryMapper.toDtoList(categoryRepo
                 .findAll());
@@ -33,6 +56,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "#id")
     public CategoryDto getById(Long id) {
         Category cat = categoryRepo.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Category not found with id: "
@@ -40,11 +64,21 @@ public class CategoryServiceImpl implements CategoryService {
         return categoryMapper.toDto(cat);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> findVersion(Long id) {
+        return categoryRepo.findVersionById(id)
+                .map(version -> ResourceVersion.of("category-" + id, version.getVersion(),
+                        version.getUpdatedAt()));
+    }
+
     @Override
     @Transactional
     public CategoryDto save(CategoryDto dto) {
         Category entity = categoryMapper.toEntity(dto);
-        return categoryMapper.toDto(categoryRepo.save(entity));
+        Category saved = categoryRepo.save(entity);
+        eventPublisher.publishEvent(new CategoryChangedEvent(saved.getId(), Set.of(), false));
+        return categoryMapper.toDto(saved);
     }
 
     @Override
@@ -55,21 +89,62 @@ public class CategoryServiceImpl implements CategoryService {
                         + id));
         existing.setName(dto.getName());
         existing.setDescription(dto.getDescription());
-        return categoryMapper.toDto(categoryRepo.save(existing));
+        Category updated = categoryRepo.save(existing);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id, Set.of(), false));
+        return categoryMapper.toDto(updated);
     }
 
     @Override
     @Transactional
     public void deleteById(Long id) {
+        Set<Long> bookIds = new HashSet<>(bookRepo.findIdsByCategoryId(id));
         categoryRepo.deleteById(id);
+        if (!bookIds.isEmpty()) {
+            bookRepo.incrementVersions(bookIds);
+        }
+        eventPublisher.publishEvent(new CategoryChangedEvent(id, bookIds, true));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookDtoWithoutCategoryIds> getBooksByCategoryId(Long id) {
-        List<Book> books = bookRepo.findAllByCategoryId(id);
-        return books.stream()
+    public Page<BookDtoWithoutCategoryIds> getBooksByCategoryId(Long id, Pageable pageable) {
+        if (!isIdOrder(pageable.getSort())) {
+            return bookRepo.findPageByCategoryId(id, pageable)
+                    .map(bookMapper::toDtoWithoutCategories);
+        }
+        return getBooksInAllCategories(Set.of(id), pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDtoWithoutCategoryIds> getBooksInAllCategories(Set<Long> ids,
+                                                                   Pageable pageable) {
+        MembershipPage page = membershipIndex.page(ids, pageable.getOffset(),
+                pageable.getPageSize());
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        if (page.bookIds().isEmpty()) {
+            return new PageImpl<>(List.of(), unsorted, page.total());
+        }
+        Map<Long, Book> books = bookRepo.findAllById(page.bookIds()).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        List<BookDtoWithoutCategoryIds> content = page.bookIds().stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
                 .map(bookMapper::toDtoWithoutCategories)
-                .collect(Collectors.toList());
+                .toList();
+        return new PageImpl<>(content, unsorted, page.total());
+    }
+
+    @Override
+    public List<CategoryBookCountDto> getBookCounts() {
+        return membershipIndex.counts().entrySet().stream()
+                .map(entry -> new CategoryBookCountDto(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(CategoryBookCountDto::categoryId))
+                .toList();
+    }
+
+    private static boolean isIdOrder(Sort sort) {
+        return sort.stream().allMatch(order -> order.isAscending()
+                && "id".equals(order.getProperty()));
     }
 }
@@ -0,0 +1,84 @@
+package com.book.store.app.service;
+
+import com.book.store.app.cart.CartBuffer;
+import com.book.store.app.cart.CartLine;
+import com.book.store.app.cart.CartSnapshot;
+import com.book.store.app.dto.AddToCartRequestDto;
+import com.book.store.app.dto.CartItemDto;
+import com.book.store.app.dto.ShoppingCartDto;
+import com.book.store.app.dto.UpdateCartItemRequestDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.exception.EntityNotFoundException;
+import com.book.store.app.repository.BookRepository;
+import com.book.store.app.security.CurrentUserProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+@ConditionalOnProperty(name = "cart.store.mode", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryShoppingCartService implements ShoppingCartService {
+
+    private final CartBuffer cartBuffer;
+    private final BookRepository bookRepo;
+    private final CurrentUserProvider currentUser;
+
+    @Override
+    public ShoppingCartDto getCartForCurrentUser() {
+        CartSnapshot cart = cartBuffer.read(currentUser.getId());
+        return new ShoppingCartDto(cart.cartId(), cart.userId(),
+                cart.lines().stream().map(this::toDto).toList());
+    }
+
+    @Override
+    public CartItemDto addToCart(AddToCartRequestDto request) {
+        Long userId = currentUser.getId();
+        Long bookId = request.getBookId();
+        CartLine line = cartBuffer.increment(userId, bookId, request.getQuantity())
+                .orElseGet(() -> {
+                    Book book = bookRepo.findById(bookId)
+                            .orElseThrow(() -> new EntityNotFoundException(
+                                    "Book not found: " + bookId));
+                    return cartBuffer.add(userId, bookId, book.getTitle(),
+                            request.getQuantity());
+                });
+        return toDto(line);
+    }
+
+    @Override
+    public CartItemDto updateCartItem(Long cartItemId, UpdateCartItemRequestDto request) {
+        return cartBuffer.setQuantity(currentUser.getId(), cartItemId, request.getQuantity())
+                .map(this::toDto)
+                .orElseThrow(() -> new EntityNotFoundException("CartItem not found: "
+                        + cartItemId));
+    }
+
+    @Override
+    public void removeCartItem(Long cartItemId) {
+        if (!cartBuffer.remove(currentUser.getId(), cartItemId)) {
+            throw new EntityNotFoundException("CartItem not found: " + cartItemId);
+        }
+    }
+
+    @Override
+    public void prepareCheckout(Long userId) {
+        CartSnapshot ordered = cartBuffer.beginCheckout(userId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cartBuffer.endCheckout(userId, ordered, false);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cartBuffer.endCheckout(userId, ordered, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private CartItemDto toDto(CartLine line) {
+        return new CartItemDto(line.id(), line.bookId(), line.title(), line.quantity());
+    }
+}
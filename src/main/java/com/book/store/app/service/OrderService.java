@@ -4,15 +4,20 @@ import com.book.store.app.dto.OrderItemResponseDto;
 import com.book.store.app.dto.OrderRequestDto;
 import com.book.store.app.dto.OrderResponseDto;
 import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 public interface OrderService {
     OrderResponseDto placeOrder(OrderRequestDto request);
 
-    List<OrderResponseDto> getOrderHistory();
+    Page<OrderResponseDto> getOrderHistory(Pageable pageable);
 
     List<OrderItemResponseDto> getOrderItems(Long orderId);
 
     OrderItemResponseDto getOrderItem(Long orderId, Long itemId);
 
     OrderResponseDto updateOrderStatus(Long orderId, String status);
+
+    SseEmitter streamStatus(Long orderId);
 }
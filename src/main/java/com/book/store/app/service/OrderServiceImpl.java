@@ -3,59 +3,76 @@ package com.book.store.app.service;
 import com.book.store.app.dto.OrderItemResponseDto;
 import com.book.store.app.dto.OrderRequestDto;
 import com.book.store.app.dto.OrderResponseDto;
+import com.book.store.app.entity.CartItem;
 import com.book.store.app.entity.Order;
 import com.book.store.app.entity.OrderItem;
+import com.book.store.app.entity.OrderOutboxEvent;
 import com.book.store.app.entity.ShoppingCart;
-import com.book.store.app.entity.User;
+import com.book.store.app.event.OrderStatusChangedEvent;
 import com.book.store.app.exception.EntityNotFoundException;
+import com.book.store.app.exception.InvalidOrderStatusException;
+import com.book.store.app.inventory.StockLedger;
 import com.book.store.app.mapper.OrderMapper;
+import com.book.store.app.processing.OrderStatusNotifier;
 import com.book.store.app.repository.BookRepository;
+import com.book.store.app.repository.CartItemRepository;
 import com.book.store.app.repository.OrderItemRepository;
+import com.book.store.app.repository.OrderOutboxRepository;
 import com.book.store.app.repository.OrderRepository;
 import com.book.store.app.repository.ShoppingCartRepository;
-import com.book.store.app.repository.UserRepository;
+import com.book.store.app.security.CurrentUserProvider;
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
+    private static final String ORDER_DATE = "orderDate";
+
     private final OrderRepository orderRepo;
     private final OrderItemRepository itemRepo;
-    private final UserRepository userRepo;
+    private final CurrentUserProvider currentUser;
     private final ShoppingCartRepository cartRepo;
+    private final CartItemRepository cartItemRepo;
+    private final ShoppingCartService shoppingCartService;
     private final BookRepository bookRepo;
+    private final OrderOutboxRepository outboxRepo;
+    private final OrderStatusNotifier statusNotifier;
+    private final StockLedger stockLedger;
+    private final ApplicationEventPublisher eventPublisher;
     private final OrderMapper mapper;
     private final Clock clock;
 
-    private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepo.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("User not found: " + email));
-    }
-
     @Override
     @Transactional
     public OrderResponseDto placeOrder(OrderRequestDto request) {
-        User user = getCurrentUser();
-        final ShoppingCart cart = cartRepo.findByUser(user)
+        shoppingCartService.prepareCheckout(currentUser.getId());
+        final ShoppingCart cart = cartRepo.findByUserId(currentUser.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Cart not found for user"));
+        final List<CartItem> cartItems = cartItemRepo.findAllWithBookByCartId(cart.getId());
 
         Order order = new Order();
-        order.setUser(user);
+        order.setUser(currentUser.getReference());
         order.setStatus(Order.Status.PENDING);
         order.setOrderDate(LocalDateTime.now(clock));
         order.setShippingAddress(request.getShippingAddress());
 
-        cart.getCartItems().forEach(ci -> {
+        cartItems.forEach(ci -> {
             OrderItem oi = new OrderItem();
             oi.setOrder(order);
             oi.setBook(ci.getBook());
@@ -69,20 +86,29 @@ public class OrderServiceImpl implements OrderService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         order.setTotal(total);
 
-        cart.getCartItems().clear();
-        cartRepo.save(cart);
-
         Order saved = orderRepo.save(order);
+        outboxRepo.save(new OrderOutboxEvent(saved.getId(), OrderOutboxEvent.Type.ORDER_PLACED,
+                saved.getOrderDate()));
+        cartItemRepo.deleteAllByCartId(cart.getId());
         return mapper.toDto(saved);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<OrderResponseDto> getOrderHistory() {
-        User user = getCurrentUser();
-        return orderRepo.findAllByUserId(user.getId()).stream()
-                .map(mapper::toDto)
-                .collect(Collectors.toList());
+    public Page<OrderResponseDto> getOrderHistory(Pageable pageable) {
+        Sort sort = historySort(pageable.getSort());
+        Page<Long> ids = orderRepo.findIdsByUserId(currentUser.getId(),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort));
+        Map<Long, Order> orders = ids.isEmpty() ? Map.of()
+                : orderRepo.findAllByIdIn(ids.getContent(), sort).stream()
+                        .collect(Collectors.toMap(Order::getId, Function.identity()));
+        return ids.map(id -> mapper.toDto(orders.get(id)));
+    }
+
+    private Sort historySort(Sort requested) {
+        Sort.Order byDate = requested.getOrderFor(ORDER_DATE);
+        Sort.Direction direction = byDate != null ? byDate.getDirection() : Sort.Direction.DESC;
+        return Sort.by(direction, ORDER_DATE, "id");
     }
 
     @Override
@@ -90,7 +116,7 @@ public class OrderServiceImpl implements OrderService {
     public List<OrderItemResponseDto> getOrderItems(Long orderId) {
         Order order = orderRepo.findById(orderId)
                 .orElseThrow(() -> new EntityNotFoundException("Order not found: " + orderId));
-        if (!order.getUser().getId().equals(getCurrentUser().getId())) {
+        if (!order.getUser().getId().equals(currentUser.getId())) {
             throw new EntityNotFoundException("Order not found: " + orderId);
         }
         return itemRepo.findAllByOrderId(orderId).stream()
@@ -114,8 +140,33 @@ public class OrderServiceImpl implements OrderService {
     public OrderResponseDto updateOrderStatus(Long orderId, String status) {
         Order order = orderRepo.findById(orderId)
                 .orElseThrow(() -> new EntityNotFoundException("Order not found: " + orderId));
-        order.setStatus(Order.Status.valueOf(status));
+        Order.Status next = parseStatus(status);
+        Order.Status previous = order.getStatus();
+        order.transitionTo(next);
+        if (previous == Order.Status.COMPLETED && next == Order.Status.CANCELLED) {
+            stockLedger.releaseAfterCommit(order.getOrderItems().stream()
+                    .collect(Collectors.toMap(item -> item.getBook().getId(),
+                            OrderItem::getQuantity, Integer::sum)));
+        }
         Order updated = orderRepo.save(order);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, next));
         return mapper.toDto(updated);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SseEmitter streamStatus(Long orderId) {
+        Order order = orderRepo.findById(orderId)
+                .filter(o -> o.getUser().getId().equals(currentUser.getId()))
+                .orElseThrow(() -> new EntityNotFoundException("Order not found: " + orderId));
+        return statusNotifier.subscribe(orderId, order.getStatus());
+    }
+
+    private Order.Status parseStatus(String status) {
+        try {
+            return Order.Status.valueOf(String.valueOf(status).trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOrderStatusException("Unknown order status: " + status);
+        }
+    }
 }
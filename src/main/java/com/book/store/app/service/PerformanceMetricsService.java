@@ -0,0 +1,13 @@
+package com.book.store.app.service;
+
+import com.book.store.app.dto.EndpointMetricsDto;
+import com.book.store.app.dto.PasswordHashingStatsDto;
+import java.util.List;
+
+public interface PerformanceMetricsService {
+    List<EndpointMetricsDto> getEndpointMetrics();
+
+    PasswordHashingStatsDto getPasswordHashingStats();
+
+    void reset();
+}
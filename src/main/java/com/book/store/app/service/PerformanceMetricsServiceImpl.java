@@ -0,0 +1,40 @@
+package com.book.store.app.service;
+
+import com.book.store.app.dto.EndpointMetricsDto;
+import com.book.store.app.dto.PasswordHashingStatsDto;
+import com.book.store.app.instrumentation.PerformanceMetrics;
+import com.book.store.app.security.OffloadingPasswordEncoder;
+import com.book.store.app.security.PasswordHashingExecutor;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class PerformanceMetricsServiceImpl implements PerformanceMetricsService {
+
+    private final PerformanceMetrics performanceMetrics;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final OffloadingPasswordEncoder passwordEncoder;
+
+    @Override
+    public List<EndpointMetricsDto> getEndpointMetrics() {
+        return performanceMetrics.snapshot();
+    }
+
+    @Override
+    public PasswordHashingStatsDto getPasswordHashingStats() {
+        return new PasswordHashingStatsDto(passwordEncoder.getStrength(),
+                hashingExecutor.getThreads(), hashingExecutor.getQueueCapacity(),
+                hashingExecutor.getQueued(), hashingExecutor.getActive(),
+                hashingExecutor.getCompleted(), hashingExecutor.getRejected(),
+                hashingExecutor.getQueueWait().percentileMillis(95),
+                hashingExecutor.getHashTime().meanMillis(),
+                hashingExecutor.getHashTime().percentileMillis(95));
+    }
+
+    @Override
+    public void reset() {
+        performanceMetrics.reset();
+    }
+}
@@ -13,4 +13,6 @@ public interface ShoppingCartService {
     CartItemDto updateCartItem(Long cartItemId, UpdateCartItemRequestDto request);
 
     void removeCartItem(Long cartItemId);
+
+    void prepareCheckout(Long userId);
 }
@@ -2,6 +2,13 @@ package com.book.store.app.specification;
 
 import com.book.store.app.dto.BookSearchParametersDto;
 import com.book.store.app.entity.Book;
+import com.book.store.app.entity.Category;
+import com.book.store.app.search.BookFacets;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
 public class BookSpecification {
@@ -29,6 +36,43 @@ public class BookSpecification {
             );
         }
 
+        if (params.categoryIds() != null) {
+            for (Long categoryId : params.categoryIds()) {
+                spec = spec.and((root, cq, cb) -> {
+                    Subquery<Long> members = cq.subquery(Long.class);
+                    Root<Category> category = members.from(Category.class);
+                    Join<Category, Book> book = category.join("books");
+                    members.select(book.get("id"))
+                            .where(cb.equal(category.get("id"), categoryId));
+                    return root.get("id").in(members);
+                });
+            }
+        }
+
+        if (params.minPrice() != null) {
+            spec = spec.and((root, cq, cb) ->
+                    cb.greaterThanOrEqualTo(root.get("price"), params.minPrice())
+            );
+        }
+
+        if (params.maxPrice() != null) {
+            spec = spec.and((root, cq, cb) ->
+                    cb.lessThanOrEqualTo(root.get("price"), params.maxPrice())
+            );
+        }
+
+        String initial = BookFacets.authorInitial(params.authorInitial());
+        if (!initial.isEmpty()) {
+            spec = spec.and((root, cq, cb) ->
+                    cb.equal(authorInitial(root, cb), initial)
+            );
+        }
+
         return spec;
     }
+
+    public static Expression<String> authorInitial(Root<Book> root, CriteriaBuilder cb) {
+        return cb.upper(cb.substring(cb.trim(root.get("author")), cb.literal(1),
+                cb.literal(1)));
+    }
 }
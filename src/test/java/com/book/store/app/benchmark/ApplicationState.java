@@ -0,0 +1,51 @@
+package com.book.store.app.benchmark;
+
+import com.book.store.app.BookstoreApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    @Param({"1000"})
+    private int catalogSize;
+
+    @Param({"index", "specification"})
+    private String searchEngine;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(BookstoreApplication.class)
+                .properties(
+                        "server.port=0",
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + System.nanoTime()
+                                + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "order.processing.enabled=false",
+                        "book.search.engine=" + searchEngine)
+                .run();
+        CatalogSeeder.seedBooks(context, catalogSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public Long createBuyer() {
+        return CatalogSeeder.createBuyer(context);
+    }
+}
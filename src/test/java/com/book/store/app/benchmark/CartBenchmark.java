@@ -0,0 +1,108 @@
+package com.book.store.app.benchmark;
+
+import com.book.store.app.BookstoreApplication;
+import com.book.store.app.dto.AddToCartRequestDto;
+import com.book.store.app.dto.CartItemDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.entity.RoleName;
+import com.book.store.app.repository.BookRepository;
+import com.book.store.app.security.CustomUserDetails;
+import com.book.store.app.service.ShoppingCartService;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class CartBenchmark {
+
+    private static final int CATALOG_SIZE = 1000;
+    private static final int CART_LINES = 20;
+
+    @State(Scope.Benchmark)
+    public static class CartState {
+
+        @Param({"jpa", "memory"})
+        private String cartStore;
+
+        private ConfigurableApplicationContext context;
+        private ShoppingCartService cartService;
+        private List<Long> bookIds;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = new SpringApplicationBuilder(BookstoreApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "logging.level.root=WARN",
+                            "spring.datasource.url=jdbc:h2:mem:carts-" + System.nanoTime()
+                                    + ";DB_CLOSE_DELAY=-1",
+                            "spring.jpa.properties.hibernate.generate_statistics=false",
+                            "order.processing.enabled=false",
+                            "cart.store.mode=" + cartStore)
+                    .run();
+            CatalogSeeder.seedBooks(context, CATALOG_SIZE);
+            cartService = context.getBean(ShoppingCartService.class);
+            bookIds = context.getBean(BookRepository.class)
+                    .findAll(PageRequest.of(0, CART_LINES)).stream()
+                    .map(Book::getId)
+                    .toList();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ShopperState {
+        private final AddToCartRequestDto request = new AddToCartRequestDto();
+        private int next;
+
+        @Setup(Level.Trial)
+        public void signIn(CartState cart) {
+            Long userId = CatalogSeeder.createBuyer(cart.context);
+            CustomUserDetails principal = new CustomUserDetails(userId, "shopper", null,
+                    Set.of(RoleName.ROLE_USER));
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal, null,
+                            principal.getAuthorities()));
+            request.setQuantity(1);
+        }
+
+        AddToCartRequestDto nextRequest(List<Long> bookIds) {
+            next = (next + 1) % bookIds.size();
+            request.setBookId(bookIds.get(next));
+            return request;
+        }
+    }
+
+    @Benchmark
+    public CartItemDto addToCart(CartState cart, ShopperState shopper) {
+        return cart.cartService.addToCart(shopper.nextRequest(cart.bookIds));
+    }
+}
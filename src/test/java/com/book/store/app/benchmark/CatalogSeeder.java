@@ -0,0 +1,80 @@
+package com.book.store.app.benchmark;
+
+import com.book.store.app.entity.ShoppingCart;
+import com.book.store.app.entity.User;
+import com.book.store.app.repository.ShoppingCartRepository;
+import com.book.store.app.repository.UserRepository;
+import com.book.store.app.search.BookSearchEngine;
+import com.book.store.app.search.CategoryMembershipIndex;
+import com.book.store.app.search.InMemoryBookSearchEngine;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+final class CatalogSeeder {
+
+    static final String[] WORDS = {"spring", "java", "winter", "garden", "ocean", "mountain",
+            "river", "shadow", "silver", "empire"};
+
+    private CatalogSeeder() {
+    }
+
+    static void seedBooks(ApplicationContext context, int catalogSize) {
+        List<Object[]> rows = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            rows.add(new Object[] {
+                    "The " + WORDS[i % WORDS.length] + " book " + i,
+                    "Author " + WORDS[(i / WORDS.length) % WORDS.length],
+                    "ISBN-" + i,
+                    BigDecimal.valueOf(10 + i % 50),
+                    1_000_000});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate("INSERT INTO books "
+                + "(title, author, isbn, price, stock, deleted) VALUES (?, ?, ?, ?, ?, false)",
+                rows);
+        if (context.getBean(BookSearchEngine.class) instanceof InMemoryBookSearchEngine engine) {
+            engine.rebuild();
+        }
+    }
+
+    static void seedCategories(ApplicationContext context, int categories, int catalogSize) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> names = new ArrayList<>(categories);
+        for (int i = 0; i < categories; i++) {
+            names.add(new Object[] {"Category " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO categories (name, deleted) VALUES (?, false)",
+                names);
+        List<Long> categoryIds = jdbcTemplate.queryForList(
+                "SELECT id FROM categories ORDER BY id", Long.class);
+        List<Long> bookIds = jdbcTemplate.queryForList(
+                "SELECT id FROM books ORDER BY id LIMIT ?", Long.class, catalogSize);
+        List<Object[]> links = new ArrayList<>(bookIds.size() * 2);
+        for (int i = 0; i < bookIds.size(); i++) {
+            links.add(new Object[] {bookIds.get(i), categoryIds.get(i % categoryIds.size())});
+            int second = (i / categoryIds.size() + i) % categoryIds.size();
+            if (second != i % categoryIds.size()) {
+                links.add(new Object[] {bookIds.get(i), categoryIds.get(second)});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO books_categories (book_id, category_id) VALUES (?, ?)", links);
+        context.getBean(CategoryMembershipIndex.class).rebuild();
+        if (context.getBean(BookSearchEngine.class) instanceof InMemoryBookSearchEngine engine) {
+            engine.rebuild();
+        }
+    }
+
+    static Long createBuyer(ApplicationContext context) {
+        User user = context.getBean(UserRepository.class).save(new User(null,
+                "buyer-" + System.nanoTime() + "@example.com", "secret", "Bench", "Buyer",
+                "Street 1", Set.of()));
+        ShoppingCart cart = new ShoppingCart();
+        cart.setUser(user);
+        context.getBean(ShoppingCartRepository.class).save(cart);
+        return user.getId();
+    }
+}
@@ -0,0 +1,138 @@
+package com.book.store.app.benchmark;
+
+import com.book.store.app.dto.BookDto;
+import com.book.store.app.dto.BookSearchParametersDto;
+import com.book.store.app.dto.OrderRequestDto;
+import com.book.store.app.dto.OrderResponseDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.entity.CartItem;
+import com.book.store.app.entity.RoleName;
+import com.book.store.app.entity.ShoppingCart;
+import com.book.store.app.repository.BookRepository;
+import com.book.store.app.repository.CartItemRepository;
+import com.book.store.app.repository.ShoppingCartRepository;
+import com.book.store.app.security.CustomUserDetails;
+import com.book.store.app.service.BookService;
+import com.book.store.app.service.OrderService;
+import com.book.store.app.specification.BookSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogServiceBenchmark {
+
+    private static final int CART_ITEMS = 3;
+
+    @State(Scope.Thread)
+    public static class SearchState {
+        private final BookSearchParametersDto[] queries = {
+                BookSearchParametersDto.of("garden", null, null),
+                BookSearchParametersDto.of(null, "ocean", null),
+                BookSearchParametersDto.of("book 12", null, null),
+                BookSearchParametersDto.of("silver", "river", null)};
+        private int next;
+
+        BookSearchParametersDto nextQuery() {
+            next = (next + 1) % queries.length;
+            return queries[next];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CriteriaState {
+        private EntityManager entityManager;
+        private CriteriaBuilder criteriaBuilder;
+
+        @Setup(Level.Trial)
+        public void setUp(ApplicationState application) {
+            entityManager = application.bean(EntityManagerFactory.class).createEntityManager();
+            criteriaBuilder = entityManager.getCriteriaBuilder();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            entityManager.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BuyerState {
+        private final OrderRequestDto request = new OrderRequestDto();
+        private ShoppingCart cart;
+        private List<Book> books;
+
+        @Setup(Level.Trial)
+        public void setUp(ApplicationState application) {
+            Long userId = application.createBuyer();
+            cart = application.bean(ShoppingCartRepository.class).findByUserId(userId)
+                    .orElseThrow();
+            books = application.bean(BookRepository.class)
+                    .findAll(PageRequest.of(0, CART_ITEMS)).getContent();
+            request.setShippingAddress("Street 1");
+            CustomUserDetails principal = new CustomUserDetails(userId, "buyer", null,
+                    Set.of(RoleName.ROLE_USER));
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal, null,
+                            principal.getAuthorities()));
+        }
+
+        @Setup(Level.Invocation)
+        public void fillCart(ApplicationState application) {
+            application.bean(CartItemRepository.class).saveAll(books.stream()
+                    .map(book -> {
+                        CartItem item = new CartItem();
+                        item.setShoppingCart(cart);
+                        item.setBook(book);
+                        item.setQuantity(1);
+                        return item;
+                    })
+                    .toList());
+        }
+    }
+
+    @Benchmark
+    public Predicate specificationPredicate(CriteriaState state, SearchState search) {
+        CriteriaQuery<Book> query = state.criteriaBuilder.createQuery(Book.class);
+        Root<Book> root = query.from(Book.class);
+        return BookSpecification.withSearchParams(search.nextQuery())
+                .toPredicate(root, query, state.criteriaBuilder);
+    }
+
+    @Benchmark
+    public Page<BookDto> search(ApplicationState application, SearchState search) {
+        return application.bean(BookService.class)
+                .search(search.nextQuery(), PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public OrderResponseDto placeOrder(ApplicationState application, BuyerState buyer) {
+        return application.bean(OrderService.class).placeOrder(buyer.request);
+    }
+}
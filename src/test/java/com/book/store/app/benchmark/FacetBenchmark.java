@@ -0,0 +1,85 @@
+package com.book.store.app.benchmark;
+
+import com.book.store.app.BookstoreApplication;
+import com.book.store.app.dto.BookFacetsDto;
+import com.book.store.app.dto.BookSearchParametersDto;
+import com.book.store.app.search.BookSearchEngine;
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FacetBenchmark {
+
+    private static final int CATEGORIES = 50;
+
+    @State(Scope.Benchmark)
+    public static class FacetState {
+
+        @Param({"1000000"})
+        private int catalogSize;
+
+        @Param({"index", "specification"})
+        private String searchEngine;
+
+        private ConfigurableApplicationContext context;
+        private BookSearchEngine engine;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = new SpringApplicationBuilder(BookstoreApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "logging.level.root=WARN",
+                            "spring.datasource.url=jdbc:h2:mem:facets-" + System.nanoTime()
+                                    + ";DB_CLOSE_DELAY=-1",
+                            "spring.jpa.properties.hibernate.generate_statistics=false",
+                            "order.processing.enabled=false",
+                            "book.search.engine=" + searchEngine)
+                    .run();
+            CatalogSeeder.seedBooks(context, catalogSize);
+            CatalogSeeder.seedCategories(context, CATEGORIES, catalogSize);
+            engine = context.getBean(BookSearchEngine.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public BookFacetsDto unfiltered(FacetState state) {
+        return state.engine.facets(BookSearchParametersDto.of(null, null, null));
+    }
+
+    @Benchmark
+    public BookFacetsDto titleFiltered(FacetState state) {
+        return state.engine.facets(BookSearchParametersDto.of("garden", null, null));
+    }
+
+    @Benchmark
+    public BookFacetsDto categoryAndPriceFiltered(FacetState state) {
+        return state.engine.facets(new BookSearchParametersDto(null, null, null, Set.of(1L),
+                new BigDecimal("20"), new BigDecimal("50"), null));
+    }
+}
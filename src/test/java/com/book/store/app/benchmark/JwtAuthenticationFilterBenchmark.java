@@ -0,0 +1,136 @@
+package com.book.store.app.benchmark;
+
+import com.book.store.app.entity.RoleName;
+import com.book.store.app.security.CustomUserDetails;
+import com.book.store.app.security.JwtAuthenticationFilter;
+import com.book.store.app.security.JwtUtil;
+import com.book.store.app.security.TokenDenyList;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Clock;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-benchmark-benchmark-benchmark=";
+    private static final String EMAIL = "user@example.com";
+
+    private Key key;
+    private String token;
+    private UserDetailsService userDetailsService;
+    private JwtAuthenticationFilter statefulFilter;
+    private JwtAuthenticationFilter statelessFilter;
+    private DriverManagerDataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:jwt-bench;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, email VARCHAR(255) UNIQUE, "
+                + "password VARCHAR(255))");
+        jdbc.execute("CREATE TABLE roles (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+        jdbc.execute("CREATE TABLE users_roles (user_id BIGINT, role_id BIGINT)");
+        jdbc.update("INSERT INTO users VALUES (1, ?, 'secret')", EMAIL);
+        jdbc.update("INSERT INTO roles VALUES (1, 'ROLE_USER'), (2, 'ROLE_ADMIN')");
+        jdbc.update("INSERT INTO users_roles VALUES (1, 1), (1, 2)");
+        userDetailsService = email -> loadUser(jdbc, email);
+
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 3_600_000L, 10_000);
+        token = jwtUtil.generateToken(new CustomUserDetails(1L, EMAIL, null,
+                Set.of(RoleName.ROLE_USER, RoleName.ROLE_ADMIN)));
+        TokenDenyList denyList = new TokenDenyList(Clock.systemUTC(), 10_000);
+        statefulFilter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, denyList, false);
+        statelessFilter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, denyList, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+    }
+
+    @Benchmark
+    public Authentication legacyDoubleParseWithLookup() {
+        SecurityContextHolder.clearContext();
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        String username = Jwts.parserBuilder().setSigningKey(key).build()
+                .parseClaimsJws(token).getBody().getSubject();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return authentication;
+    }
+
+    @Benchmark
+    public Authentication statefulFilter() throws Exception {
+        return runFilter(statefulFilter);
+    }
+
+    @Benchmark
+    public Authentication statelessFilter() throws Exception {
+        return runFilter(statelessFilter);
+    }
+
+    private Authentication runFilter(JwtAuthenticationFilter filter) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static UserDetails loadUser(JdbcTemplate jdbc, String email) {
+        List<String[]> rows = jdbc.query("SELECT u.id, u.password, r.name FROM users u "
+                        + "JOIN users_roles ur ON ur.user_id = u.id "
+                        + "JOIN roles r ON r.id = ur.role_id WHERE u.email = ?",
+                (rs, rowNum) -> new String[] {
+                        rs.getString(1), rs.getString(2), rs.getString(3)}, email);
+        Set<RoleName> roles = new HashSet<>();
+        rows.forEach(row -> roles.add(RoleName.valueOf(row[2])));
+        return new CustomUserDetails(Long.valueOf(rows.get(0)[0]), email, rows.get(0)[1], roles);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,61 @@
+package com.book.store.app.benchmark;
+
+import com.book.store.app.entity.RoleName;
+import com.book.store.app.security.CustomUserDetails;
+import com.book.store.app.security.JwtUtil;
+import com.book.store.app.security.VerifiedToken;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-benchmark-benchmark-benchmark=";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 3_600_000L, 10_000);
+    private final JwtUtil uncachedJwtUtil = new JwtUtil(SECRET, 3_600_000L, 0);
+    private final CustomUserDetails user = new CustomUserDetails(1L, "user@example.com", null,
+            Set.of(RoleName.ROLE_USER));
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return jwtUtil.verify(token).orElseThrow();
+    }
+
+    @Benchmark
+    public VerifiedToken verifyUncached() {
+        return uncachedJwtUtil.verify(token).orElseThrow();
+    }
+}
@@ -0,0 +1,175 @@
+package com.book.store.app.benchmark;
+
+import com.book.store.app.BookstoreApplication;
+import com.book.store.app.entity.RoleName;
+import com.book.store.app.execution.ExecutionMode;
+import com.book.store.app.execution.VirtualThreads;
+import com.book.store.app.security.CustomUserDetails;
+import com.book.store.app.security.JwtUtil;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+public final class LoadTestHarness {
+
+    private static final int CATALOG_SIZE = Integer.getInteger("load.catalog-size", 2_000);
+    private static final int CLIENTS = Integer.getInteger("load.clients", 400);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("load.requests", 20);
+    private static final int POOL_SIZE = Integer.getInteger("load.pool-size", 10);
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("%-9s %-12s %8s %8s %8s %8s %8s%n",
+                "mode", "endpoint", "requests", "errors", "p50 ms", "p99 ms", "max ms");
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            if (mode == ExecutionMode.VIRTUAL && !VirtualThreads.isSupported()) {
+                System.out.printf("%-9s skipped, requires a Java 21 runtime%n", "virtual");
+                continue;
+            }
+            run(mode);
+        }
+    }
+
+    private static void run(ExecutionMode mode) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                BookstoreApplication.class)
+                .properties(
+                        "server.port=0",
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:load-" + System.nanoTime()
+                                + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "order.processing.enabled=false",
+                        "execution.mode=" + mode.name().toLowerCase(Locale.ROOT))
+                .run();
+        try {
+            CatalogSeeder.seedBooks(context, CATALOG_SIZE);
+            String baseUrl = "http://localhost:"
+                    + context.getEnvironment().getProperty("local.server.port");
+            JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+            String[] tokens = new String[CLIENTS];
+            for (int i = 0; i < CLIENTS; i++) {
+                Long userId = CatalogSeeder.createBuyer(context);
+                tokens[i] = jwtUtil.generateToken(new CustomUserDetails(userId,
+                        "buyer-" + userId, null, Set.of(RoleName.ROLE_USER)));
+            }
+            report(mode, "/api/books", drive(baseUrl, tokens, false));
+            report(mode, "/api/orders", drive(baseUrl, tokens, true));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Result drive(String baseUrl, String[] tokens, boolean orders)
+            throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService drivers = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            Future<?>[] futures = new Future<?>[CLIENTS];
+            for (int c = 0; c < CLIENTS; c++) {
+                String token = tokens[c];
+                futures[c] = drivers.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        try {
+                            if (orders) {
+                                addToCart(client, baseUrl, token);
+                            }
+                            HttpRequest request = orders ? placeOrder(baseUrl, token)
+                                    : listBooks(baseUrl, token);
+                            long start = System.nanoTime();
+                            int status = client.send(request,
+                                    HttpResponse.BodyHandlers.discarding()).statusCode();
+                            latencies[next.getAndIncrement()] = System.nanoTime() - start;
+                            if (status >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            drivers.shutdown();
+            drivers.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        return new Result(Arrays.copyOf(latencies, next.get()), errors.get());
+    }
+
+    private static void addToCart(HttpClient client, String baseUrl, String token)
+            throws IOException, InterruptedException {
+        long bookId = ThreadLocalRandom.current().nextLong(1, CATALOG_SIZE + 1);
+        client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/cart"))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"bookId\":" + bookId + ",\"quantity\":1}"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static HttpRequest placeOrder(String baseUrl, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders"))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"shippingAddress\":\"Street 1\"}"))
+                .build();
+    }
+
+    private static HttpRequest listBooks(String baseUrl, String token) {
+        int page = ThreadLocalRandom.current().nextInt(CATALOG_SIZE / 20);
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/books?size=20&page=" + page))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private static void report(ExecutionMode mode, String endpoint, Result result) {
+        long[] sorted = result.latencies().clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-9s %-12s %8d %8d %8.1f %8.1f %8.1f%n",
+                mode.name().toLowerCase(Locale.ROOT), endpoint, sorted.length, result.errors(),
+                percentile(sorted, 0.50), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1_000_000.0);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private record Result(long[] latencies, int errors) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.book.store.app.benchmark;
+
+import com.book.store.app.BookstoreApplication;
+import com.book.store.app.dto.UserLoginRequestDto;
+import com.book.store.app.dto.UserLoginResponseDto;
+import com.book.store.app.entity.User;
+import com.book.store.app.repository.UserRepository;
+import com.book.store.app.service.AuthenticationService;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(Threads.MAX)
+@Fork(1)
+public class LoginBenchmark {
+
+    private static final String PASSWORD = "password1";
+
+    @State(Scope.Benchmark)
+    public static class LoginState {
+
+        @Param({"1", "2", "4"})
+        private int hashingThreads;
+
+        @Param({"10"})
+        private int strength;
+
+        private ConfigurableApplicationContext context;
+        private AuthenticationService authenticationService;
+        private UserLoginRequestDto request;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = new SpringApplicationBuilder(BookstoreApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "logging.level.root=WARN",
+                            "spring.datasource.url=jdbc:h2:mem:login-" + System.nanoTime()
+                                    + ";DB_CLOSE_DELAY=-1",
+                            "spring.jpa.properties.hibernate.generate_statistics=false",
+                            "order.processing.enabled=false",
+                            "password.hashing.threads=" + hashingThreads,
+                            "password.hashing.queue-capacity=1024",
+                            "password.hashing.strength=" + strength)
+                    .run();
+            String email = "login-" + System.nanoTime() + "@example.com";
+            context.getBean(UserRepository.class).save(new User(null, email,
+                    context.getBean(PasswordEncoder.class).encode(PASSWORD), "Bench", "Login",
+                    "Street 1", Set.of()));
+            authenticationService = context.getBean(AuthenticationService.class);
+            request = new UserLoginRequestDto(email, PASSWORD);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public UserLoginResponseDto login(LoginState state) {
+        return state.authenticationService.authenticate(state.request);
+    }
+}
@@ -0,0 +1,118 @@
+package com.book.store.app.benchmark;
+
+import com.book.store.app.dto.BookDto;
+import com.book.store.app.dto.OrderResponseDto;
+import com.book.store.app.dto.ShoppingCartDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.entity.CartItem;
+import com.book.store.app.entity.Category;
+import com.book.store.app.entity.Order;
+import com.book.store.app.entity.OrderItem;
+import com.book.store.app.entity.ShoppingCart;
+import com.book.store.app.entity.User;
+import com.book.store.app.mapper.BookMapper;
+import com.book.store.app.mapper.BookMapperImpl;
+import com.book.store.app.mapper.CartMapper;
+import com.book.store.app.mapper.OrderMapper;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"3", "20"})
+    private int itemCount;
+
+    private final BookMapper bookMapper = new BookMapperImpl();
+    private final OrderMapper orderMapper = new OrderMapper();
+    private final CartMapper cartMapper = new CartMapper();
+
+    private Book book;
+    private Order order;
+    private ShoppingCart cart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User user = new User();
+        user.setId(1L);
+        Set<Category> categories = new HashSet<>();
+        for (long i = 1; i <= itemCount; i++) {
+            categories.add(new Category(i, "Category " + i, null, false, Set.of(), null, null));
+        }
+        book = book(1L);
+        book.setCategories(categories);
+
+        order = new Order();
+        order.setId(1L);
+        order.setUser(user);
+        order.setStatus(Order.Status.PENDING);
+        order.setOrderDate(LocalDateTime.of(2024, 1, 1, 12, 0));
+        order.setShippingAddress("Street 1");
+        order.setTotal(BigDecimal.TEN);
+        cart = new ShoppingCart();
+        cart.setId(1L);
+        cart.setUser(user);
+        for (long i = 1; i <= itemCount; i++) {
+            OrderItem orderItem = new OrderItem();
+            orderItem.setId(i);
+            orderItem.setOrder(order);
+            orderItem.setBook(book(i));
+            orderItem.setQuantity(1);
+            orderItem.setPrice(BigDecimal.TEN);
+            order.getOrderItems().add(orderItem);
+
+            CartItem cartItem = new CartItem();
+            cartItem.setId(i);
+            cartItem.setShoppingCart(cart);
+            cartItem.setBook(book(i));
+            cartItem.setQuantity(1);
+            cart.getCartItems().add(cartItem);
+        }
+    }
+
+    @Benchmark
+    public BookDto bookToDto() {
+        return bookMapper.toDto(book);
+    }
+
+    @Benchmark
+    public OrderResponseDto orderToDto() {
+        return orderMapper.toDto(order);
+    }
+
+    @Benchmark
+    public ShoppingCartDto cartToDto() {
+        return cartMapper.toDto(cart);
+    }
+
+    private static Book book(Long id) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle("Title " + id);
+        book.setAuthor("Author " + id);
+        book.setIsbn("ISBN-" + id);
+        book.setPrice(BigDecimal.TEN);
+        book.setDescription("Description " + id);
+        return book;
+    }
+}
@@ -0,0 +1,96 @@
+package com.book.store.app.benchmark;
+
+import com.book.store.app.BookstoreApplication;
+import com.book.store.app.controller.BookController;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class PageResponseBenchmark {
+
+    private static final int CATALOG_SIZE = 10000;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20, Sort.by("title"));
+
+    @State(Scope.Benchmark)
+    public static class CatalogState {
+
+        @Param({"false", "true"})
+        private boolean pageCache;
+
+        private ConfigurableApplicationContext context;
+        private BookController controller;
+        private ObjectMapper objectMapper;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = new SpringApplicationBuilder(BookstoreApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "logging.level.root=WARN",
+                            "spring.datasource.url=jdbc:h2:mem:pages-" + System.nanoTime()
+                                    + ";DB_CLOSE_DELAY=-1",
+                            "spring.jpa.properties.hibernate.generate_statistics=false",
+                            "order.processing.enabled=false")
+                    .run("--catalog.page-cache.enabled=" + pageCache);
+            CatalogSeeder.seedBooks(context, CATALOG_SIZE);
+            controller = context.getBean(BookController.class);
+            objectMapper = context.getBean(ObjectMapper.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ReaderState {
+
+        @Setup(Level.Trial)
+        public void signIn() {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new TestingAuthenticationToken("reader", null, "ROLE_USER"));
+        }
+    }
+
+    @Benchmark
+    public byte[] firstPage(CatalogState catalog, ReaderState reader) throws Exception {
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest(),
+                new MockHttpServletResponse());
+        ResponseEntity<?> response = catalog.controller.getAll(FIRST_PAGE, request);
+        if (response.getBody() instanceof byte[] bytes) {
+            return bytes;
+        }
+        return catalog.objectMapper.writeValueAsBytes(response.getBody());
+    }
+}
@@ -0,0 +1,123 @@
+package com.book.store.app.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.book.store.app.config.CacheConfig;
+import com.book.store.app.dto.CategoryDto;
+import com.book.store.app.dto.CreateBookRequestDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.entity.Category;
+import com.book.store.app.repository.BookRepository;
+import com.book.store.app.repository.CategoryRepository;
+import com.book.store.app.service.BookService;
+import com.book.store.app.service.CategoryService;
+import java.math.BigDecimal;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+@SpringBootTest
+class CatalogCacheInvalidatorTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Category fantasy;
+    private Category poetry;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        fantasy = categoryRepository.save(new Category(null, "Fantasy", "Dragons", false,
+                Set.of(), null, null));
+        poetry = categoryRepository.save(new Category(null, "Poetry", "Verses", false,
+                Set.of(), null, null));
+
+        book = new Book();
+        book.setTitle("Cached Book");
+        book.setAuthor("Author");
+        book.setIsbn("CACHE-" + System.nanoTime());
+        book.setPrice(new BigDecimal("10.00"));
+        book.setCategories(Set.of(fantasy));
+        book = bookRepository.save(book);
+    }
+
+    @Test
+    @DisplayName("Repeated category reads are served from the cache")
+    void getById_isCached() {
+        CategoryDto first = categoryService.getById(fantasy.getId());
+        CategoryDto second = categoryService.getById(fantasy.getId());
+
+        assertThat(second).isSameAs(first);
+        assertThat(cache(CacheConfig.CATEGORIES).get(fantasy.getId())).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Updating a category evicts its entry and the category list")
+    void updateCategory_evictsCategoryAndList() {
+        categoryService.getById(fantasy.getId());
+        categoryService.getById(poetry.getId());
+        categoryService.findAll();
+
+        categoryService.update(fantasy.getId(), new CategoryDto(null, "High Fantasy", "Elves"));
+
+        assertThat(cache(CacheConfig.CATEGORIES).get(fantasy.getId())).isNull();
+        assertThat(cache(CacheConfig.CATEGORIES).get(poetry.getId())).isNotNull();
+        assertThat(categoryService.findAll()).extracting(CategoryDto::getName)
+                .contains("High Fantasy");
+    }
+
+    @Test
+    @DisplayName("Updating a book evicts the book only")
+    void updateBook_evictsBook() {
+        Book other = new Book();
+        other.setTitle("Other Book");
+        other.setAuthor("Author");
+        other.setIsbn("CACHE-OTHER-" + System.nanoTime());
+        other.setPrice(new BigDecimal("10.00"));
+        other = bookRepository.save(other);
+        bookService.findById(book.getId());
+        bookService.findById(other.getId());
+
+        bookService.update(book.getId(), new CreateBookRequestDto("Renamed Book", "Author",
+                book.getIsbn(), new BigDecimal("12.00"), null, null, Set.of()));
+
+        assertThat(cache(CacheConfig.BOOKS).get(book.getId())).isNull();
+        assertThat(cache(CacheConfig.BOOKS).get(other.getId())).isNotNull();
+        assertThat(bookService.findById(book.getId()).getTitle()).isEqualTo("Renamed Book");
+    }
+
+    @Test
+    @DisplayName("Deleting a category evicts the books that referenced it")
+    void deleteCategory_evictsMemberBooks() {
+        bookService.findById(book.getId());
+        categoryService.getById(fantasy.getId());
+
+        categoryService.deleteById(fantasy.getId());
+
+        assertThat(cache(CacheConfig.BOOKS).get(book.getId())).isNull();
+        assertThat(cache(CacheConfig.CATEGORIES).get(fantasy.getId())).isNull();
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+}
@@ -0,0 +1,181 @@
+package com.book.store.app.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.book.store.app.dto.CreateBookRequestDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.repository.BookRepository;
+import com.book.store.app.service.BookService;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pagecache;DB_CLOSE_DELAY=-1",
+        "catalog.page-cache.enabled=true",
+        "catalog.page-cache.max-page=2"
+})
+@AutoConfigureMockMvc
+@WithMockUser(roles = "USER")
+class PageResponseCacheTest {
+
+    private static final int BOOKS = 30;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PageResponseCache pageResponseCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private List<Book> books;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAllInBatch();
+        pageResponseCache.invalidateAll();
+        books = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book();
+            book.setTitle(String.format("Page Book %02d", i));
+            book.setAuthor("Author");
+            book.setIsbn("PAGE-" + i + "-" + System.nanoTime());
+            book.setPrice(new BigDecimal("10.00"));
+            book.setDescription("A description long enough to make the page worth compressing");
+            books.add(bookRepository.save(book));
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("A repeated hot page is written from cached bytes without touching the database")
+    void hotPage_servedFromCache() throws Exception {
+        byte[] first = body(get("/api/books").param("size", "10"));
+        statistics.clear();
+
+        byte[] second = body(get("/api/books").param("size", "10"));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(pageResponseCache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Clients accepting gzip receive the pre-compressed copy of the same page")
+    void hotPage_gzip() throws Exception {
+        byte[] json = body(get("/api/books").param("size", "10"));
+
+        byte[] compressed = mockMvc.perform(get("/api/books").param("size", "10")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(in.readAllBytes()).isEqualTo(json);
+        }
+    }
+
+    @Test
+    @DisplayName("A book update through BookService drops the cached page")
+    void bookUpdate_invalidatesPage() throws Exception {
+        body(get("/api/books").param("size", "10"));
+        Book book = books.get(0);
+
+        bookService.update(book.getId(), new CreateBookRequestDto("Page Book 00 Revised",
+                "Author", book.getIsbn(), new BigDecimal("11.00"), null, null, null));
+
+        assertThat(new String(body(get("/api/books").param("size", "10"))))
+                .contains("Page Book 00 Revised");
+    }
+
+    @Test
+    @DisplayName("Pages beyond the configured hot range are never cached")
+    void coldPage_notCached() throws Exception {
+        body(get("/api/books").param("page", "2").param("size", "10"));
+        body(get("/api/books").param("page", "2").param("size", "10"));
+
+        assertThat(pageResponseCache.stats().size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Concurrent misses on the same hot page load and encode it once")
+    void concurrentMisses_loadOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService readers = Executors.newFixedThreadPool(THREADS);
+        List<Future<ResponseEntity<?>>> responses = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            responses.add(readers.submit(() -> {
+                start.await();
+                return pageResponseCache.respond("test", null, PageRequest.of(0, 10),
+                        new ServletWebRequest(new MockHttpServletRequest()), () -> {
+                            loads.incrementAndGet();
+                            sleep();
+                            return List.of("page");
+                        });
+            }));
+        }
+        start.countDown();
+        for (Future<ResponseEntity<?>> response : responses) {
+            assertThat(response.get(10, TimeUnit.SECONDS).getStatusCode().is2xxSuccessful())
+                    .isTrue();
+        }
+        readers.shutdown();
+
+        assertThat(loads).hasValue(1);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private byte[] body(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
@@ -0,0 +1,240 @@
+package com.book.store.app.cart;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.book.store.app.dto.AddToCartRequestDto;
+import com.book.store.app.dto.CartItemDto;
+import com.book.store.app.dto.OrderRequestDto;
+import com.book.store.app.dto.OrderResponseDto;
+import com.book.store.app.dto.UpdateCartItemRequestDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.entity.RoleName;
+import com.book.store.app.entity.User;
+import com.book.store.app.exception.EntityNotFoundException;
+import com.book.store.app.repository.BookRepository;
+import com.book.store.app.repository.UserRepository;
+import com.book.store.app.security.CustomUserDetails;
+import com.book.store.app.service.OrderService;
+import com.book.store.app.service.ShoppingCartService;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cart-buffer;DB_CLOSE_DELAY=-1",
+        "cart.store.mode=memory",
+        "cart.store.flush-interval=PT1H"
+})
+class CartBufferTest {
+
+    private static final int THREADS = 16;
+    private static final int ADDS_PER_THREAD = 200;
+
+    @Autowired
+    private CartBuffer cartBuffer;
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private ShoppingCartService shoppingCartService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Flushed carts survive a restart while unflushed writes are bounded to the window")
+    void crash_keepsFlushedState() {
+        final Long userId = saveUser("crash");
+        final Long flushedBook = saveBook("Flushed");
+
+        CartLine flushed = cartBuffer.add(userId, flushedBook, "Flushed", 2);
+        cartBuffer.flush();
+        cartBuffer.increment(userId, flushedBook, 3);
+
+        CartBuffer restarted = newBuffer(cartStore);
+
+        assertThat(restarted.read(userId).lines()).containsExactly(flushed);
+    }
+
+    @Test
+    @DisplayName("A failed flush keeps carts dirty and the next flush persists them")
+    void failedFlush_retries() {
+        final Long userId = saveUser("retry");
+        final Long bookId = saveBook("Retry");
+        AtomicBoolean down = new AtomicBoolean(true);
+        CartBuffer buffer = newBuffer(new CartStore(null) {
+            @Override
+            public CartSnapshot load(Long id) {
+                return cartStore.load(id);
+            }
+
+            @Override
+            public Long insertLine(Long cartId, Long bookId, int quantity) {
+                return cartStore.insertLine(cartId, bookId, quantity);
+            }
+
+            @Override
+            public void save(List<CartSnapshot> carts) {
+                if (down.get()) {
+                    throw new DataAccessResourceFailureException("down");
+                }
+                cartStore.save(carts);
+            }
+        });
+        final CartLine line = buffer.add(userId, bookId, "Retry", 1).withQuantity(3);
+        buffer.increment(userId, bookId, 2);
+
+        assertThrows(DataAccessResourceFailureException.class, buffer::flush);
+        assertThat(buffer.dirtyCount()).isEqualTo(1);
+
+        down.set(false);
+        buffer.flush();
+
+        assertThat(buffer.dirtyCount()).isZero();
+        assertThat(cartStore.load(userId).lines()).containsExactly(line);
+    }
+
+    @Test
+    @DisplayName("Concurrent writers on shared carts lose no increments")
+    void concurrentWriters_keepEveryIncrement() throws Exception {
+        final List<Long> users = List.of(saveUser("a"), saveUser("b"), saveUser("c"));
+        final Long bookId = saveBook("Contended");
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writers = new ArrayList<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+        for (int i = 0; i < THREADS; i++) {
+            Long userId = users.get(i % users.size());
+            writers.add(pool.submit(() -> {
+                start.await();
+                for (int j = 0; j < ADDS_PER_THREAD; j++) {
+                    cartBuffer.increment(userId, bookId, 1)
+                            .orElseGet(() -> cartBuffer.add(userId, bookId, "Contended", 1));
+                }
+                return null;
+            }));
+        }
+        writers.add(pool.submit(() -> {
+            start.await();
+            for (int j = 0; j < 20; j++) {
+                cartBuffer.flush();
+            }
+            return null;
+        }));
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        cartBuffer.flush();
+
+        int total = users.stream()
+                .mapToInt(userId -> cartStore.load(userId).lines().get(0).quantity())
+                .sum();
+        assertThat(total).isEqualTo(THREADS * ADDS_PER_THREAD);
+    }
+
+    @Test
+    @DisplayName("placeOrder flushes pending cart writes first and leaves the cart empty")
+    void placeOrder_flushesPendingWrites() {
+        final Long userId = saveUser("checkout");
+        final Long bookId = saveBook("Checkout");
+        signIn(userId);
+        cartBuffer.add(userId, bookId, "Checkout", 4);
+        OrderRequestDto request = new OrderRequestDto();
+        request.setShippingAddress("Street 1");
+
+        OrderResponseDto order = orderService.placeOrder(request);
+
+        assertThat(order.getTotal()).isEqualByComparingTo("40.00");
+        assertThat(shoppingCartService.getCartForCurrentUser().getCartItems()).isEmpty();
+        assertThat(cartStore.load(userId).lines()).isEmpty();
+        assertThat(cartBuffer.dirtyCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Cart item ids are the persisted row ids and stay stable across flushes")
+    void cartItemIds_matchPersistedRows() {
+        final Long userId = saveUser("ids");
+        final Long bookId = saveBook("Stable");
+        signIn(userId);
+        AddToCartRequestDto add = new AddToCartRequestDto();
+        add.setBookId(bookId);
+        add.setQuantity(1);
+
+        CartItemDto added = shoppingCartService.addToCart(add);
+        cartBuffer.flush();
+
+        assertThat(cartStore.load(userId).lines()).extracting(CartLine::id)
+                .containsExactly(added.getId());
+        UpdateCartItemRequestDto update = new UpdateCartItemRequestDto();
+        update.setQuantity(5);
+        assertThat(shoppingCartService.updateCartItem(added.getId(), update).getQuantity())
+                .isEqualTo(5);
+        cartBuffer.flush();
+        assertThat(cartStore.load(userId).lines())
+                .containsExactly(new CartLine(added.getId(), bookId, "Stable", 5));
+
+        shoppingCartService.removeCartItem(added.getId());
+        cartBuffer.flush();
+        assertThat(cartStore.load(userId).lines()).isEmpty();
+        assertThrows(EntityNotFoundException.class,
+                () -> shoppingCartService.removeCartItem(added.getId()));
+    }
+
+    private void signIn(Long userId) {
+        CustomUserDetails principal = new CustomUserDetails(userId, "cart@example.com",
+                null, Set.of(RoleName.ROLE_USER));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null,
+                        principal.getAuthorities()));
+    }
+
+    private CartBuffer newBuffer(CartStore store) {
+        return new CartBuffer(store, Clock.systemUTC(), 8, 10, Duration.ofMinutes(10));
+    }
+
+    private Long saveUser(String name) {
+        return userRepository.save(new User(null, name + "-" + System.nanoTime()
+                + "@example.com", "secret", "Cart", "User", "Street 1", Set.of())).getId();
+    }
+
+    private Long saveBook(String title) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Author");
+        book.setIsbn("BUF-" + title + "-" + System.nanoTime());
+        book.setPrice(new BigDecimal("10.00"));
+        return bookRepository.save(book).getId();
+    }
+}
@@ -0,0 +1,52 @@
+package com.book.store.app.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+class CacheConfigTest {
+
+    @Test
+    @DisplayName("Disabled regions are backed by a no-op cache")
+    void cacheManager_disabledRegion() {
+        CatalogCacheProperties properties = new CatalogCacheProperties();
+        CatalogCacheProperties.Region disabled = new CatalogCacheProperties.Region();
+        disabled.setEnabled(false);
+        properties.getRegions().put(CacheConfig.CATEGORY_LIST, disabled);
+
+        CacheManager cacheManager = createCacheManager(properties);
+
+        assertThat(cacheManager.getCache(CacheConfig.CATEGORY_LIST)).isInstanceOf(NoOpCache.class);
+        assertThat(cacheManager.getCache(CacheConfig.BOOKS)).isInstanceOf(CaffeineCache.class);
+    }
+
+    @Test
+    @DisplayName("Region spec bounds the cache size")
+    void cacheManager_regionSpecIsApplied() {
+        CatalogCacheProperties properties = new CatalogCacheProperties();
+        CatalogCacheProperties.Region books = new CatalogCacheProperties.Region();
+        books.setSpec("maximumSize=2");
+        properties.getRegions().put(CacheConfig.BOOKS, books);
+
+        CaffeineCache cache = (CaffeineCache) createCacheManager(properties)
+                .getCache(CacheConfig.BOOKS);
+        for (long id = 0; id < 10; id++) {
+            cache.put(id, "book-" + id);
+        }
+        cache.getNativeCache().cleanUp();
+
+        assertThat(cache.getNativeCache().estimatedSize()).isLessThanOrEqualTo(2);
+        assertThat(cache.getNativeCache().stats().evictionCount()).isPositive();
+    }
+
+    private CacheManager createCacheManager(CatalogCacheProperties properties) {
+        CacheManager cacheManager = new CacheConfig().cacheManager(properties);
+        ((SimpleCacheManager) cacheManager).initializeCaches();
+        return cacheManager;
+    }
+}
@@ -0,0 +1,46 @@
+package com.book.store.app.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.book.store.app.execution.ConcurrencyLimitingDataSource;
+import com.book.store.app.execution.VirtualThreads;
+import com.book.store.app.repository.BookRepository;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:execution;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "execution.mode=virtual"
+})
+class ExecutionConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    @DisplayName("Database concurrency is limited below the pool size")
+    void virtualMode_limitsDataSource() {
+        assertThat(dataSource).isInstanceOf(ConcurrencyLimitingDataSource.class);
+        ConcurrencyLimitingDataSource limited = (ConcurrencyLimitingDataSource) dataSource;
+
+        bookRepository.count();
+
+        assertThat(limited.getMaxConcurrency()).isEqualTo(2);
+        assertThat(limited.getActive()).isZero();
+    }
+
+    @Test
+    @DisplayName("Virtual threads are detected from the running JVM")
+    void virtualThreads_supportMatchesRuntime() {
+        assertThat(VirtualThreads.isSupported()).isEqualTo(Runtime.version().feature() >= 21);
+        assertThat(VirtualThreads.newThreadPerTaskExecutor("test-").isPresent())
+                .isEqualTo(VirtualThreads.isSupported());
+    }
+}
@@ -12,12 +12,16 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.book.store.app.dto.BookDto;
+import com.book.store.app.dto.BookFacetsDto;
 import com.book.store.app.dto.BookSearchParametersDto;
+import com.book.store.app.dto.BookSliceDto;
 import com.book.store.app.dto.CreateBookRequestDto;
+import com.book.store.app.dto.FacetedBookPageDto;
 import com.book.store.app.service.BookService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -180,7 +184,7 @@ class BookControllerTest {
                 "coverS.jpg", Set.of());
         Page<BookDto> page = new PageImpl<>(List.of(dto));
 
-        BookSearchParametersDto searchParams = new BookSearchParametersDto(
+        BookSearchParametersDto searchParams = BookSearchParametersDto.of(
                 "SearchResult", "AuthorS", "ISBNS"
         );
 
@@ -200,6 +204,128 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.content[0].title", is("SearchResult")));
     }
 
+    @Test
+    @DisplayName("GET /api/books/search?facets=true binds filters and returns facet counts")
+    @WithMockUser(roles = "USER")
+    void searchBooksWithFacets_asUser() throws Exception {
+        BookDto dto = new BookDto(6L, "SearchResult", "AuthorS",
+                "ISBNS", new BigDecimal("9.99"), "DescS",
+                "coverS.jpg", Set.of(2L));
+        BookSearchParametersDto searchParams = new BookSearchParametersDto(null, null, null,
+                Set.of(2L, 3L), new BigDecimal("5"), new BigDecimal("20"), "A");
+        BookFacetsDto facets = new BookFacetsDto(Map.of(2L, 1L),
+                Map.of("0-10", 1L), Map.of("A", 1L));
+        Mockito.when(bookService.searchWithFacets(eq(searchParams), any(Pageable.class)))
+                .thenReturn(new FacetedBookPageDto(new PageImpl<>(List.of(dto)), facets));
+
+        mockMvc.perform(get("/api/books/search")
+                        .param("facets", "true")
+                        .param("categoryIds", "2", "3")
+                        .param("minPrice", "5")
+                        .param("maxPrice", "20")
+                        .param("authorInitial", "A"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books.content[0].id", is(6)))
+                .andExpect(jsonPath("$.facets.categories['2']", is(1)))
+                .andExpect(jsonPath("$.facets.priceRanges['0-10']", is(1)))
+                .andExpect(jsonPath("$.facets.authorInitials.A", is(1)));
+    }
+
+    @Test
+    @DisplayName("GET /api/books?after= returns a keyset slice (role=USER)")
+    @WithMockUser(roles = "USER")
+    void getAllBooksAfter_asUser() throws Exception {
+        BookDto dto = new BookDto(7L, "Keyset", "AuthorK",
+                "ISBNK", new BigDecimal("9.99"), "DescK",
+                "coverK.jpg", Set.of());
+        Mockito.when(bookService.findAllAfter("", 1, true))
+                .thenReturn(new BookSliceDto(List.of(dto), "next", true, 100L));
+
+        mockMvc.perform(get("/api/books")
+                        .param("after", "")
+                        .param("size", "1")
+                        .param("withTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(7)))
+                .andExpect(jsonPath("$.nextCursor", is("next")))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.approximateTotal", is(100)));
+    }
+
+    @Test
+    @DisplayName("GET /api/books?keyset=true returns the first keyset slice (role=USER)")
+    @WithMockUser(roles = "USER")
+    void getFirstSlice_asUser() throws Exception {
+        BookDto dto = new BookDto(7L, "Keyset", "AuthorK",
+                "ISBNK", new BigDecimal("9.99"), "DescK",
+                "coverK.jpg", Set.of());
+        Mockito.when(bookService.findAllAfter(null, 1, false))
+                .thenReturn(new BookSliceDto(List.of(dto), "next", true, null));
+
+        mockMvc.perform(get("/api/books")
+                        .param("keyset", "true")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(7)))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+    }
+
+    @Test
+    @DisplayName("GET /api/books/search?keyset=true&facets=true returns the first keyset slice")
+    @WithMockUser(roles = "USER")
+    void searchBooksFirstSlice_asUser() throws Exception {
+        BookSearchParametersDto searchParams = BookSearchParametersDto.of("Keyset", null, null);
+        Mockito.when(bookService.searchAfter(searchParams, null, 5))
+                .thenReturn(new BookSliceDto(List.of(), null, false, null));
+
+        mockMvc.perform(get("/api/books/search")
+                        .param("title", "Keyset")
+                        .param("keyset", "true")
+                        .param("facets", "true")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+        Mockito.verify(bookService, Mockito.never())
+                .searchWithFacets(any(BookSearchParametersDto.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /api/books/search?after=... returns a keyset slice (role=USER)")
+    @WithMockUser(roles = "USER")
+    void searchBooksAfter_asUser() throws Exception {
+        BookSearchParametersDto searchParams = BookSearchParametersDto.of("Keyset", null, null);
+        Mockito.when(bookService.searchAfter(searchParams, "cursor", 10))
+                .thenReturn(new BookSliceDto(List.of(), null, false, null));
+
+        mockMvc.perform(get("/api/books/search")
+                        .param("title", "Keyset")
+                        .param("after", "cursor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+    }
+
+    @Test
+    @DisplayName("GET /api/books/search?facets=true&after=... returns a keyset slice (role=USER)")
+    @WithMockUser(roles = "USER")
+    void searchBooksAfter_withFacetsParam_asUser() throws Exception {
+        BookSearchParametersDto searchParams = BookSearchParametersDto.of("Keyset", null, null);
+        Mockito.when(bookService.searchAfter(searchParams, "cursor", 10))
+                .thenReturn(new BookSliceDto(List.of(), null, false, null));
+
+        mockMvc.perform(get("/api/books/search")
+                        .param("title", "Keyset")
+                        .param("facets", "true")
+                        .param("after", "cursor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+        Mockito.verify(bookService, Mockito.never())
+                .searchWithFacets(any(BookSearchParametersDto.class), any(Pageable.class));
+    }
+
     @Test
     @DisplayName("GET /api/books without authentication returns 401")
     void getAllBooks_unauthenticated() throws Exception {
@@ -0,0 +1,124 @@
+package com.book.store.app.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.book.store.app.entity.Book;
+import com.book.store.app.repository.BookRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:book-export;DB_CLOSE_DELAY=-1",
+        "book.export.clear-interval=2"
+})
+@AutoConfigureMockMvc
+@WithMockUser(roles = "USER")
+class BookExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM books");
+        bookRepository.save(book("Plain", "Author", "EXP-1"));
+        bookRepository.save(book("Comma, \"quoted\"", "Author", "EXP-2"));
+        Book deleted = bookRepository.save(book("Gone", "Author", "EXP-3"));
+        bookRepository.delete(deleted);
+        bookRepository.save(book("Last", "Author", "EXP-4"));
+    }
+
+    @Test
+    @DisplayName("GET /api/books/export streams one JSON document per non-deleted book")
+    void export_ndjson() throws Exception {
+        String body = mockMvc.perform(get("/api/books/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(3);
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertThat(second.get("title").asText()).isEqualTo("Comma, \"quoted\"");
+        assertThat(second.get("price").decimalValue()).isEqualByComparingTo("9.99");
+        assertThat(objectMapper.readTree(lines[2]).get("isbn").asText()).isEqualTo("EXP-4");
+    }
+
+    @Test
+    @DisplayName("GET /api/books/export?format=csv quotes fields that need it")
+    void export_csv() throws Exception {
+        String body = mockMvc.perform(get("/api/books/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"books.csv\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).isEqualTo("id,title,author,isbn,price,description,coverImage");
+        assertThat(lines[2]).contains(",\"Comma, \"\"quoted\"\"\",Author,EXP-2,9.99,,");
+    }
+
+    @Test
+    @DisplayName("GET /api/books/export compresses the stream when gzip is accepted")
+    void export_gzip() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/books/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(gunzip(body).split("\n")).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("GET /api/books/export rejects unknown formats")
+    void export_unknownFormat() throws Exception {
+        mockMvc.perform(get("/api/books/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Book book(String title, String author, String isbn) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setIsbn(isbn);
+        book.setPrice(new BigDecimal("9.99"));
+        return book;
+    }
+}
@@ -0,0 +1,152 @@
+package com.book.store.app.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.book.store.app.dto.BookSearchParametersDto;
+import com.book.store.app.search.BookSearchEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:book-import;DB_CLOSE_DELAY=-1",
+        "book.bulk.validation-parallelism=4"
+})
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class BookImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookSearchEngine bookSearchEngine;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM books_categories");
+        jdbcTemplate.update("DELETE FROM books");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("INSERT INTO categories (name, deleted) VALUES ('Fantasy', false)");
+        categoryId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM categories", Long.class);
+        jdbcTemplate.update("INSERT INTO books (title, author, isbn, price, stock, deleted) "
+                + "VALUES ('Existing', 'Author', 'EXISTING', 5, 0, false)");
+    }
+
+    @Test
+    @DisplayName("POST /api/books/bulk imports valid NDJSON rows and reports the rest")
+    void importNdjson_reportsRejectedRows() throws Exception {
+        String body = String.join("\n",
+                "{\"title\":\"Imported Dragon\",\"author\":\"A\",\"isbn\":\"BULK-1\","
+                        + "\"price\":10,\"stock\":3,\"categoryIds\":[" + categoryId + "]}",
+                "{\"title\":\"Copy\",\"author\":\"A\",\"isbn\":\"BULK-1\",\"price\":10}",
+                "{\"title\":\"Clash\",\"author\":\"A\",\"isbn\":\"EXISTING\",\"price\":10}",
+                "{\"author\":\"A\",\"isbn\":\"BULK-4\",\"price\":10}",
+                "{\"title\":\"Broken\"",
+                "",
+                "{\"title\":\"Lost\",\"author\":\"A\",\"isbn\":\"BULK-6\",\"price\":10,"
+                        + "\"categoryIds\":[999999]}",
+                "{\"title\":\"Second Dragon\",\"author\":\"B\",\"isbn\":\"BULK-7\","
+                        + "\"price\":12.5}");
+
+        mockMvc.perform(post("/api/books/bulk")
+                        .param("chunkSize", "2")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(7)))
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.rejected", is(5)))
+                .andExpect(jsonPath("$.chunks", is(4)))
+                .andExpect(jsonPath("$.errorsTruncated", is(false)))
+                .andExpect(jsonPath("$.errors[*].row", contains(2, 3, 4, 5, 6)))
+                .andExpect(jsonPath("$.errors[0].errors[0]", is("isbn: ISBN already exists")))
+                .andExpect(jsonPath("$.errors[2].errors", hasItem("title: Title is required")))
+                .andExpect(jsonPath("$.errors[3].errors[0]", containsString("Malformed JSON")))
+                .andExpect(jsonPath("$.errors[4].errors[0]",
+                        is("categoryIds: unknown categories [999999]")));
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT stock FROM books WHERE isbn = 'BULK-1'", Integer.class)).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForList("SELECT bc.category_id FROM books_categories bc "
+                + "JOIN books b ON b.id = bc.book_id WHERE b.isbn = 'BULK-1'", Long.class))
+                .containsExactly(categoryId);
+        assertThat(bookSearchEngine.search(BookSearchParametersDto.of("dragon", null, null),
+                PageRequest.of(0, 10)).getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("POST /api/books/bulk accepts ISBNs from a failed chunk in a later chunk")
+    void importNdjson_failedChunkReleasesIsbns() throws Exception {
+        String body = String.join("\n",
+                "{\"title\":\"Retry\",\"author\":\"A\",\"isbn\":\"RETRY-1\",\"price\":10}",
+                "{\"title\":\"Overflow\",\"author\":\"A\",\"isbn\":\"RETRY-2\","
+                        + "\"price\":1e20}",
+                "{\"title\":\"Retry\",\"author\":\"A\",\"isbn\":\"RETRY-1\",\"price\":10}");
+
+        mockMvc.perform(post("/api/books/bulk")
+                        .param("chunkSize", "2")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(3)))
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.rejected", is(2)));
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM books WHERE isbn = 'RETRY-1'", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("POST /api/books/bulk parses quoted CSV fields and category lists")
+    void importCsv_quotedFields() throws Exception {
+        String body = "title,author,isbn,price,description,cover_image,stock,categoryIds\r\n"
+                + "\"Tales, \"\"Collected\"\"\",Author,CSV-1,9.50,\"Line one\nline two\","
+                + "cover.png,4," + categoryId + "\r\n"
+                + "Cheap,Author,CSV-2,abc,,,,\r\n";
+
+        mockMvc.perform(post("/api/books/bulk")
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(2)))
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.errors[0].row", is(2)))
+                .andExpect(jsonPath("$.errors[0].errors", hasItem("price: must be a number")));
+
+        assertThat(jdbcTemplate.queryForMap(
+                "SELECT title, description, cover_image, stock FROM books WHERE isbn = 'CSV-1'"))
+                .containsEntry("TITLE", "Tales, \"Collected\"")
+                .containsEntry("DESCRIPTION", "Line one\nline two")
+                .containsEntry("COVER_IMAGE", "cover.png")
+                .containsEntry("STOCK", 4);
+    }
+
+    @Test
+    @DisplayName("POST /api/books/bulk rejects unsupported content types")
+    void importJson_unsupported() throws Exception {
+        mockMvc.perform(post("/api/books/bulk")
+                        .contentType("application/json")
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,157 @@
+package com.book.store.app.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.book.store.app.dto.CategoryDto;
+import com.book.store.app.dto.CreateBookRequestDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.entity.Category;
+import com.book.store.app.repository.BookRepository;
+import com.book.store.app.repository.CategoryRepository;
+import com.book.store.app.service.BookService;
+import com.book.store.app.service.CategoryService;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:conditionalget;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "USER")
+class CatalogConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Category category;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new Category(null, "Fantasy", null, false,
+                Set.of(), null, null));
+        book = new Book();
+        book.setTitle("Versioned");
+        book.setAuthor("Author");
+        book.setIsbn("ETAG-" + System.nanoTime());
+        book.setPrice(new BigDecimal("10.00"));
+        book.setCategories(Set.of(category));
+        book = bookRepository.save(book);
+    }
+
+    @Test
+    @DisplayName("GET /api/books/{id} answers a matching If-None-Match with 304 after one lookup")
+    void getBookById_notModified() throws Exception {
+        String etag = etag("/api/books/" + book.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/books/{id}", book.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(content().string(""));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Updating a book changes its ETag so the stale tag gets a full response")
+    void getBookById_afterUpdate() throws Exception {
+        String etag = etag("/api/books/" + book.getId());
+
+        bookService.update(book.getId(), new CreateBookRequestDto("Renamed", "Author",
+                book.getIsbn(), new BigDecimal("12.00"), null, null, null));
+
+        mockMvc.perform(get("/api/books/{id}", book.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+        assertThat(etag("/api/books/" + book.getId())).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Deleting a category changes the ETag of the books linked to it")
+    void getBookById_afterCategoryDelete() throws Exception {
+        String etag = etag("/api/books/" + book.getId());
+
+        categoryService.deleteById(category.getId());
+
+        assertThat(etag("/api/books/" + book.getId())).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Collection endpoints share the catalog ETag until any catalog write")
+    void collections_followCatalogVersion() throws Exception {
+        String books = etag("/api/books");
+        String categories = etag("/api/categories");
+
+        assertThat(categories).isEqualTo(books);
+        mockMvc.perform(get("/api/books").param("page", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, books))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/categories").header(HttpHeaders.IF_NONE_MATCH, categories))
+                .andExpect(status().isNotModified());
+
+        categoryService.save(new CategoryDto(null, "Poetry", null));
+
+        mockMvc.perform(get("/api/categories").header(HttpHeaders.IF_NONE_MATCH, categories))
+                .andExpect(status().isOk());
+        assertThat(etag("/api/books")).isNotEqualTo(books);
+    }
+
+    @Test
+    @DisplayName("The book collection ETag is weak and varies by Accept-Encoding")
+    void books_weakEtagAcrossEncodings() throws Exception {
+        String identity = etag("/api/books");
+        String gzip = mockMvc.perform(get("/api/books")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(identity).startsWith("W/\"");
+        assertThat(gzip).isEqualTo(identity);
+        mockMvc.perform(get("/api/books").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, identity))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    private String etag(String path) throws Exception {
+        return mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
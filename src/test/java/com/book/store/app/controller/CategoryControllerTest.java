@@ -12,11 +12,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.book.store.app.dto.BookDtoWithoutCategoryIds;
+import com.book.store.app.dto.CategoryBookCountDto;
 import com.book.store.app.dto.CategoryDto;
 import com.book.store.app.service.CategoryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -24,6 +26,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -151,13 +156,49 @@ class CategoryControllerTest {
                 10L, "BookTitle", "BookAuthor", "ISBNK",
                 new BigDecimal("15.99"), "DescK", "coverK.jpg"
         );
-        Mockito.when(categoryService.getBooksByCategoryId(7L)).thenReturn(List.of(book));
+        Mockito.when(categoryService.getBooksByCategoryId(eq(7L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(book), PageRequest.of(0, 20), 1));
 
         mockMvc.perform(get("/api/categories/{id}/books", 7L))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].id", is(10)))
-                .andExpect(jsonPath("$[0].title", is("BookTitle")));
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(10)))
+                .andExpect(jsonPath("$.content[0].title", is("BookTitle")))
+                .andExpect(jsonPath("$.totalElements", is(1)));
+    }
+
+    @Test
+    @DisplayName("GET /api/categories/books intersects the requested categories (role=USER)")
+    @WithMockUser(roles = "USER")
+    void getBooksInAllCategories_asUser() throws Exception {
+        BookDtoWithoutCategoryIds book = new BookDtoWithoutCategoryIds(
+                10L, "BookTitle", "BookAuthor", "ISBNK",
+                new BigDecimal("15.99"), "DescK", "coverK.jpg"
+        );
+        Mockito.when(categoryService.getBooksInAllCategories(eq(Set.of(1L, 2L)),
+                        eq(PageRequest.of(1, 5))))
+                .thenReturn(new PageImpl<>(List.of(book), PageRequest.of(1, 5), 6));
+
+        mockMvc.perform(get("/api/categories/books")
+                        .param("categoryIds", "1", "2")
+                        .param("page", "1")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(10)))
+                .andExpect(jsonPath("$.totalElements", is(6)));
+    }
+
+    @Test
+    @DisplayName("GET /api/categories/counts returns the book count per category (role=USER)")
+    @WithMockUser(roles = "USER")
+    void getBookCounts_asUser() throws Exception {
+        Mockito.when(categoryService.getBookCounts())
+                .thenReturn(List.of(new CategoryBookCountDto(1L, 100_000L)));
+
+        mockMvc.perform(get("/api/categories/counts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].categoryId", is(1)))
+                .andExpect(jsonPath("$[0].bookCount", is(100_000)));
     }
 
     @Test
@@ -0,0 +1,88 @@
+package com.book.store.app.controller;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.book.store.app.instrumentation.PerformanceMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MetricsAdminControllerTest {
+
+    private static final String SERVER_TIMING =
+            "app;dur=\\d+\\.\\d{3}, db;dur=\\d+\\.\\d{3};desc=\"[1-9]\\d* statements\", "
+                    + "auth;dur=\\d+\\.\\d{3}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PerformanceMetrics performanceMetrics;
+
+    @BeforeEach
+    void setUp() {
+        performanceMetrics.reset();
+    }
+
+    @Test
+    @DisplayName("Controller responses carry a Server-Timing header with JDBC work")
+    @WithMockUser(roles = "USER")
+    void getBooks_addsServerTiming() throws Exception {
+        mockMvc.perform(get("/api/books"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", matchesPattern(SERVER_TIMING)));
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/metrics reports latency and statements per endpoint (ADMIN)")
+    @WithMockUser(roles = {"USER", "ADMIN"})
+    void getMetrics_asAdmin() throws Exception {
+        mockMvc.perform(get("/api/books"));
+        mockMvc.perform(get("/api/books"));
+
+        mockMvc.perform(get("/api/admin/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].endpoint", is("BookController.getAll")))
+                .andExpect(jsonPath("$[0].requests", is(2)))
+                .andExpect(jsonPath("$[0].statementsPerRequest", greaterThan(0.0)))
+                .andExpect(jsonPath("$[0].p95Ms", greaterThan(0.0)));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/admin/metrics clears the endpoints recorded before it (ADMIN)")
+    @WithMockUser(roles = "ADMIN")
+    void reset_asAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/metrics"));
+
+        mockMvc.perform(delete("/api/admin/metrics"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().exists("Server-Timing"));
+        mockMvc.perform(get("/api/admin/metrics"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].endpoint", is("MetricsAdminController.reset")));
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/metrics is forbidden for regular users")
+    @WithMockUser(roles = "USER")
+    void getMetrics_asUser() throws Exception {
+        mockMvc.perform(get("/api/admin/metrics"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,109 @@
+package com.book.store.app.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+class ConcurrencyLimitingDataSourceTest {
+
+    private DataSource target;
+    private ExecutorService otherThread;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        otherThread = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        otherThread.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Connections beyond the limit time out until one is closed")
+    void getConnection_limitReached() throws Exception {
+        ConcurrencyLimitingDataSource dataSource =
+                new ConcurrencyLimitingDataSource(target, 1, Duration.ofMillis(50));
+        final Connection first = dataSource.getConnection();
+
+        assertThat(dataSource.getActive()).isEqualTo(1);
+        assertThatThrownBy(() -> connectOnOtherThread(dataSource).get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+
+        assertThat(dataSource.getActive()).isZero();
+        assertThat(connectOnOtherThread(dataSource).get()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Nested connections on the same thread reuse the held permit")
+    void getConnection_nestedOnSameThread() throws SQLException {
+        ConcurrencyLimitingDataSource dataSource =
+                new ConcurrencyLimitingDataSource(target, 1, Duration.ofMillis(50));
+
+        final Connection outer = dataSource.getConnection();
+        Connection nested = dataSource.getConnection();
+
+        assertThat(dataSource.getActive()).isEqualTo(1);
+        nested.close();
+        assertThat(dataSource.getActive()).isEqualTo(1);
+        outer.close();
+        assertThat(dataSource.getActive()).isZero();
+    }
+
+    @Test
+    @DisplayName("Closing a connection twice releases its permit once")
+    void close_releasesOnce() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        ConcurrencyLimitingDataSource dataSource =
+                new ConcurrencyLimitingDataSource(target, 2, Duration.ofMillis(50));
+
+        Connection limited = dataSource.getConnection();
+        connectOnOtherThread(dataSource).get();
+        limited.close();
+        limited.close();
+
+        assertThat(dataSource.getActive()).isEqualTo(1);
+        assertThat(DataSourceUtils.getTargetConnection(limited)).isSameAs(connection);
+        assertThat(limited).isEqualTo(limited).isNotEqualTo(connection);
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("A failed connection attempt gives its permit back")
+    void getConnection_targetFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("down"));
+        ConcurrencyLimitingDataSource dataSource =
+                new ConcurrencyLimitingDataSource(target, 1, Duration.ofMillis(50));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("down");
+        assertThat(dataSource.getActive()).isZero();
+    }
+
+    private Future<Connection> connectOnOtherThread(DataSource dataSource) {
+        return otherThread.submit(() -> dataSource.getConnection());
+    }
+}
@@ -0,0 +1,46 @@
+package com.book.store.app.instrumentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Percentiles stay within the bucket precision")
+    void percentiles_withinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        assertThat(histogram.count()).isEqualTo(1000);
+        assertThat(histogram.meanMillis()).isCloseTo(500.5, within(0.01));
+        assertThat(histogram.percentileMillis(50)).isCloseTo(500, within(500 * 0.125));
+        assertThat(histogram.percentileMillis(99)).isCloseTo(990, within(990 * 0.125));
+        assertThat(histogram.percentileMillis(100)).isEqualTo(1000);
+        assertThat(histogram.maxMillis()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Every value falls inside the bounds of its bucket")
+    void bucket_containsValue() {
+        for (long micros : new long[] {0, 7, 8, 15, 16, 17, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucket(micros);
+            assertThat(LatencyHistogram.upperBound(bucket)).isGreaterThanOrEqualTo(micros);
+            assertThat(bucket == 0 || LatencyHistogram.upperBound(bucket - 1) < micros).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("An empty histogram reports zeros")
+    void empty_reportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.percentileMillis(95)).isZero();
+        assertThat(histogram.meanMillis()).isZero();
+    }
+}
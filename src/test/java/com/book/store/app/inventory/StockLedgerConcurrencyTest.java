@@ -0,0 +1,235 @@
+package com.book.store.app.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.book.store.app.entity.Book;
+import com.book.store.app.entity.StockAllotment;
+import com.book.store.app.execution.VirtualThreads;
+import com.book.store.app.repository.BookRepository;
+import com.book.store.app.repository.StockAllotmentRepository;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stock-ledger;DB_CLOSE_DELAY=-1",
+        "inventory.ledger.chunk-size=25"
+})
+class StockLedgerConcurrencyTest {
+
+    private static final int BUYERS = 800;
+    private static final int STOCK = 500;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private StockStore stockStore;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private StockAllotmentRepository allotmentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Hundreds of concurrent buyers on one title never oversell")
+    void concurrentBuyers_neverOversell() throws Exception {
+        Long bookId = saveBook(STOCK);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        ExecutorService buyers = buyers();
+        for (int i = 0; i < BUYERS; i++) {
+            results.add(buyers.submit(() -> {
+                start.await();
+                return stockLedger.reserve(bookId, 1);
+            }));
+        }
+        start.countDown();
+        buyers.shutdown();
+        assertThat(buyers.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        long sold = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                sold++;
+            }
+        }
+        stockLedger.reconcileAll();
+
+        assertThat(sold).isEqualTo(STOCK);
+        assertThat(stockLedger.available(bookId)).isZero();
+        assertThat(bookRepository.findStockById(bookId)).contains(0);
+    }
+
+    @Test
+    @DisplayName("Unused allotment and released reservations return to the database")
+    void reconcile_returnsUnusedStock() {
+        Long bookId = saveBook(40);
+
+        assertThat(stockLedger.reserve(bookId, 3)).isTrue();
+        assertThat(bookRepository.findStockById(bookId)).contains(15);
+        assertThat(stockLedger.available(bookId)).isEqualTo(22);
+
+        stockLedger.release(bookId, 3);
+        stockLedger.reconcileAll();
+
+        assertThat(stockLedger.available(bookId)).isZero();
+        assertThat(bookRepository.findStockById(bookId)).contains(40);
+    }
+
+    @Test
+    @DisplayName("Restocking counts units already allotted to the ledger")
+    void restock_countsAllottedStock() {
+        Long bookId = saveBook(40);
+        assertThat(stockLedger.reserve(bookId, 3)).isTrue();
+
+        stockLedger.restock(bookId, 30);
+
+        assertThat(bookRepository.findStockById(bookId)).contains(8);
+        stockLedger.reconcileAll();
+        assertThat(bookRepository.findStockById(bookId)).contains(30);
+    }
+
+    @Test
+    @DisplayName("Restocking below the allotted units shrinks the allotment")
+    void restock_belowAllotment() {
+        Long bookId = saveBook(40);
+        assertThat(stockLedger.reserve(bookId, 3)).isTrue();
+
+        stockLedger.restock(bookId, 5);
+
+        assertThat(stockLedger.available(bookId)).isEqualTo(5);
+        assertThat(bookRepository.findStockById(bookId)).contains(0);
+        stockLedger.reconcileAll();
+        assertThat(bookRepository.findStockById(bookId)).contains(5);
+    }
+
+    @Test
+    @DisplayName("A slow database claim does not block other titles on the same stripe")
+    void slowClaim_doesNotHoldStripe() throws Exception {
+        CountDownLatch claiming = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        StockStore slowStore = new StockStore(null, null, "slow") {
+            @Override
+            public int claim(Long bookId, int preferred, int minimum) {
+                claiming.countDown();
+                try {
+                    proceed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return preferred;
+            }
+
+            @Override
+            public void record(Map<Long, Integer> quantities) {
+            }
+        };
+        StockLedger ledger = new StockLedger(slowStore, Clock.systemUTC(), 10, 1,
+                Duration.ofSeconds(30), Duration.ofSeconds(1));
+        ledger.release(2L, 5);
+        ExecutorService buyer = Executors.newSingleThreadExecutor();
+
+        final Future<Boolean> slow = buyer.submit(() -> ledger.reserve(1L, 1));
+        assertThat(claiming.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> other = CompletableFuture.supplyAsync(
+                () -> ledger.reserve(2L, 1));
+
+        assertThat(other.get(5, TimeUnit.SECONDS)).isTrue();
+        proceed.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ledger.available(1L)).isEqualTo(9);
+        buyer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Units allotted before a crash return to the catalog when the node restarts")
+    void crash_recoversAllottedStock() {
+        Long bookId = saveBook(40);
+        StockLedger crashed = new StockLedger(stockStore, Clock.systemUTC(), 25, 4,
+                Duration.ofSeconds(30), Duration.ofSeconds(1));
+
+        assertThat(crashed.reserve(bookId, 3)).isTrue();
+        assertThat(bookRepository.findStockById(bookId)).contains(15);
+        assertThat(allotted(bookId)).isEqualTo(22);
+
+        new StockLedger(stockStore, Clock.systemUTC(), 25, 4,
+                Duration.ofSeconds(30), Duration.ofSeconds(1)).recover();
+
+        assertThat(bookRepository.findStockById(bookId)).contains(37);
+        assertThat(allotted(bookId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Reservations reach the recorded allotment only when their transaction commits")
+    void reservation_recordedWithTransaction() {
+        Long bookId = saveBook(40);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(stockLedger.reserve(bookId, 3)).isTrue();
+            stockLedger.releaseOnRollback(Map.of(bookId, 3));
+            status.setRollbackOnly();
+        });
+        assertThat(stockLedger.available(bookId)).isEqualTo(25);
+        assertThat(allotted(bookId)).isEqualTo(25);
+
+        transactionTemplate.executeWithoutResult(status ->
+                assertThat(stockLedger.reserve(bookId, 4)).isTrue());
+        assertThat(allotted(bookId)).isEqualTo(21);
+
+        stockLedger.reconcileAll();
+        assertThat(allotted(bookId)).isZero();
+        assertThat(bookRepository.findStockById(bookId)).contains(36);
+    }
+
+    @Test
+    @DisplayName("Claim takes the remaining stock when a full chunk is not available")
+    void claim_takesRemainder() {
+        Long bookId = saveBook(7);
+
+        assertThat(stockStore.claim(bookId, 25, 2)).isEqualTo(7);
+        assertThat(stockStore.claim(bookId, 25, 1)).isZero();
+        assertThat(bookRepository.findStockById(bookId)).contains(0);
+    }
+
+    private int allotted(Long bookId) {
+        return allotmentRepository.findAll().stream()
+                .filter(allotment -> allotment.getBookId().equals(bookId))
+                .mapToInt(StockAllotment::getQuantity)
+                .sum();
+    }
+
+    private Long saveBook(int stock) {
+        Book book = new Book();
+        book.setTitle("Bestseller");
+        book.setAuthor("Author");
+        book.setIsbn("STOCK-" + System.nanoTime());
+        book.setPrice(new BigDecimal("9.99"));
+        book.setStock(stock);
+        return bookRepository.save(book).getId();
+    }
+
+    private static ExecutorService buyers() {
+        return VirtualThreads.newThreadPerTaskExecutor("buyer-")
+                .orElseGet(() -> Executors.newFixedThreadPool(200));
+    }
+}
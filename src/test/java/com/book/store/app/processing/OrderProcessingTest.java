@@ -0,0 +1,358 @@
+package com.book.store.app.processing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.book.store.app.dto.OrderRequestDto;
+import com.book.store.app.dto.OrderResponseDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.entity.CartItem;
+import com.book.store.app.entity.Order;
+import com.book.store.app.entity.OrderItem;
+import com.book.store.app.entity.OrderOutboxEvent;
+import com.book.store.app.entity.RoleName;
+import com.book.store.app.entity.ShoppingCart;
+import com.book.store.app.entity.User;
+import com.book.store.app.event.OrderStatusChangedEvent;
+import com.book.store.app.exception.InvalidOrderStatusException;
+import com.book.store.app.inventory.StockLedger;
+import com.book.store.app.repository.BookRepository;
+import com.book.store.app.repository.OrderOutboxRepository;
+import com.book.store.app.repository.OrderRepository;
+import com.book.store.app.repository.ShoppingCartRepository;
+import com.book.store.app.repository.UserRepository;
+import com.book.store.app.security.CustomUserDetails;
+import com.book.store.app.service.OrderService;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:order-processing;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "order.processing.enabled=true",
+        "order.processing.poll-interval=PT0.05S",
+        "execution.db.max-concurrency=4"
+})
+class OrderProcessingTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderStatusNotifier statusNotifier;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ShoppingCartRepository cartRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderOutboxRepository outboxRepository;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private OrderProcessor orderProcessor;
+
+    @Autowired
+    private StatusChangeHook statusChangeHook;
+
+    private User user;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User(null, "worker-" + System.nanoTime() + "@example.com",
+                "secret", "Worker", "User", "Street 1", Set.of()));
+        book = new Book();
+        book.setTitle("Queued Book");
+        book.setAuthor("Author");
+        book.setIsbn("QUEUE-" + System.nanoTime());
+        book.setPrice(new BigDecimal("15.00"));
+        book.setStock(3);
+        book = bookRepository.save(book);
+
+        CustomUserDetails principal = new CustomUserDetails(user.getId(), user.getEmail(), null,
+                Set.of(RoleName.ROLE_USER));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null,
+                        principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        statusChangeHook.set(null);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Accepted order is completed by the background worker")
+    void placeOrder_completedByWorker() throws InterruptedException {
+        ShoppingCart cart = new ShoppingCart();
+        cart.setUser(user);
+        CartItem item = new CartItem();
+        item.setShoppingCart(cart);
+        item.setBook(book);
+        item.setQuantity(2);
+        cart.getCartItems().add(item);
+        cartRepository.save(cart);
+
+        OrderRequestDto request = new OrderRequestDto();
+        request.setShippingAddress("Street 1");
+        OrderResponseDto accepted = orderService.placeOrder(request);
+
+        assertThat(accepted.getStatus()).isEqualTo(Order.Status.PENDING.name());
+        assertThat(awaitStatus(accepted.getId(), Order.Status.COMPLETED::equals))
+                .isEqualTo(Order.Status.COMPLETED);
+        assertThat(outboxRepository.findAll())
+                .filteredOn(event -> event.getOrderId().equals(accepted.getId()))
+                .extracting(OrderOutboxEvent::getState)
+                .containsExactly(OrderOutboxEvent.State.DONE);
+    }
+
+    @Test
+    @DisplayName("Worker cancels an order that exceeds the available stock")
+    void outOfStock_cancelledByWorker() throws InterruptedException {
+        ShoppingCart cart = new ShoppingCart();
+        cart.setUser(user);
+        CartItem item = new CartItem();
+        item.setShoppingCart(cart);
+        item.setBook(book);
+        item.setQuantity(4);
+        cart.getCartItems().add(item);
+        cartRepository.save(cart);
+
+        OrderRequestDto request = new OrderRequestDto();
+        request.setShippingAddress("Street 1");
+        OrderResponseDto accepted = orderService.placeOrder(request);
+
+        assertThat(awaitStatus(accepted.getId(), Order.Status::isTerminal))
+                .isEqualTo(Order.Status.CANCELLED);
+        assertThat(bookRepository.findStockById(book.getId())).contains(3);
+    }
+
+    @Test
+    @DisplayName("Worker cancels an order whose total does not match its items, keeping stock")
+    void totalMismatch_cancelledByWorker() throws InterruptedException {
+        Order order = new Order();
+        order.setUser(user);
+        order.setStatus(Order.Status.PENDING);
+        order.setOrderDate(LocalDateTime.now());
+        order.setShippingAddress("Street 1");
+        order.setTotal(new BigDecimal("1.00"));
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setBook(book);
+        item.setQuantity(1);
+        item.setPrice(book.getPrice());
+        order.getOrderItems().add(item);
+        Order saved = orderRepository.save(order);
+        outboxRepository.save(new OrderOutboxEvent(saved.getId(),
+                OrderOutboxEvent.Type.ORDER_PLACED, LocalDateTime.now()));
+
+        assertThat(awaitStatus(saved.getId(), Order.Status::isTerminal))
+                .isEqualTo(Order.Status.CANCELLED);
+        stockLedger.reconcileAll();
+        assertThat(bookRepository.findStockById(book.getId())).contains(3);
+    }
+
+    @Test
+    @DisplayName("Only claims older than the claim timeout are released back to PENDING")
+    void releaseExpiredClaims_keepsLiveClaims() {
+        OrderOutboxEvent live = claimedEvent(LocalDateTime.now().minusSeconds(5));
+        OrderOutboxEvent expired = claimedEvent(LocalDateTime.now().minusMinutes(10));
+
+        assertThat(orderProcessor.releaseExpiredClaims()).isEqualTo(1);
+
+        assertThat(outboxRepository.findById(live.getId()).orElseThrow())
+                .extracting(OrderOutboxEvent::getState, OrderOutboxEvent::getClaimedAt)
+                .containsExactly(OrderOutboxEvent.State.PROCESSING, live.getClaimedAt());
+        assertThat(outboxRepository.findById(expired.getId()).orElseThrow().getClaimedAt())
+                .isNotEqualTo(expired.getClaimedAt());
+    }
+
+    @Test
+    @DisplayName("Status updates follow the allowed transitions and reach subscribers")
+    void updateOrderStatus_validatesTransitions() throws InterruptedException {
+        Order order = new Order();
+        order.setUser(user);
+        order.setStatus(Order.Status.COMPLETED);
+        order.setOrderDate(LocalDateTime.now());
+        order.setShippingAddress("Street 1");
+        order.setTotal(BigDecimal.ZERO);
+        Long orderId = orderRepository.save(order).getId();
+
+        orderService.streamStatus(orderId);
+        assertThat(statusNotifier.subscriberCount(orderId)).isEqualTo(1);
+
+        assertThrows(InvalidOrderStatusException.class,
+                () -> orderService.updateOrderStatus(orderId, "PENDING"));
+        assertThrows(InvalidOrderStatusException.class,
+                () -> orderService.updateOrderStatus(orderId, "LOST"));
+
+        OrderResponseDto delivered = orderService.updateOrderStatus(orderId, "DELIVERED");
+
+        assertThat(delivered.getStatus()).isEqualTo(Order.Status.DELIVERED.name());
+        assertThat(statusNotifier.subscriberCount(orderId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Two workers processing a re-claimed event reserve its stock once")
+    void reclaimedEvent_processedOnce() throws Exception {
+        OrderOutboxEvent event = claimedEvent(pendingOrder(), LocalDateTime.now());
+        CountDownLatch bothInside = new CountDownLatch(2);
+        statusChangeHook.set(changed -> {
+            bothInside.countDown();
+            await(bothInside);
+        });
+
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> runs = List.of(
+                    workers.submit(() -> orderProcessor.process(event.getId())),
+                    workers.submit(() -> orderProcessor.process(event.getId())));
+            for (Future<?> run : runs) {
+                run.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        assertThat(bothInside.getCount()).isEqualTo(1);
+        assertThat(orderRepository.findById(event.getOrderId()).orElseThrow().getStatus())
+                .isEqualTo(Order.Status.COMPLETED);
+        stockLedger.reconcileAll();
+        assertThat(bookRepository.findStockById(book.getId())).contains(2);
+    }
+
+    @Test
+    @DisplayName("Admin status change based on a stale read is rejected, not overwritten")
+    void updateOrderStatus_staleRead_conflicts() {
+        OrderOutboxEvent event = claimedEvent(pendingOrder(), LocalDateTime.now());
+        statusChangeHook.set(changed -> {
+            if (changed.status() == Order.Status.CANCELLED) {
+                statusChangeHook.set(null);
+                CompletableFuture.runAsync(() -> orderProcessor.process(event.getId()))
+                        .orTimeout(30, TimeUnit.SECONDS)
+                        .join();
+            }
+        });
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> orderService.updateOrderStatus(event.getOrderId(), "CANCELLED"));
+
+        assertThat(orderRepository.findById(event.getOrderId()).orElseThrow().getStatus())
+                .isEqualTo(Order.Status.COMPLETED);
+        stockLedger.reconcileAll();
+        assertThat(bookRepository.findStockById(book.getId())).contains(2);
+    }
+
+    private Order pendingOrder() {
+        Order order = new Order();
+        order.setUser(user);
+        order.setStatus(Order.Status.PENDING);
+        order.setOrderDate(LocalDateTime.now());
+        order.setShippingAddress("Street 1");
+        order.setTotal(book.getPrice());
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setBook(book);
+        item.setQuantity(1);
+        item.setPrice(book.getPrice());
+        order.getOrderItems().add(item);
+        return orderRepository.save(order);
+    }
+
+    private OrderOutboxEvent claimedEvent(LocalDateTime claimedAt) {
+        Order order = new Order();
+        order.setUser(user);
+        order.setStatus(Order.Status.COMPLETED);
+        order.setOrderDate(LocalDateTime.now());
+        order.setShippingAddress("Street 1");
+        order.setTotal(BigDecimal.ZERO);
+        return claimedEvent(orderRepository.save(order), claimedAt);
+    }
+
+    private OrderOutboxEvent claimedEvent(Order order, LocalDateTime claimedAt) {
+        OrderOutboxEvent event = new OrderOutboxEvent(order.getId(),
+                OrderOutboxEvent.Type.ORDER_PLACED, LocalDateTime.now());
+        event.setState(OrderOutboxEvent.State.PROCESSING);
+        event.setClaimedAt(claimedAt.truncatedTo(ChronoUnit.SECONDS));
+        return outboxRepository.save(event);
+    }
+
+    private Order.Status awaitStatus(Long orderId, Predicate<Order.Status> condition)
+            throws InterruptedException {
+        Order.Status status = null;
+        for (int i = 0; i < 100; i++) {
+            status = orderRepository.findById(orderId).orElseThrow().getStatus();
+            if (condition.test(status)) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        return status;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @TestConfiguration
+    static class StatusChangeHookConfig {
+        @Bean
+        StatusChangeHook statusChangeHook() {
+            return new StatusChangeHook();
+        }
+    }
+
+    static class StatusChangeHook {
+        private volatile Consumer<OrderStatusChangedEvent> hook;
+
+        void set(Consumer<OrderStatusChangedEvent> hook) {
+            this.hook = hook;
+        }
+
+        @EventListener
+        public void onStatusChanged(OrderStatusChangedEvent event) {
+            Consumer<OrderStatusChangedEvent> current = hook;
+            if (current != null) {
+                current.accept(event);
+            }
+        }
+    }
+}
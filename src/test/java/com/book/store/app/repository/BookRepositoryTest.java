@@ -4,11 +4,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.book.store.app.entity.Book;
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 
 @DataJpaTest
 class BookRepositoryTest {
@@ -53,4 +55,31 @@ class BookRepositoryTest {
         Optional<Book> foundOpt = bookRepository.findByIdAndDeletedFalse(saved.getId());
         assertThat(foundOpt).isEmpty();
     }
+
+    @Test
+    @DisplayName("findTitlePageAfter seeks past the (title, id) cursor")
+    void findTitlePageAfter_seeksByTitleAndId() {
+        Book first = saveBook("Alpha", "ISBN-3001");
+        Book second = saveBook("Beta", "ISBN-3002");
+        Book third = saveBook("Beta", "ISBN-3003");
+        Book fourth = saveBook("Gamma", "ISBN-3004");
+
+        List<Book> firstPage = bookRepository.findFirstTitlePage(PageRequest.of(0, 2));
+        List<Book> nextPage = bookRepository.findTitlePageAfter(
+                second.getTitle(), second.getId(), PageRequest.of(0, 2));
+
+        assertThat(firstPage).extracting(Book::getId)
+                .containsExactly(first.getId(), second.getId());
+        assertThat(nextPage).extracting(Book::getId)
+                .containsExactly(third.getId(), fourth.getId());
+    }
+
+    private Book saveBook(String title, String isbn) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Author");
+        book.setIsbn(isbn);
+        book.setPrice(new BigDecimal("10.00"));
+        return bookRepository.save(book);
+    }
 }
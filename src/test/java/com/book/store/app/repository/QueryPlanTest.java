@@ -0,0 +1,416 @@
+package com.book.store.app.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.book.store.app.dto.BookSearchParametersDto;
+import com.book.store.app.entity.OrderOutboxEvent;
+import com.book.store.app.entity.RoleName;
+import com.book.store.app.specification.BookSpecification;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plans;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=validate"})
+class QueryPlanTest {
+
+    private static final int BOOKS = 2000;
+    private static final int CATEGORIES = 20;
+    private static final int USERS = 100;
+    private static final int ORDERS_PER_USER = 20;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final Set<String> FULL_READS = Set.of(
+            "BookRepository.findByDeletedFalse",
+            "BookRepository.countBooksByCategory");
+
+    private static final Sort HISTORY_SORT = Sort.by(Sort.Direction.DESC, "orderDate", "id");
+    private static final String EMAIL = "user150@example.com";
+    private static final Pattern TABLE_SCAN = Pattern.compile(
+            "\"?PUBLIC\"?\\.\"?(\\w+)\"? \"?(\\w+)\"?\\s*/\\* PUBLIC\\.\\w+\\.tableScan");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StatementCapture statementCapture;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderOutboxRepository orderOutboxRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Autowired
+    private StockAllotmentRepository stockAllotmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    static Stream<Arguments> queryShapes() {
+        return Stream.of(
+                shape("BookRepository.findByIdAndDeletedFalse", "primary_key_",
+                        test -> test.bookRepository.findByIdAndDeletedFalse(7L)),
+                shape("BookRepository.findByIdGreaterThanOrderByIdAsc", "primary_key_",
+                        test -> test.bookRepository.findByIdGreaterThanOrderByIdAsc(700L,
+                                PageRequest.of(0, 20))),
+                shape("BookRepository.findFirstTitlePage", "idx_books_title_id",
+                        test -> test.bookRepository.findFirstTitlePage(PageRequest.of(0, 21))),
+                shape("BookRepository.findTitlePageAfter", "idx_books_title_id",
+                        test -> test.bookRepository.findTitlePageAfter("Title 0500", 500L,
+                                PageRequest.of(0, 21))),
+                shape("BookRepository.findPageByCategoryId", "idx_books_categories_category_book",
+                        test -> test.bookRepository.findPageByCategoryId(3L,
+                                PageRequest.of(0, 20))),
+                shape("BookRepository.findIdsByCategoryId", "idx_books_categories_category_book",
+                        test -> test.bookRepository.findIdsByCategoryId(3L)),
+                shape("BookRepository.findCategoryLinks", "primary_key_",
+                        test -> test.bookRepository.findCategoryLinks(List.of(10L, 11L, 12L))),
+                shape("BookRepository.findCategoryLinksAfter", "primary_key_",
+                        test -> test.bookRepository.findCategoryLinksAfter(1500L, 4L,
+                                PageRequest.of(0, 100))),
+                shape("BookRepository.findVersionById", "primary_key_",
+                        test -> test.bookRepository.findVersionById(7L)),
+                shape("BookRepository.incrementVersions", "primary_key_",
+                        test -> test.bookRepository.incrementVersions(List.of(10L, 11L, 12L))),
+                shape("BookRepository.findStockById", "primary_key_",
+                        test -> test.bookRepository.findStockById(7L)),
+                shape("BookRepository.decrementStock", "primary_key_",
+                        test -> test.bookRepository.decrementStock(7L, 1)),
+                shape("BookRepository.adjustStock", "primary_key_",
+                        test -> test.bookRepository.adjustStock(7L, 1)),
+                shape("BookSpecification.categoryIds", "idx_books_categories_category_book",
+                        test -> test.bookRepository.findAll(BookSpecification.withSearchParams(
+                                new BookSearchParametersDto(null, null, null, Set.of(3L),
+                                        null, null, null)), PageRequest.of(0, 20))),
+                shape("BookSpecification.priceRange", "idx_books_price",
+                        test -> test.bookRepository.findAll(BookSpecification.withSearchParams(
+                                new BookSearchParametersDto(null, null, null, null,
+                                        BigDecimal.TEN, new BigDecimal("12"), null)),
+                                PageRequest.of(0, 20))),
+                shape("CartItemRepository.findAllWithBookByCartId", "_cart_items_cart_",
+                        test -> test.cartItemRepository.findAllWithBookByCartId(150L)),
+                shape("CartItemRepository.findDtoByCartIdAndBookId", "uk_cart_items_cart_book",
+                        test -> test.cartItemRepository.findDtoByCartIdAndBookId(150L, 7L)),
+                shape("CartItemRepository.findDtoById", "primary_key_",
+                        test -> test.cartItemRepository.findDtoById(1500L)),
+                shape("CartItemRepository.updateQuantity", "_cart_items_cart_",
+                        test -> test.cartItemRepository.updateQuantity(1500L, 150L, 2)),
+                shape("CartItemRepository.deleteByIdAndUserId", "_cart_items_cart_",
+                        test -> test.cartItemRepository.deleteByIdAndUserId(1500L, 150L)),
+                shape("CartItemRepository.deleteAllByCartId", "_cart_items_cart_",
+                        test -> test.cartItemRepository.deleteAllByCartId(150L)),
+                shape("CartItemRepository.upsert", "_cart_items_",
+                        test -> test.cartItemRepository.upsert(150L, 7L, 1)),
+                shape("CategoryRepository.findVersionById", "primary_key_",
+                        test -> test.categoryRepository.findVersionById(3L)),
+                shape("OrderItemRepository.findAllByOrderId", "fk_order_items_order_",
+                        test -> test.orderItemRepository.findAllByOrderId(3000L)),
+                shape("OrderOutboxRepository.findIdsByState", "idx_order_outbox_state_id",
+                        test -> test.orderOutboxRepository.findIdsByState(
+                                OrderOutboxEvent.State.PENDING, PageRequest.of(0, 50))),
+                shape("OrderOutboxRepository.findForUpdateById", "primary_key_",
+                        test -> test.orderOutboxRepository.findForUpdateById(15L)),
+                shape("OrderOutboxRepository.claim", "idx_order_outbox_state_id",
+                        test -> test.orderOutboxRepository.claim(15L, START)),
+                shape("OrderOutboxRepository.release", "idx_order_outbox_state_id",
+                        test -> test.orderOutboxRepository.release(15L)),
+                shape("OrderOutboxRepository.releaseClaimedBefore", "idx_order_outbox_state_id",
+                        test -> test.orderOutboxRepository.releaseClaimedBefore(START)),
+                shape("OrderRepository.findIdsByUserId", "idx_orders_user_date_id",
+                        test -> test.orderRepository.findIdsByUserId(150L,
+                                PageRequest.of(0, 10, HISTORY_SORT))),
+                shape("OrderRepository.findAllByIdIn", "primary_key_",
+                        test -> test.orderRepository.findAllByIdIn(
+                                List.of(3000L, 3001L, 3002L), HISTORY_SORT)),
+                shape("OrderRepository.findWithItemsById", "primary_key_",
+                        test -> test.orderRepository.findWithItemsById(3000L)),
+                shape("RoleRepository.findByName", "constraint_index_",
+                        test -> test.roleRepository.findByName(RoleName.ROLE_USER)),
+                shape("ShoppingCartRepository.findByUserId", "constraint_index_",
+                        test -> test.shoppingCartRepository.findByUserId(150L)),
+                shape("ShoppingCartRepository.findIdByUserId", "constraint_index_",
+                        test -> test.shoppingCartRepository.findIdByUserId(150L)),
+                shape("StockAllotmentRepository.findAllByNode", "uk_stock_allotments_node_book",
+                        test -> test.stockAllotmentRepository.findAllByNode("node-3")),
+                shape("StockAllotmentRepository.deleteAllOfNode", "uk_stock_allotments_node_book",
+                        test -> test.stockAllotmentRepository.deleteAllOfNode("node-3")),
+                shape("StockAllotmentRepository.add", "_stock_allotments_",
+                        test -> test.stockAllotmentRepository.add(7L, "node-3", 1)),
+                shape("UserRepository.existsByEmail", "constraint_index_",
+                        test -> test.userRepository.existsByEmail(EMAIL)),
+                shape("UserRepository.findByEmail", "constraint_index_",
+                        test -> test.userRepository.findByEmail(EMAIL)),
+                shape("UserRepository.findIdByEmail", "constraint_index_",
+                        test -> test.userRepository.findIdByEmail(EMAIL)),
+                shape("UserRepository.updatePassword", "constraint_index_",
+                        test -> test.userRepository.updatePassword(EMAIL, "hash")));
+    }
+
+    @BeforeEach
+    void seed() {
+        Integer books = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Integer.class);
+        if (books != null && books > 0) {
+            return;
+        }
+        seedCatalog();
+        seedOrders();
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queryShapes")
+    @DisplayName("Hot repository queries are served by their covering index")
+    void hotQuery_usesIndex(String query, String index, Consumer<QueryPlanTest> invocation) {
+        List<String> plans = capture(invocation).stream()
+                .map(this::explain)
+                .toList();
+
+        assertThat(plans).as(query).isNotEmpty();
+        for (String plan : plans) {
+            assertThat(plan).withFailMessage("%s scans a table:%n%s%nProposed changeset:%n%s",
+                    query, plan, proposeIndex(query, plan))
+                    .doesNotContainIgnoringCase("tableScan");
+        }
+        assertThat(plans).as(query).anyMatch(plan -> plan.toLowerCase(Locale.ROOT)
+                .contains(index.toLowerCase(Locale.ROOT)));
+    }
+
+    @Test
+    @DisplayName("Every repository query method has a verified plan")
+    void everyRepositoryQuery_hasPlan() {
+        Set<String> covered = queryShapes()
+                .map(arguments -> (String) arguments.get()[0])
+                .collect(Collectors.toCollection(TreeSet::new));
+        covered.addAll(FULL_READS);
+        Set<String> declared = new TreeSet<>();
+        Repositories repositories = new Repositories(applicationContext);
+        for (Class<?> domainType : repositories) {
+            Class<?> repository = repositories.getRequiredRepositoryInformation(domainType)
+                    .getRepositoryInterface();
+            for (Method method : repository.getDeclaredMethods()) {
+                if (!method.isSynthetic()) {
+                    declared.add(repository.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+
+        assertThat(covered).containsAll(declared);
+    }
+
+    private static Arguments shape(String query, String index,
+                                   Consumer<QueryPlanTest> invocation) {
+        return Arguments.of(query, index, invocation);
+    }
+
+    private List<String> capture(Consumer<QueryPlanTest> invocation) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            status.setRollbackOnly();
+            statementCapture.start();
+            try {
+                invocation.accept(this);
+            } finally {
+                statementCapture.stop();
+            }
+            return statementCapture.statements();
+        });
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatement statement) -> {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        });
+    }
+
+    private static String proposeIndex(String query, String plan) {
+        StringBuilder changeset = new StringBuilder();
+        Matcher scan = TABLE_SCAN.matcher(plan);
+        while (scan.find()) {
+            String table = scan.group(1).toLowerCase(Locale.ROOT);
+            Set<String> columns = new LinkedHashSet<>();
+            Matcher column = Pattern.compile("\\b" + scan.group(2) + "\"?\\.\"?(\\w+)")
+                    .matcher(plan.substring(scan.end()));
+            while (column.find()) {
+                columns.add(column.group(1).toLowerCase(Locale.ROOT));
+            }
+            changeset.append("- changeSet:\n")
+                    .append("    id: index-").append(query).append('\n')
+                    .append("    author: Mateusz\n")
+                    .append("    changes:\n")
+                    .append("      - createIndex:\n")
+                    .append("          tableName: ").append(table).append('\n')
+                    .append("          indexName: idx_").append(table).append('_')
+                    .append(String.join("_", columns)).append('\n')
+                    .append("          columns:\n");
+            columns.forEach(name -> changeset.append("            - column:\n")
+                    .append("                name: ").append(name).append('\n'));
+        }
+        return changeset.toString();
+    }
+
+    private void seedCatalog() {
+        List<Object[]> categories = new ArrayList<>();
+        for (int i = 1; i <= CATEGORIES; i++) {
+            categories.add(new Object[] {i, "Category " + i});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO categories (id, name, deleted) VALUES (?, ?, false)", categories);
+        List<Object[]> books = new ArrayList<>();
+        List<Object[]> links = new ArrayList<>();
+        for (int i = 1; i <= BOOKS; i++) {
+            books.add(new Object[] {i, String.format("Title %04d", i), "Author " + i % 50,
+                    "ISBN-" + i, BigDecimal.valueOf(5 + i % 100), i % 97 == 0});
+            links.add(new Object[] {i, 1 + i % CATEGORIES});
+            links.add(new Object[] {i, 1 + (i / CATEGORIES) % CATEGORIES});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO books (id, title, author, isbn, price, stock, "
+                + "deleted) VALUES (?, ?, ?, ?, ?, 10, ?)", books);
+        jdbcTemplate.batchUpdate("MERGE INTO books_categories (book_id, category_id) "
+                + "KEY (book_id, category_id) VALUES (?, ?)", links);
+    }
+
+    private void seedOrders() {
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> carts = new ArrayList<>();
+        List<Object[]> cartItems = new ArrayList<>();
+        List<Object[]> orders = new ArrayList<>();
+        List<Object[]> orderItems = new ArrayList<>();
+        List<Object[]> outbox = new ArrayList<>();
+        for (int user = 100; user < 100 + USERS; user++) {
+            users.add(new Object[] {user, "user" + user + "@example.com"});
+            carts.add(new Object[] {user, user});
+            for (int item = 0; item < 3; item++) {
+                cartItems.add(new Object[] {user * 10 + item, user, 1 + (user + item * 7) % BOOKS});
+            }
+            for (int order = 0; order < ORDERS_PER_USER; order++) {
+                long orderId = (long) user * ORDERS_PER_USER + order;
+                orders.add(new Object[] {orderId, user,
+                        Timestamp.valueOf(START.plusHours(orderId))});
+                orderItems.add(new Object[] {orderId * 2, orderId, 1 + orderId % BOOKS});
+                orderItems.add(new Object[] {orderId * 2 + 1, orderId, 1 + (orderId + 1) % BOOKS});
+                outbox.add(new Object[] {orderId, order == 0 ? "PENDING" : "DONE",
+                        Timestamp.valueOf(START)});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, email, password, first_name, last_name) "
+                + "VALUES (?, ?, 'secret', 'First', 'Last')", users);
+        jdbcTemplate.batchUpdate("INSERT INTO shopping_carts (id, user_id) VALUES (?, ?)", carts);
+        jdbcTemplate.batchUpdate("INSERT INTO cart_items (id, cart_id, book_id, quantity) "
+                + "VALUES (?, ?, ?, 1)", cartItems);
+        jdbcTemplate.batchUpdate("INSERT INTO orders (id, user_id, status, total, order_date, "
+                + "shipping_address) VALUES (?, ?, 'PENDING', 10, ?, 'Street 1')", orders);
+        jdbcTemplate.batchUpdate("INSERT INTO order_items (id, order_id, book_id, quantity, price) "
+                + "VALUES (?, ?, ?, 1, 10)", orderItems);
+        jdbcTemplate.batchUpdate("INSERT INTO order_outbox (order_id, type, state, attempts, "
+                + "created_at) VALUES (?, 'ORDER_PLACED', ?, 0, ?)", outbox);
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementCaptureCustomizer(StatementCapture capture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, capture);
+        }
+    }
+
+    static class StatementCapture implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+        private volatile boolean recording;
+
+        @Override
+        public String inspect(String sql) {
+            if (recording) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+
+        void start() {
+            statements.clear();
+            recording = true;
+        }
+
+        void stop() {
+            recording = false;
+        }
+
+        List<String> statements() {
+            return List.copyOf(statements);
+        }
+    }
+}
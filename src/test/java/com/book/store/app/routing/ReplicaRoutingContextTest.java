@@ -0,0 +1,63 @@
+package com.book.store.app.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.book.store.app.dto.BookDto;
+import com.book.store.app.dto.CreateBookRequestDto;
+import com.book.store.app.service.BookService;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "datasource.replicas.enabled=true",
+        "datasource.replicas.urls=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "datasource.replicas.check-interval=PT1H",
+        "datasource.replicas.max-lag=PT2H"
+})
+class ReplicaRoutingContextTest {
+
+    @Autowired
+    private ReplicaSet replicaSet;
+
+    @Autowired
+    private BookService bookService;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(replicaSet.getPrimary());
+        replica = new JdbcTemplate(replicaSet.getReplicas().get(0).getDataSource());
+        replica.execute("DROP ALL OBJECTS");
+        List<String> schema = primary.queryForList("SCRIPT NODATA", String.class);
+        schema.stream()
+                .filter(statement -> statement.startsWith("CREATE"))
+                .forEach(replica::execute);
+        replicaSet.checkHealth();
+        replica.update("INSERT INTO replication_heartbeat (id, beat_millis) VALUES (1, ?)",
+                primary.queryForObject(ReplicaSet.READ_HEARTBEAT, Long.class));
+        replicaSet.checkHealth();
+    }
+
+    @Test
+    @DisplayName("Read-only service calls query the replica, writes land on the primary")
+    void readOnlyService_readsReplica() {
+        BookDto saved = bookService.save(new CreateBookRequestDto("Primary Only", "Author",
+                "ROUTE-" + System.nanoTime(), new BigDecimal("10.00"), null, null, null));
+
+        assertThat(primary.queryForObject("SELECT COUNT(*) FROM books WHERE id = ?",
+                Long.class, saved.getId())).isEqualTo(1);
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM books", Long.class)).isZero();
+        assertThat(replicaSet.getReplicas().get(0).isHealthy()).isTrue();
+        assertThat(bookService.findAll(PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+}
@@ -0,0 +1,168 @@
+package com.book.store.app.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(3);
+
+    private final Clock clock = mock(Clock.class);
+    private DataSource primary;
+    private DataSource replicaA;
+    private DataSource replicaB;
+
+    @BeforeEach
+    void setUp() {
+        primary = node("primary");
+        replicaA = node("replica-a");
+        replicaB = node("replica-b");
+    }
+
+    @Test
+    @DisplayName("Read-only transactions round-robin over caught-up replicas, writes hit primary")
+    void readOnly_roundRobinsReplicas() {
+        ReplicaSet replicaSet = replicaSet(replicaA, replicaB);
+        tick(replicaSet, 10_000);
+        replicate(replicaA, replicaB);
+        tick(replicaSet, 11_000);
+        Routing routing = new Routing(replicaSet);
+
+        List<String> reads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            reads.add(routing.read(true));
+        }
+
+        assertThat(reads).containsExactly("replica-a", "replica-b", "replica-a", "replica-b");
+        assertThat(routing.read(false)).isEqualTo("primary");
+        assertThat(routing.jdbcTemplate.queryForObject("SELECT name FROM node", String.class))
+                .isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Lag is measured from the last replicated heartbeat to now")
+    void lag_measuredFromReplicatedBeat() {
+        ReplicaSet replicaSet = replicaSet(replicaA, replicaB);
+        Routing routing = new Routing(replicaSet);
+
+        tick(replicaSet, 10_000);
+        assertThat(routing.read(true)).isEqualTo("primary");
+
+        for (long now = 11_000; now <= 20_000; now += 1_000) {
+            replicate(replicaA);
+            tick(replicaSet, now);
+            assertThat(replicaSet.getReplicas().get(0).getLag())
+                    .isEqualTo(Duration.ofSeconds(1));
+        }
+
+        assertThat(replicaSet.getReplicas().get(1).getLag()).isGreaterThan(MAX_LAG);
+        assertThat(routing.read(true)).isEqualTo("replica-a");
+        assertThat(routing.read(true)).isEqualTo("replica-a");
+    }
+
+    @Test
+    @DisplayName("Replicas lagging beyond max-lag are skipped, then reads fall back to the primary")
+    void laggingReplicas_fallBackToPrimary() {
+        ReplicaSet replicaSet = replicaSet(replicaA, replicaB);
+        tick(replicaSet, 10_000);
+        replicate(replicaA, replicaB);
+        tick(replicaSet, 11_000);
+        replicate(replicaA);
+        tick(replicaSet, 12_000);
+        Routing routing = new Routing(replicaSet);
+
+        assertThat(routing.read(true)).isEqualTo("replica-a");
+        assertThat(routing.read(true)).isEqualTo("replica-b");
+
+        tick(replicaSet, 14_500);
+
+        assertThat(replicaSet.getReplicas().get(0).getLag()).isEqualTo(Duration.ofMillis(3_500));
+        assertThat(replicaSet.getReplicas().get(1).getLag()).isEqualTo(Duration.ofMillis(4_500));
+        assertThat(routing.read(true)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("An unreachable replica is marked unhealthy and skipped")
+    void unreachableReplica_markedDown() {
+        JdbcDataSource missing = new JdbcDataSource();
+        missing.setURL("jdbc:h2:mem:routing-missing-" + System.nanoTime() + ";IFEXISTS=TRUE");
+        ReplicaSet replicaSet = replicaSet(missing, replicaB);
+        tick(replicaSet, 10_000);
+        replicate(replicaB);
+        tick(replicaSet, 11_000);
+        Routing routing = new Routing(replicaSet);
+
+        assertThat(replicaSet.getReplicas().get(0).isHealthy()).isFalse();
+        assertThat(routing.read(true)).isEqualTo("replica-b");
+        assertThat(routing.read(true)).isEqualTo("replica-b");
+    }
+
+    private ReplicaSet replicaSet(DataSource... replicas) {
+        List<Replica> members = new ArrayList<>();
+        for (int i = 0; i < replicas.length; i++) {
+            members.add(new Replica("replica-" + i, replicas[i]));
+        }
+        return new ReplicaSet(primary, members, clock, MAX_LAG, Duration.ofSeconds(1));
+    }
+
+    private void tick(ReplicaSet replicaSet, long now) {
+        when(clock.millis()).thenReturn(now);
+        replicaSet.checkHealth();
+    }
+
+    private void replicate(DataSource... replicas) {
+        Long beat = new JdbcTemplate(primary).queryForObject(ReplicaSet.READ_HEARTBEAT,
+                Long.class);
+        for (DataSource replica : replicas) {
+            new JdbcTemplate(replica).update(ReplicaSet.WRITE_HEARTBEAT, beat);
+        }
+    }
+
+    private static DataSource node(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + "-" + System.nanoTime()
+                + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(32))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        jdbcTemplate.execute("CREATE TABLE replication_heartbeat "
+                + "(id INT PRIMARY KEY, beat_millis BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO replication_heartbeat (id, beat_millis) VALUES (1, 0)");
+        return dataSource;
+    }
+
+    private static final class Routing {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate transactionTemplate;
+
+        Routing(ReplicaSet replicaSet) {
+            DataSource dataSource = new LazyConnectionDataSourceProxy(
+                    new ReplicaRoutingDataSource(replicaSet));
+            jdbcTemplate = new JdbcTemplate(dataSource);
+            transactionTemplate = new TransactionTemplate(
+                    new DataSourceTransactionManager(dataSource));
+        }
+
+        String read(boolean readOnly) {
+            transactionTemplate.setReadOnly(readOnly);
+            return transactionTemplate.execute(status ->
+                    jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+        }
+    }
+}
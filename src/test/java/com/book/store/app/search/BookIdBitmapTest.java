@@ -0,0 +1,78 @@
+package com.book.store.app.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BookIdBitmapTest {
+
+    @Test
+    @DisplayName("Random adds and removes match a sorted set across container conversions")
+    void addRemove_matchesSortedSet() {
+        Random random = new Random(42);
+        BookIdBitmap bitmap = new BookIdBitmap();
+        TreeSet<Long> expected = new TreeSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            long id = random.nextInt(300_000);
+            if (random.nextInt(4) == 0) {
+                assertThat(bitmap.remove(id)).isEqualTo(expected.remove(id));
+            } else {
+                assertThat(bitmap.add(id)).isEqualTo(expected.add(id));
+            }
+        }
+        for (int i = 0; i < 120_000; i++) {
+            long id = random.nextInt(300_000);
+            assertThat(bitmap.remove(id)).isEqualTo(expected.remove(id));
+        }
+
+        assertThat(bitmap.cardinality()).isEqualTo(expected.size());
+        assertThat(bitmap.page(0, expected.size())).containsExactly(
+                expected.stream().mapToLong(Long::longValue).toArray());
+        assertThat(bitmap.contains(expected.first())).isTrue();
+        assertThat(bitmap.contains(-1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("page skips whole containers and returns ids in ascending order")
+    void page_acrossContainers() {
+        BookIdBitmap bitmap = new BookIdBitmap();
+        for (long id = 0; id < 10_000; id++) {
+            bitmap.add(id * 3);
+        }
+
+        assertThat(bitmap.page(0, 3)).containsExactly(0, 3, 6);
+        assertThat(bitmap.page(9_998, 5)).containsExactly(29_994, 29_997);
+        assertThat(bitmap.page(5_000, 2)).containsExactly(15_000, 15_003);
+        assertThat(bitmap.page(10_000, 2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("intersect combines array and bitmap containers")
+    void intersect_mixedContainers() {
+        BookIdBitmap dense = new BookIdBitmap();
+        BookIdBitmap sparse = new BookIdBitmap();
+        BookIdBitmap even = new BookIdBitmap();
+        for (long id = 1; id <= 200_000; id++) {
+            dense.add(id);
+            if (id % 2 == 0) {
+                even.add(id);
+            }
+            if (id % 1000 == 0) {
+                sparse.add(id);
+            }
+        }
+
+        BookIdBitmap result = BookIdBitmap.intersect(List.of(dense, even, sparse));
+
+        assertThat(result.cardinality()).isEqualTo(200);
+        assertThat(result.page(0, 3)).containsExactly(1000, 2000, 3000);
+        assertThat(BookIdBitmap.intersect(List.of(dense, even)).cardinality())
+                .isEqualTo(100_000);
+        assertThat(BookIdBitmap.intersect(List.of(sparse, BookIdBitmap.of(List.of(7L))))
+                .isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,279 @@
+package com.book.store.app.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.book.store.app.dto.BookCursor;
+import com.book.store.app.dto.BookFacetsDto;
+import com.book.store.app.dto.BookSearchParametersDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.entity.Category;
+import com.book.store.app.repository.BookRepository;
+import com.book.store.app.repository.CategoryRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+@DataJpaTest
+class BookSearchEngineParityTest {
+
+    private static final List<BookSearchParametersDto> QUERIES = List.of(
+            BookSearchParametersDto.of(null, null, null),
+            BookSearchParametersDto.of("dune", null, null),
+            BookSearchParametersDto.of("DUNE", null, null),
+            BookSearchParametersDto.of("th", null, null),
+            BookSearchParametersDto.of(null, "tolk", null),
+            BookSearchParametersDto.of(null, null, "978-1"),
+            BookSearchParametersDto.of("the", "tolkien", null),
+            BookSearchParametersDto.of("ring", "herbert", null),
+            BookSearchParametersDto.of("missing title", null, null),
+            BookSearchParametersDto.of(" ", "", null)
+    );
+
+    private static final List<Pageable> PAGEABLES = List.of(
+            PageRequest.of(0, 3, Sort.by("title", "id")),
+            PageRequest.of(1, 3, Sort.by("title", "id")),
+            PageRequest.of(0, 20, Sort.by(Sort.Order.desc("price"), Sort.Order.asc("id"))),
+            PageRequest.of(2, 2, Sort.by(Sort.Order.desc("author"), Sort.Order.asc("id")))
+    );
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private CategoryMembershipIndex membershipIndex;
+    private InMemoryBookSearchEngine indexEngine;
+    private SpecificationBookSearchEngine specificationEngine;
+    private Category sciFi;
+    private Category classic;
+
+    @BeforeEach
+    void setUp() {
+        sciFi = categoryRepository.save(new Category(null, "Sci-Fi", null, false,
+                Set.of(), null, null));
+        classic = categoryRepository.save(new Category(null, "Classic", null, false,
+                Set.of(), null, null));
+        saveBook("Dune", "Frank Herbert", "978-1-00", "19.99", false);
+        saveBook("Dune Messiah", "Frank Herbert", "978-1-01", "14.50", false);
+        saveBook("Children of Dune", "Frank Herbert", "978-1-02", "15.00", false);
+        saveBook("The Hobbit", "J.R.R. Tolkien", "978-2-00", "12.00", false);
+        saveBook("The Fellowship of the Ring", "J.R.R. Tolkien", "978-2-01", "25.00", false);
+        saveBook("The Two Towers", "J.R.R. Tolkien", "978-2-02", "25.00", false);
+        saveBook("The Return of the King", "J.R.R. Tolkien", "978-2-03", "25.00", false);
+        saveBook("Thud!", "Terry Pratchett", "978-3-00", "9.99", false);
+        saveBook("Dune Deleted Edition", "Frank Herbert", "978-1-99", "5.00", true);
+
+        for (Book book : bookRepository.findAll()) {
+            if (book.getAuthor().equals("Frank Herbert")) {
+                book.getCategories().add(sciFi);
+            }
+            if (book.getAuthor().startsWith("J.R.R.") || book.getTitle().equals("Dune")) {
+                book.getCategories().add(classic);
+            }
+        }
+        bookRepository.flush();
+
+        membershipIndex = new CategoryMembershipIndex(bookRepository);
+        membershipIndex.rebuild();
+        indexEngine = new InMemoryBookSearchEngine(bookRepository, membershipIndex);
+        indexEngine.rebuild();
+        specificationEngine = new SpecificationBookSearchEngine(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Index and specification engines return the same pages for every query")
+    void search_sameResultsOnBothPaths() {
+        for (BookSearchParametersDto params : QUERIES) {
+            for (Pageable pageable : PAGEABLES) {
+                Page<Book> expected = specificationEngine.search(params, pageable);
+                Page<Book> actual = indexEngine.search(params, pageable);
+
+                assertThat(ids(actual))
+                        .as("%s %s", params, pageable)
+                        .containsExactlyElementsOf(ids(expected));
+                assertThat(actual.getTotalElements())
+                        .as("%s %s", params, pageable)
+                        .isEqualTo(expected.getTotalElements());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Structured filters and facet counts match on both paths")
+    void facets_sameResultsOnBothPaths() {
+        List<BookSearchParametersDto> filtered = new ArrayList<>(QUERIES);
+        filtered.add(new BookSearchParametersDto(null, null, null, Set.of(sciFi.getId()),
+                null, null, null));
+        filtered.add(new BookSearchParametersDto(null, null, null,
+                Set.of(sciFi.getId(), classic.getId()), null, null, null));
+        filtered.add(new BookSearchParametersDto("the", null, null, Set.of(classic.getId()),
+                null, null, null));
+        filtered.add(new BookSearchParametersDto(null, null, null, null,
+                new BigDecimal("10"), new BigDecimal("19.99"), null));
+        filtered.add(new BookSearchParametersDto(null, null, null, null, null, null, "j"));
+        filtered.add(new BookSearchParametersDto("dune", null, null, null, null,
+                new BigDecimal("15"), "F"));
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("title", "id"));
+        for (BookSearchParametersDto params : filtered) {
+            assertThat(ids(indexEngine.search(params, pageable)))
+                    .as("%s", params)
+                    .containsExactlyElementsOf(ids(specificationEngine.search(params, pageable)));
+            assertThat(indexEngine.facets(params))
+                    .as("%s", params)
+                    .isEqualTo(specificationEngine.facets(params));
+        }
+    }
+
+    @Test
+    @DisplayName("Unfiltered facets count every live book once per value")
+    void facets_unfilteredCounts() {
+        BookFacetsDto facets = indexEngine.facets(BookSearchParametersDto.of(null, null, null));
+
+        assertThat(facets.categories()).containsEntry(sciFi.getId(), 3L)
+                .containsEntry(classic.getId(), 5L);
+        assertThat(facets.priceRanges()).containsExactly(Map.entry("0-10", 1L),
+                Map.entry("10-20", 4L), Map.entry("20-50", 3L), Map.entry("50-100", 0L),
+                Map.entry("100+", 0L));
+        assertThat(facets.authorInitials()).containsExactly(Map.entry("F", 3L),
+                Map.entry("J", 4L), Map.entry("T", 1L));
+    }
+
+    @Test
+    @DisplayName("Keyset slices walk the same results on both paths")
+    void searchAfter_sameResultsOnBothPaths() {
+        for (BookSearchParametersDto params : QUERIES) {
+            assertThat(walk(indexEngine, params))
+                    .as("%s", params)
+                    .containsExactlyElementsOf(walk(specificationEngine, params))
+                    .containsExactlyElementsOf(ids(specificationEngine.search(params,
+                            PageRequest.of(0, 100, Sort.by("title", "id")))));
+        }
+    }
+
+    @Test
+    @DisplayName("Incremental index updates keep both engines in sync")
+    void search_afterIncrementalUpdates() {
+        Book added = saveBook("Dune: House Atreides", "Brian Herbert", "978-1-50", "18.00",
+                false);
+        indexEngine.index(added);
+
+        Book renamed = bookRepository.findAll(Sort.by("id")).get(0);
+        renamed.setTitle("Arrakis");
+        bookRepository.save(renamed);
+        indexEngine.index(renamed);
+
+        Book removed = bookRepository.findAll(Sort.by("id")).get(1);
+        bookRepository.delete(removed);
+        bookRepository.flush();
+        indexEngine.remove(removed.getId());
+
+        BookSearchParametersDto params = BookSearchParametersDto.of("dune", null, null);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("title", "id"));
+
+        assertThat(ids(indexEngine.search(params, pageable)))
+                .containsExactlyElementsOf(ids(specificationEngine.search(params, pageable)))
+                .contains(added.getId())
+                .doesNotContain(renamed.getId(), removed.getId());
+    }
+
+    @Test
+    @DisplayName("Unsorted index search ranks exact and prefix matches first")
+    void search_unsortedRanksByRelevance() {
+        Page<Book> result = indexEngine.search(BookSearchParametersDto.of("dune", null, null),
+                PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).extracting(Book::getTitle)
+                .containsExactly("Dune", "Dune Messiah", "Children of Dune");
+    }
+
+    @Test
+    @DisplayName("Index search sorts titles and authors regardless of case")
+    void search_sortsCaseInsensitively() {
+        saveBook("a Tale of Dune", "frank herbert", "978-1-60", "11.00", false);
+        indexEngine.rebuild();
+        BookSearchParametersDto params = BookSearchParametersDto.of("dune", null, null);
+
+        assertThat(indexEngine.search(params, PageRequest.of(0, 10, Sort.by("title")))
+                .getContent()).extracting(Book::getTitle)
+                .containsExactly("a Tale of Dune", "Children of Dune", "Dune", "Dune Messiah");
+        assertThat(walk(indexEngine, params)).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Changes applied while the index rebuilds survive the rebuild")
+    void rebuild_keepsChangesMadeDuringRebuild() {
+        List<Book> books = bookRepository.findAll(Sort.by("id"));
+        Book renamed = new Book();
+        renamed.setId(books.get(0).getId());
+        renamed.setTitle("Arrakis");
+        renamed.setAuthor(books.get(0).getAuthor());
+        renamed.setIsbn(books.get(0).getIsbn());
+        renamed.setPrice(books.get(0).getPrice());
+        Long removedId = books.get(1).getId();
+        BookRepository racingRepository = mock(BookRepository.class,
+                AdditionalAnswers.delegatesTo(bookRepository));
+        InMemoryBookSearchEngine engine = new InMemoryBookSearchEngine(racingRepository,
+                membershipIndex);
+        doAnswer(invocation -> {
+            Slice<Book> batch = bookRepository.findByIdGreaterThanOrderByIdAsc(
+                    invocation.getArgument(0), invocation.getArgument(1));
+            engine.index(renamed);
+            engine.remove(removedId);
+            return batch;
+        }).when(racingRepository).findByIdGreaterThanOrderByIdAsc(any(), any());
+
+        engine.rebuild();
+
+        assertThat(ids(engine.search(BookSearchParametersDto.of("dune", null, null),
+                PageRequest.of(0, 10)))).doesNotContain(renamed.getId(), removedId);
+        assertThat(ids(engine.search(BookSearchParametersDto.of("arrakis", null, null),
+                PageRequest.of(0, 10)))).containsExactly(renamed.getId());
+    }
+
+    private Book saveBook(String title, String author, String isbn, String price,
+                          boolean deleted) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setIsbn(isbn);
+        book.setPrice(new BigDecimal(price));
+        book.setDeleted(deleted);
+        return bookRepository.save(book);
+    }
+
+    private static List<Long> walk(BookSearchEngine engine, BookSearchParametersDto params) {
+        List<Long> ids = new ArrayList<>();
+        BookCursor cursor = null;
+        Slice<Book> slice;
+        do {
+            slice = engine.searchAfter(params, cursor, 2);
+            slice.forEach(book -> ids.add(book.getId()));
+            if (slice.hasContent()) {
+                Book last = slice.getContent().get(slice.getNumberOfElements() - 1);
+                cursor = new BookCursor(last.getTitle(), last.getId());
+            }
+        } while (slice.hasNext());
+        return ids;
+    }
+
+    private static List<Long> ids(Page<Book> page) {
+        return page.getContent().stream().map(Book::getId).toList();
+    }
+}
@@ -0,0 +1,134 @@
+package com.book.store.app.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.book.store.app.entity.Book;
+import com.book.store.app.entity.Category;
+import com.book.store.app.event.BookChangedEvent;
+import com.book.store.app.event.BooksImportedEvent;
+import com.book.store.app.event.CategoryChangedEvent;
+import com.book.store.app.repository.BookRepository;
+import com.book.store.app.repository.CategoryRepository;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+@DataJpaTest
+class CategoryMembershipIndexTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private CategoryMembershipIndex index;
+    private CategoryMembershipIndex databaseFallback;
+    private Category fantasy;
+    private Category bestseller;
+    private Category poetry;
+
+    @BeforeEach
+    void setUp() {
+        fantasy = categoryRepository.save(new Category(null, "Fantasy", null, false,
+                Set.of(), null, null));
+        bestseller = categoryRepository.save(new Category(null, "Bestseller", null, false,
+                Set.of(), null, null));
+        poetry = categoryRepository.save(new Category(null, "Poetry", null, false,
+                Set.of(), null, null));
+        for (int i = 0; i < 30; i++) {
+            Set<Category> categories = new HashSet<>();
+            if (i % 2 == 0) {
+                categories.add(fantasy);
+            }
+            if (i % 3 == 0) {
+                categories.add(bestseller);
+            }
+            saveBook("Book " + i, categories, i == 6);
+        }
+        bookRepository.flush();
+
+        index = new CategoryMembershipIndex(bookRepository);
+        index.rebuild();
+        databaseFallback = new CategoryMembershipIndex(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Index pages and intersections match the database for every combination")
+    void page_sameResultsAsDatabase() {
+        List<Set<Long>> filters = List.of(
+                Set.of(fantasy.getId()),
+                Set.of(bestseller.getId()),
+                Set.of(fantasy.getId(), bestseller.getId()),
+                Set.of(fantasy.getId(), poetry.getId()),
+                Set.of(-1L));
+        for (Set<Long> filter : filters) {
+            for (int offset = 0; offset < 20; offset += 4) {
+                assertThat(index.page(filter, offset, 4))
+                        .as("%s offset %d", filter, offset)
+                        .isEqualTo(databaseFallback.page(filter, offset, 4));
+            }
+        }
+        CategoryMembershipIndex.MembershipPage both =
+                index.page(Set.of(fantasy.getId(), bestseller.getId()), 0, 10);
+        assertThat(both.total()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Index counts match the database GROUP BY and skip deleted books")
+    void counts_sameResultsAsDatabase() {
+        assertThat(index.counts()).isEqualTo(databaseFallback.counts())
+                .containsEntry(fantasy.getId(), 14L)
+                .containsEntry(bestseller.getId(), 9L)
+                .doesNotContainKey(poetry.getId());
+    }
+
+    @Test
+    @DisplayName("Book and category events keep the index in sync with the database")
+    void events_keepIndexInSync() {
+        Book moved = bookRepository.findAllById(index.page(Set.of(fantasy.getId()), 0, 1)
+                .bookIds()).get(0);
+        Set<Long> previous = Set.of(fantasy.getId(), bestseller.getId());
+        moved.setCategories(new HashSet<>(Set.of(poetry)));
+        bookRepository.saveAndFlush(moved);
+        Set<Long> affected = new HashSet<>(previous);
+        affected.add(poetry.getId());
+        index.onBookChanged(new BookChangedEvent(moved, affected, false));
+
+        Book imported = saveBook("Imported", Set.of(poetry, fantasy), false);
+        bookRepository.flush();
+        index.onBooksImported(new BooksImportedEvent(List.of(imported.getId()),
+                Set.of(poetry.getId(), fantasy.getId())));
+
+        Book deleted = bookRepository.findAllById(index.page(Set.of(bestseller.getId()), 0, 1)
+                .bookIds()).get(0);
+        bookRepository.delete(deleted);
+        bookRepository.flush();
+        index.onBookChanged(new BookChangedEvent(deleted, Set.of(fantasy.getId(),
+                bestseller.getId()), true));
+
+        assertThat(index.counts()).isEqualTo(databaseFallback.counts());
+        assertThat(index.page(Set.of(poetry.getId()), 0, 10).bookIds())
+                .containsExactly(moved.getId(), imported.getId());
+
+        index.onCategoryChanged(new CategoryChangedEvent(poetry.getId(), Set.of(), true));
+        assertThat(index.page(Set.of(poetry.getId()), 0, 10).total()).isZero();
+    }
+
+    private Book saveBook(String title, Set<Category> categories, boolean deleted) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Author");
+        book.setIsbn("MEMBER-" + title);
+        book.setPrice(new BigDecimal("10.00"));
+        book.setCategories(new HashSet<>(categories));
+        book.setDeleted(deleted);
+        return bookRepository.save(book);
+    }
+}
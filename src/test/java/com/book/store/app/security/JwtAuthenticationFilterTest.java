@@ -0,0 +1,126 @@
+package com.book.store.app.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.book.store.app.entity.RoleName;
+import io.jsonwebtoken.Claims;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "test-test-test-test-test-test-test-test=";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 3_600_000L, 10_000);
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private TokenDenyList tokenDenyList;
+
+    @BeforeEach
+    void setUp() {
+        tokenDenyList = new TokenDenyList(Clock.fixed(Instant.now(), ZoneOffset.UTC), 100);
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Stateless mode builds the principal from claims without loading the user")
+    void stateless_buildsPrincipalFromClaims() throws Exception {
+        String token = jwtUtil.generateToken(user());
+
+        doFilter(new JwtAuthenticationFilter(jwtUtil, userDetailsService, tokenDenyList, true),
+                token);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("user@example.com");
+        assertThat(AuthorityUtils.authorityListToSet(authentication.getAuthorities()))
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Stateless mode falls back to a user lookup for tokens without claims")
+    void stateless_legacyToken_loadsUser() throws Exception {
+        when(userDetailsService.loadUserByUsername("user@example.com")).thenReturn(user());
+        String token = jwtUtil.generateToken("user@example.com");
+
+        doFilter(new JwtAuthenticationFilter(jwtUtil, userDetailsService, tokenDenyList, true),
+                token);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        verify(userDetailsService).loadUserByUsername("user@example.com");
+    }
+
+    @Test
+    @DisplayName("Stateful mode always loads the user")
+    void stateful_loadsUser() throws Exception {
+        when(userDetailsService.loadUserByUsername("user@example.com")).thenReturn(user());
+        String token = jwtUtil.generateToken(user());
+
+        doFilter(new JwtAuthenticationFilter(jwtUtil, userDetailsService, tokenDenyList, false),
+                token);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        verify(userDetailsService).loadUserByUsername("user@example.com");
+    }
+
+    @Test
+    @DisplayName("Revoked token is not authenticated")
+    void revokedToken_notAuthenticated() throws Exception {
+        String token = jwtUtil.generateToken(user());
+        Claims claims = jwtUtil.parseClaims(token).orElseThrow();
+        tokenDenyList.revoke(claims.getId(), claims.getExpiration().toInstant());
+
+        doFilter(new JwtAuthenticationFilter(jwtUtil, userDetailsService, tokenDenyList, true),
+                token);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Tampered token is not authenticated")
+    void tamperedToken_notAuthenticated() throws Exception {
+        String token = jwtUtil.generateToken(user());
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        doFilter(new JwtAuthenticationFilter(jwtUtil, userDetailsService, tokenDenyList, true),
+                tampered);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(userDetailsService);
+    }
+
+    private void doFilter(JwtAuthenticationFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    private CustomUserDetails user() {
+        return new CustomUserDetails(7L, "user@example.com", "secret",
+                Set.of(RoleName.ROLE_USER, RoleName.ROLE_ADMIN));
+    }
+}
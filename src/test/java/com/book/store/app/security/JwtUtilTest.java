@@ -0,0 +1,83 @@
+package com.book.store.app.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.book.store.app.entity.RoleName;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test-test-test-test-test-test-test-test=";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 3_600_000L, 10_000);
+
+    @Test
+    @DisplayName("A repeated token is served from the verified-token cache")
+    void verify_cachesVerifiedToken() {
+        String token = jwtUtil.generateToken(user(RoleName.ROLE_USER));
+
+        VerifiedToken first = jwtUtil.verify(token).orElseThrow();
+        VerifiedToken second = jwtUtil.verify(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.userDetails()).get()
+                .extracting(CustomUserDetails::getId).isEqualTo(7L);
+        assertThat(jwtUtil.cachedTokens()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Tampered payloads and signatures are rejected even when the original is cached")
+    void verify_rejectsTamperedTokens() {
+        String token = jwtUtil.generateToken(user(RoleName.ROLE_USER));
+        assertThat(jwtUtil.verify(token)).isPresent();
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]),
+                StandardCharsets.UTF_8).replace("ROLE_USER", "ROLE_ADMIN");
+        String escalated = parts[0] + "."
+                + Base64.getUrlEncoder().withoutPadding()
+                        .encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                + "." + parts[2];
+        String resigned = parts[0] + "." + parts[1] + "."
+                + new StringBuilder(parts[2]).reverse();
+
+        assertThat(jwtUtil.verify(escalated)).isEmpty();
+        assertThat(jwtUtil.verify(resigned)).isEmpty();
+        assertThat(jwtUtil.cachedTokens()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A cached token is rejected once it expires")
+    void verify_rejectsExpiredCachedToken() throws InterruptedException {
+        JwtUtil shortLived = new JwtUtil(SECRET, 1500L, 10_000);
+        String token = shortLived.generateToken(user(RoleName.ROLE_USER));
+        VerifiedToken verified = shortLived.verify(token).orElseThrow();
+
+        Thread.sleep(Math.max(0,
+                Duration.between(Instant.now(), verified.expiresAt()).toMillis()) + 50);
+
+        assertThat(shortLived.verify(token)).isEmpty();
+        assertThat(shortLived.cachedTokens()).isZero();
+    }
+
+    @Test
+    @DisplayName("The cache stays within its configured size")
+    void verify_boundsCache() {
+        JwtUtil bounded = new JwtUtil(SECRET, 3_600_000L, 2);
+        for (int i = 0; i < 20; i++) {
+            assertThat(bounded.verify(bounded.generateToken(user(RoleName.ROLE_USER))))
+                    .isPresent();
+        }
+
+        assertThat(bounded.cachedTokens()).isLessThanOrEqualTo(2);
+    }
+
+    private CustomUserDetails user(RoleName role) {
+        return new CustomUserDetails(7L, "user@example.com", null, Set.of(role));
+    }
+}
@@ -0,0 +1,95 @@
+package com.book.store.app.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.book.store.app.exception.PasswordHashingUnavailableException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PasswordHashingExecutorTest {
+
+    private final PasswordHashingExecutor executor =
+            new PasswordHashingExecutor(1, 1, Duration.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Work beyond the threads and queue is rejected instead of piling up")
+    void saturated_rejects() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        final CompletableFuture<Boolean> busy = CompletableFuture.supplyAsync(() ->
+                executor.execute(() -> {
+                    running.countDown();
+                    return release.await(5, TimeUnit.SECONDS);
+                }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        final CompletableFuture<String> queued = CompletableFuture.supplyAsync(() ->
+                executor.execute(() -> "queued"));
+        while (executor.getQueued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(PasswordHashingUnavailableException.class,
+                () -> executor.execute(() -> "rejected"));
+        assertThat(executor.getRejected()).isEqualTo(1);
+        assertThat(executor.getActive()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(busy.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+        assertThat(executor.getHashTime().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A caller that waits past the timeout gets a retryable failure")
+    void slowTask_timesOut() {
+        PasswordHashingExecutor impatient =
+                new PasswordHashingExecutor(1, 1, Duration.ofMillis(50));
+        try {
+            PasswordHashingUnavailableException thrown =
+                    assertThrows(PasswordHashingUnavailableException.class, () ->
+                            impatient.execute(() -> {
+                                Thread.sleep(1000);
+                                return true;
+                            }));
+            assertThat(thrown).hasMessage("Password check did not complete within 50ms");
+            assertThat(impatient.getRejected()).isEqualTo(1);
+        } finally {
+            impatient.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Failures inside the hashing task reach the caller unchanged")
+    void taskFailure_propagates() {
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () ->
+                executor.execute(() -> {
+                    throw new IllegalArgumentException("bad hash");
+                }));
+
+        assertThat(thrown).hasMessage("bad hash");
+    }
+
+    @Test
+    @DisplayName("The work factor grows while one hash still fits the target duration")
+    void workFactor_followsTarget() {
+        long tenMillis = TimeUnit.MILLISECONDS.toNanos(10);
+
+        assertThat(BcryptWorkFactor.strengthFor(tenMillis, Duration.ofMillis(45), 10, 14))
+                .isEqualTo(12);
+        assertThat(BcryptWorkFactor.strengthFor(tenMillis, Duration.ofMillis(5), 10, 14))
+                .isEqualTo(10);
+        assertThat(BcryptWorkFactor.strengthFor(tenMillis, Duration.ofSeconds(10), 10, 14))
+                .isEqualTo(14);
+    }
+}
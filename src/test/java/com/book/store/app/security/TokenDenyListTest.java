@@ -0,0 +1,47 @@
+package com.book.store.app.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.book.store.app.exception.TokenRevocationUnavailableException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TokenDenyListTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private final TokenDenyList denyList =
+            new TokenDenyList(Clock.fixed(NOW, ZoneOffset.UTC), 2);
+
+    @Test
+    @DisplayName("A full deny list refuses new revocations and keeps every live one")
+    void full_refusesWithoutDroppingLiveEntries() {
+        denyList.revoke("first", NOW.plus(Duration.ofMinutes(1)));
+        denyList.revoke("second", NOW.plus(Duration.ofHours(1)));
+
+        assertThrows(TokenRevocationUnavailableException.class,
+                () -> denyList.revoke("third", NOW.plus(Duration.ofHours(2))));
+
+        assertThat(denyList.isRevoked("first")).isTrue();
+        assertThat(denyList.isRevoked("second")).isTrue();
+        assertThat(denyList.isRevoked("third")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Expired revocations are purged to make room for new ones")
+    void full_purgesExpiredEntries() {
+        denyList.revoke("expired", NOW.minus(Duration.ofSeconds(1)));
+        denyList.revoke("live", NOW.plus(Duration.ofHours(1)));
+
+        denyList.revoke("next", NOW.plus(Duration.ofHours(1)));
+
+        assertThat(denyList.size()).isEqualTo(2);
+        assertThat(denyList.isRevoked("live")).isTrue();
+        assertThat(denyList.isRevoked("next")).isTrue();
+    }
+}
@@ -0,0 +1,96 @@
+package com.book.store.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.book.store.app.dto.CatalogFormat;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+@Tag("large")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=false",
+        "book.search.engine=specification"
+})
+class BookExportLargeCatalogTest {
+
+    private static final int ROWS = 500_000;
+    private static final long MAX_HEAP_GROWTH = 48L * 1024 * 1024;
+
+    @TempDir
+    private static Path database;
+
+    @Autowired
+    private BookExportService bookExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:"
+                + database.resolve("export-large") + ";DB_CLOSE_DELAY=-1");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM books");
+        jdbcTemplate.update("INSERT INTO books (title, author, isbn, price, stock, description, "
+                + "deleted) SELECT 'Title ' || X, 'Author ' || MOD(X, 1000), 'ISBN-' || X, "
+                + "10 + MOD(X, 50), 1, 'A reasonably long description for book ' || X, false "
+                + "FROM SYSTEM_RANGE(1, ?)", ROWS);
+    }
+
+    @Test
+    @DisplayName("Exporting 500k books keeps the heap flat")
+    void export_largeCatalog() throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        PeakHeapOutputStream out = new PeakHeapOutputStream(memory);
+
+        long rows = bookExportService.export(CatalogFormat.NDJSON, out);
+
+        assertThat(rows).isEqualTo(ROWS);
+        assertThat(out.lines).isEqualTo(ROWS);
+        assertThat(out.peakAfterGc - baseline).isLessThan(MAX_HEAP_GROWTH);
+    }
+
+    private static class PeakHeapOutputStream extends OutputStream {
+        private static final int SAMPLE_EVERY = 100_000;
+
+        private final MemoryMXBean memory;
+        private long lines;
+        private long peakAfterGc;
+
+        PeakHeapOutputStream(MemoryMXBean memory) {
+            this.memory = memory;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % SAMPLE_EVERY == 0) {
+                System.gc();
+                peakAfterGc = Math.max(peakAfterGc, memory.getHeapMemoryUsage().getUsed());
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                write(bytes[i]);
+            }
+        }
+    }
+}
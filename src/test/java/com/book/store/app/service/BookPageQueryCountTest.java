@@ -0,0 +1,131 @@
+package com.book.store.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.book.store.app.dto.BookDto;
+import com.book.store.app.dto.BookSliceDto;
+import com.book.store.app.dto.CreateBookRequestDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.entity.Category;
+import com.book.store.app.exception.EntityNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bookpages;DB_CLOSE_DELAY=-1")
+@Transactional
+class BookPageQueryCountTest {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 250})
+    @DisplayName("findAll maps a 100-book page with a constant number of statements")
+    void findAll_constantStatements(int bookCount) {
+        List<Category> categories = seedBooks(bookCount);
+        Statistics statistics = statistics();
+
+        Page<BookDto> page = bookService.findAll(
+                PageRequest.of(0, PAGE_SIZE, Sort.by("id")));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getContent()).allSatisfy(book -> assertThat(book.getCategoryIds())
+                .containsExactlyInAnyOrder(categories.get(0).getId(),
+                        categories.get(1).getId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 250})
+    @DisplayName("findAllAfter maps a 100-book slice with a constant number of statements")
+    void findAllAfter_constantStatements(int bookCount) {
+        seedBooks(bookCount);
+        Statistics statistics = statistics();
+
+        BookSliceDto slice = bookService.findAllAfter(null, PAGE_SIZE, false);
+
+        assertThat(slice.getContent()).hasSize(PAGE_SIZE);
+        assertThat(slice.getContent()).allSatisfy(book ->
+                assertThat(book.getCategoryIds()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("save resolves all category ids with a single lookup")
+    void save_resolvesCategoriesOnce() {
+        List<Category> categories = seedBooks(0);
+        Set<Long> categoryIds = Set.of(categories.get(0).getId(), categories.get(1).getId());
+        Statistics statistics = statistics();
+
+        BookDto saved = bookService.save(new CreateBookRequestDto("Dune", "Herbert",
+                "PAGES-SAVE", new BigDecimal("10.00"), null, null, categoryIds));
+
+        assertThat(saved.getCategoryIds()).isEqualTo(categoryIds);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("save rejects unknown category ids")
+    void save_unknownCategory() {
+        List<Category> categories = seedBooks(0);
+        Set<Long> categoryIds = Set.of(categories.get(0).getId(), -1L);
+        CreateBookRequestDto dto = new CreateBookRequestDto("Dune", "Herbert", "PAGES-MISSING",
+                new BigDecimal("10.00"), null, null, categoryIds);
+
+        assertThrows(EntityNotFoundException.class, () -> bookService.save(dto));
+    }
+
+    private List<Category> seedBooks(int bookCount) {
+        List<Category> categories = List.of(category("Fantasy"), category("Classics"));
+        categories.forEach(entityManager::persist);
+        for (int i = 0; i < bookCount; i++) {
+            Book book = new Book();
+            book.setTitle("Paged Book " + i);
+            book.setAuthor("Author");
+            book.setIsbn("PAGES-" + i);
+            book.setPrice(new BigDecimal("10.00"));
+            book.getCategories().addAll(categories);
+            entityManager.persist(book);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return categories;
+    }
+
+    private Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
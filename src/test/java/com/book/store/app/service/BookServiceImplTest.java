@@ -3,34 +3,46 @@ package com.book.store.app.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.book.store.app.dto.BookCursor;
 import com.book.store.app.dto.BookDto;
+import com.book.store.app.dto.BookFacetsDto;
 import com.book.store.app.dto.BookSearchParametersDto;
+import com.book.store.app.dto.BookSliceDto;
 import com.book.store.app.dto.CreateBookRequestDto;
+import com.book.store.app.dto.FacetedBookPageDto;
 import com.book.store.app.entity.Book;
+import com.book.store.app.event.BookChangedEvent;
 import com.book.store.app.exception.EntityNotFoundException;
+import com.book.store.app.inventory.StockLedger;
 import com.book.store.app.mapper.BookMapper;
 import com.book.store.app.repository.BookRepository;
+import com.book.store.app.search.BookSearchEngine;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 
 class BookServiceImplTest {
 
@@ -40,6 +52,18 @@ class BookServiceImplTest {
     @Mock
     private BookMapper bookMapper;
 
+    @Mock
+    private BookSearchEngine bookSearchEngine;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BookCountEstimator bookCountEstimator;
+
+    @Mock
+    private StockLedger stockLedger;
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -87,6 +111,7 @@ class BookServiceImplTest {
         verify(bookMapper).toEntity(createDto);
         verify(bookRepository).save(toSave);
         verify(bookMapper).toDto(exampleBook);
+        verify(eventPublisher).publishEvent(new BookChangedEvent(exampleBook, Set.of(), false));
     }
 
     @Test
@@ -166,6 +191,20 @@ class BookServiceImplTest {
         verify(bookMapper).updateEntityFromDto(createDto, exampleBook);
     }
 
+    @Test
+    @DisplayName("update hands a new stock level to the stock ledger")
+    void update_restocksThroughLedger() {
+        when(bookRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(exampleBook));
+        when(bookRepository.save(exampleBook)).thenReturn(exampleBook);
+        when(bookMapper.toDto(exampleBook)).thenReturn(new BookDto());
+        createDto.setStock(12);
+
+        bookService.update(1L, createDto);
+
+        verify(stockLedger).restock(1L, 12);
+        verify(bookRepository, never()).adjustStock(anyLong(), anyInt());
+    }
+
     @Test
     @DisplayName("update throws exception when book is missing")
     void update_notFound() {
@@ -181,6 +220,7 @@ class BookServiceImplTest {
 
         bookService.delete(1L);
         verify(bookRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new BookChangedEvent(exampleBook, Set.of(), true));
     }
 
     @Test
@@ -194,10 +234,9 @@ class BookServiceImplTest {
     @DisplayName("search returns a page of BookDto according to parameters")
     void search_withParams() {
         Page<Book> page = new PageImpl<>(List.of(exampleBook));
-        when(bookRepository.findAll(
-                any(Specification.class),
-                any(Pageable.class)))
-                .thenReturn(page);
+        BookSearchParametersDto params = BookSearchParametersDto.of("a", "b", "c");
+        Pageable pageable = PageRequest.of(0, 10);
+        when(bookSearchEngine.search(params, pageable)).thenReturn(page);
 
         when(bookMapper.toDto(exampleBook)).thenReturn(new BookDto(
                 exampleBook.getId(),
@@ -210,13 +249,69 @@ class BookServiceImplTest {
                 null
         ));
 
-        BookSearchParametersDto params = new BookSearchParametersDto("a", "b", "c");
-        Pageable pageable = PageRequest.of(0, 10);
-
         Page<BookDto> result = bookService.search(params, pageable);
         assertThat(result.getTotalElements()).isEqualTo(1);
 
-        verify(bookRepository).findAll(any(Specification.class), eq(pageable));
+        verify(bookSearchEngine).search(params, pageable);
         verify(bookMapper).toDto(exampleBook);
     }
+
+    @Test
+    @DisplayName("searchWithFacets returns the result page together with facet counts")
+    void searchWithFacets_combinesPageAndFacets() {
+        BookSearchParametersDto params = new BookSearchParametersDto(null, null, null,
+                Set.of(2L), null, new BigDecimal("20"), null);
+        Pageable pageable = PageRequest.of(0, 10);
+        BookFacetsDto facets = new BookFacetsDto(Map.of(2L, 1L), Map.of("10-20", 1L),
+                Map.of("A", 1L));
+        when(bookSearchEngine.search(params, pageable))
+                .thenReturn(new PageImpl<>(List.of(exampleBook)));
+        when(bookSearchEngine.facets(params)).thenReturn(facets);
+        when(bookMapper.toDto(exampleBook)).thenReturn(new BookDto(exampleBook.getId(),
+                exampleBook.getTitle(), exampleBook.getAuthor(), exampleBook.getIsbn(),
+                exampleBook.getPrice(), exampleBook.getDescription(),
+                exampleBook.getCoverImage(), null));
+
+        FacetedBookPageDto result = bookService.searchWithFacets(params, pageable);
+
+        assertThat(result.books().getTotalElements()).isEqualTo(1);
+        assertThat(result.facets()).isEqualTo(facets);
+        verify(bookSearchEngine).facets(params);
+    }
+
+    @Test
+    @DisplayName("findAllAfter without cursor returns the first slice and a next cursor")
+    void findAllAfter_firstSlice() {
+        Book second = new Book();
+        second.setId(2L);
+        second.setTitle("Title 2");
+        when(bookRepository.findFirstTitlePage(PageRequest.of(0, 2)))
+                .thenReturn(List.of(exampleBook, second));
+        when(bookMapper.toDtoList(List.of(exampleBook))).thenReturn(List.of(new BookDto()));
+        when(bookCountEstimator.estimate()).thenReturn(42L);
+
+        BookSliceDto result = bookService.findAllAfter(null, 1, true);
+
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getApproximateTotal()).isEqualTo(42L);
+        assertThat(BookCursor.decode(result.getNextCursor()))
+                .isEqualTo(new BookCursor("Title", 1L));
+    }
+
+    @Test
+    @DisplayName("findAllAfter seeks past the cursor and reports the last slice")
+    void findAllAfter_lastSlice() {
+        String cursor = new BookCursor("Dune", 7L).encode();
+        when(bookRepository.findTitlePageAfter("Dune", 7L, PageRequest.of(0, 11)))
+                .thenReturn(List.of(exampleBook));
+        when(bookMapper.toDtoList(List.of(exampleBook))).thenReturn(List.of(new BookDto()));
+
+        BookSliceDto result = bookService.findAllAfter(cursor, 10, false);
+
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        assertThat(result.getApproximateTotal()).isNull();
+        verify(bookCountEstimator, never()).estimate();
+    }
 }
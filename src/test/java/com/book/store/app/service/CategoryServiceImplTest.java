@@ -2,28 +2,43 @@ package com.book.store.app.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.book.store.app.dto.BookDtoWithoutCategoryIds;
+import com.book.store.app.dto.CategoryBookCountDto;
 import com.book.store.app.dto.CategoryDto;
 import com.book.store.app.entity.Book;
 import com.book.store.app.entity.Category;
+import com.book.store.app.event.CategoryChangedEvent;
 import com.book.store.app.mapper.BookMapper;
 import com.book.store.app.mapper.CategoryMapper;
 import com.book.store.app.repository.BookRepository;
 import com.book.store.app.repository.CategoryRepository;
+import com.book.store.app.search.CategoryMembershipIndex;
+import com.book.store.app.search.CategoryMembershipIndex.MembershipPage;
 import jakarta.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 class CategoryServiceImplTest {
 
@@ -39,6 +54,12 @@ class CategoryServiceImplTest {
     @Mock
     private BookMapper bookMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CategoryMembershipIndex membershipIndex;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -133,28 +154,66 @@ class CategoryServiceImplTest {
     @DisplayName("deleteById removes the category")
     void deleteById_existing() {
         doNothing().when(categoryRepo).deleteById(1L);
+        when(bookRepo.findIdsByCategoryId(1L)).thenReturn(List.of(10L, 11L));
         categoryService.deleteById(1L);
         verify(categoryRepo).deleteById(1L);
+        verify(eventPublisher).publishEvent(
+                new CategoryChangedEvent(1L, Set.of(10L, 11L), true));
     }
 
     @Test
-    @DisplayName("getBooksByCategoryId returns list of BookDtoWithoutCategoryIds")
+    @DisplayName("getBooksByCategoryId pages the membership index and keeps its order")
     void getBooksByCategory_existing() {
-        Book book1 = new Book();
-        book1.setId(10L);
-        book1.setTitle("Book1");
-        book1.setAuthor("Author1");
-        book1.setIsbn("ISBN-01");
-        book1.setPrice(new BigDecimal("10"));
-        when(bookRepo.findAllByCategoryId(1L)).thenReturn(List.of(book1));
+        Book book1 = book(10L);
+        Book book2 = book(11L);
+        when(membershipIndex.page(Set.of(1L), 0, 2))
+                .thenReturn(new MembershipPage(List.of(10L, 11L), 3));
+        when(bookRepo.findAllById(List.of(10L, 11L))).thenReturn(List.of(book2, book1));
+        when(bookMapper.toDtoWithoutCategories(any(Book.class))).thenAnswer(invocation -> {
+            Book book = invocation.getArgument(0);
+            return new BookDtoWithoutCategoryIds(book.getId(), book.getTitle(),
+                    book.getAuthor(), book.getIsbn(), book.getPrice(), null, null);
+        });
+
+        var result = categoryService.getBooksByCategoryId(1L, PageRequest.of(0, 2));
+        assertThat(result.getContent()).extracting(BookDtoWithoutCategoryIds::getId)
+                .containsExactly(10L, 11L);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        verify(bookRepo, never()).findPageByCategoryId(any(), any());
+    }
+
+    @Test
+    @DisplayName("getBooksByCategoryId sorted by title pages through the database")
+    void getBooksByCategory_sortedByTitle() {
+        Book book1 = book(10L);
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("title"));
+        when(bookRepo.findPageByCategoryId(1L, pageable))
+                .thenReturn(new PageImpl<>(List.of(book1), pageable, 1));
         when(bookMapper.toDtoWithoutCategories(book1))
-                .thenReturn(new BookDtoWithoutCategoryIds(10L, "Book1",
-                        "Author1", "ISBN-01", new BigDecimal("10"),
-                        null, null));
+                .thenReturn(new BookDtoWithoutCategoryIds(10L, "Book10",
+                        "Author", "ISBN-10", new BigDecimal("10"), null, null));
 
-        var result = categoryService.getBooksByCategoryId(1L);
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(10L);
-        verify(bookRepo).findAllByCategoryId(1L);
+        var result = categoryService.getBooksByCategoryId(1L, pageable);
+        assertThat(result.getContent()).hasSize(1);
+        verify(membershipIndex, never()).page(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("getBookCounts lists index counts ordered by category id")
+    void getBookCounts_sortedByCategory() {
+        when(membershipIndex.counts()).thenReturn(Map.of(2L, 5L, 1L, 100_000L));
+
+        assertThat(categoryService.getBookCounts()).containsExactly(
+                new CategoryBookCountDto(1L, 100_000L), new CategoryBookCountDto(2L, 5L));
+    }
+
+    private static Book book(Long id) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle("Book" + id);
+        book.setAuthor("Author");
+        book.setIsbn("ISBN-" + id);
+        book.setPrice(new BigDecimal("10"));
+        return book;
     }
 }
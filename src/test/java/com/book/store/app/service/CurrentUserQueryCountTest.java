@@ -0,0 +1,125 @@
+package com.book.store.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.book.store.app.dto.OrderItemResponseDto;
+import com.book.store.app.dto.OrderRequestDto;
+import com.book.store.app.dto.OrderResponseDto;
+import com.book.store.app.dto.ShoppingCartDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.entity.CartItem;
+import com.book.store.app.entity.Role;
+import com.book.store.app.entity.RoleName;
+import com.book.store.app.entity.ShoppingCart;
+import com.book.store.app.entity.User;
+import com.book.store.app.security.CustomUserDetails;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class CurrentUserQueryCountTest {
+
+    @Autowired
+    private ShoppingCartService shoppingCartService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role(null, RoleName.ROLE_USER);
+        entityManager.persist(role);
+        User user = new User(null, "stats-" + System.nanoTime() + "@example.com", "secret",
+                "Stats", "User", "Street 1", Set.of(role));
+        entityManager.persist(user);
+
+        Book book = new Book();
+        book.setTitle("Counted Book");
+        book.setAuthor("Author");
+        book.setIsbn("STATS-" + System.nanoTime());
+        book.setPrice(new BigDecimal("12.50"));
+        entityManager.persist(book);
+
+        ShoppingCart cart = new ShoppingCart();
+        cart.setUser(user);
+        CartItem item = new CartItem();
+        item.setShoppingCart(cart);
+        item.setBook(book);
+        item.setQuantity(2);
+        cart.getCartItems().add(item);
+        entityManager.persist(cart);
+        entityManager.flush();
+        entityManager.clear();
+
+        CustomUserDetails principal = new CustomUserDetails(user.getId(), user.getEmail(), null,
+                Set.of(RoleName.ROLE_USER));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null,
+                        principal.getAuthorities()));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("getCartForCurrentUser does not query the users table")
+    void getCart_doesNotLoadUser() {
+        ShoppingCartDto cart = shoppingCartService.getCartForCurrentUser();
+
+        assertThat(cart.getCartItems()).hasSize(1);
+        assertThat(userLoads()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Order placement and history do not query the users table")
+    void orders_doNotLoadUser() {
+        OrderRequestDto request = new OrderRequestDto();
+        request.setShippingAddress("Street 1");
+        OrderResponseDto placed = orderService.placeOrder(request);
+        entityManager.flush();
+        entityManager.clear();
+
+        Page<OrderResponseDto> history = orderService.getOrderHistory(PageRequest.of(0, 10));
+        List<OrderItemResponseDto> items = orderService.getOrderItems(placed.getId());
+
+        assertThat(history.getContent()).hasSize(1);
+        assertThat(items).hasSize(1);
+        assertThat(userLoads()).isZero();
+    }
+
+    private long userLoads() {
+        return statistics.getEntityStatistics(User.class.getName()).getLoadCount()
+                + statistics.getEntityStatistics(Role.class.getName()).getLoadCount();
+    }
+}
@@ -0,0 +1,135 @@
+package com.book.store.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.book.store.app.dto.OrderResponseDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.entity.Order;
+import com.book.store.app.entity.OrderItem;
+import com.book.store.app.entity.RoleName;
+import com.book.store.app.entity.User;
+import com.book.store.app.security.CustomUserDetails;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class OrderHistoryQueryCountTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 40})
+    @DisplayName("getOrderHistory runs the same number of statements for any order count")
+    void getOrderHistory_constantStatements(int orderCount) {
+        seedOrders(orderCount);
+        Statistics statistics = statistics();
+
+        Page<OrderResponseDto> page = orderService.getOrderHistory(PageRequest.of(0, 50));
+
+        assertThat(page.getContent()).hasSize(orderCount);
+        assertThat(page.getContent()).allSatisfy(order ->
+                assertThat(order.getOrderItems()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getOrderHistory pages and sorts by order date")
+    void getOrderHistory_pagesByOrderDate() {
+        seedOrders(5);
+        Statistics statistics = statistics();
+
+        Page<OrderResponseDto> newest = orderService.getOrderHistory(PageRequest.of(0, 2));
+        Page<OrderResponseDto> oldest = orderService.getOrderHistory(
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "orderDate")));
+
+        assertThat(newest.getTotalElements()).isEqualTo(5);
+        assertThat(newest.getContent()).extracting(OrderResponseDto::getOrderDate)
+                .containsExactly(START.plusDays(4), START.plusDays(3));
+        assertThat(oldest.getContent()).extracting(OrderResponseDto::getOrderDate)
+                .containsExactly(START, START.plusDays(1));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+    }
+
+    private void seedOrders(int orderCount) {
+        User user = new User(null, "history-" + System.nanoTime() + "@example.com", "secret",
+                "History", "User", "Street 1", Set.of());
+        entityManager.persist(user);
+        List<Book> books = List.of(book(), book());
+        books.forEach(entityManager::persist);
+
+        for (int i = 0; i < orderCount; i++) {
+            Order order = new Order();
+            order.setUser(user);
+            order.setStatus(Order.Status.PENDING);
+            order.setOrderDate(START.plusDays(i));
+            order.setShippingAddress("Street 1");
+            order.setTotal(new BigDecimal("20.00"));
+            books.forEach(book -> {
+                OrderItem item = new OrderItem();
+                item.setOrder(order);
+                item.setBook(book);
+                item.setQuantity(1);
+                item.setPrice(book.getPrice());
+                order.getOrderItems().add(item);
+            });
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        CustomUserDetails principal = new CustomUserDetails(user.getId(), user.getEmail(), null,
+                Set.of(RoleName.ROLE_USER));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null,
+                        principal.getAuthorities()));
+    }
+
+    private Book book() {
+        Book book = new Book();
+        book.setTitle("History Book");
+        book.setAuthor("Author");
+        book.setIsbn("HISTORY-" + System.nanoTime());
+        book.setPrice(new BigDecimal("10.00"));
+        return book;
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,103 @@
+package com.book.store.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.book.store.app.dto.OrderRequestDto;
+import com.book.store.app.dto.OrderResponseDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.entity.CartItem;
+import com.book.store.app.entity.RoleName;
+import com.book.store.app.entity.ShoppingCart;
+import com.book.store.app.entity.User;
+import com.book.store.app.repository.CartItemRepository;
+import com.book.store.app.security.CustomUserDetails;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class OrderPlacementBatchTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 60})
+    @DisplayName("placeOrder runs the same number of statements for any cart size")
+    void placeOrder_constantStatements(int itemCount) {
+        final Long cartId = seedCart(itemCount);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        OrderRequestDto request = new OrderRequestDto();
+        request.setShippingAddress("Street 1");
+        OrderResponseDto order = orderService.placeOrder(request);
+        entityManager.flush();
+
+        assertThat(order.getOrderItems()).hasSize(itemCount);
+        assertThat(order.getTotal()).isEqualByComparingTo(
+                new BigDecimal("20.00").multiply(BigDecimal.valueOf(itemCount)));
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(itemCount + 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+        assertThat(cartItemRepository.findAllWithBookByCartId(cartId)).isEmpty();
+    }
+
+    private Long seedCart(int itemCount) {
+        User user = new User(null, "batch-" + System.nanoTime() + "@example.com", "secret",
+                "Batch", "User", "Street 1", Set.of());
+        entityManager.persist(user);
+        ShoppingCart cart = new ShoppingCart();
+        cart.setUser(user);
+        for (int i = 0; i < itemCount; i++) {
+            Book book = new Book();
+            book.setTitle("Batch Book " + i);
+            book.setAuthor("Author");
+            book.setIsbn("BATCH-" + System.nanoTime() + "-" + i);
+            book.setPrice(new BigDecimal("10.00"));
+            entityManager.persist(book);
+            CartItem item = new CartItem();
+            item.setShoppingCart(cart);
+            item.setBook(book);
+            item.setQuantity(2);
+            cart.getCartItems().add(item);
+        }
+        entityManager.persist(cart);
+        entityManager.flush();
+        entityManager.clear();
+
+        CustomUserDetails principal = new CustomUserDetails(user.getId(), user.getEmail(), null,
+                Set.of(RoleName.ROLE_USER));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null,
+                        principal.getAuthorities()));
+        return cart.getId();
+    }
+}
@@ -0,0 +1,74 @@
+package com.book.store.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.book.store.app.dto.UserLoginRequestDto;
+import com.book.store.app.dto.UserRegistrationRequestDto;
+import com.book.store.app.entity.Role;
+import com.book.store.app.entity.RoleName;
+import com.book.store.app.entity.User;
+import com.book.store.app.repository.RoleRepository;
+import com.book.store.app.repository.UserRepository;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:password-rehash;DB_CLOSE_DELAY=-1",
+        "password.hashing.strength=5"
+})
+class PasswordRehashTest {
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Test
+    @DisplayName("Logging in with a legacy weaker hash rewrites it with the current work factor")
+    void login_rehashesLegacyPassword() {
+        String email = "legacy-" + System.nanoTime() + "@example.com";
+        userRepository.save(new User(null, email, new BCryptPasswordEncoder(4).encode("secret"),
+                "Legacy", "User", "Street 1", Set.of()));
+
+        assertThat(authenticationService.authenticate(new UserLoginRequestDto(email, "secret"))
+                .token()).isNotBlank();
+
+        String rehashed = userRepository.findByEmail(email).orElseThrow().getPassword();
+        assertThat(rehashed).startsWith("{bcrypt}$2a$05$");
+        assertThat(authenticationService.authenticate(new UserLoginRequestDto(email, "secret"))
+                .token()).isNotBlank();
+        assertThat(userRepository.findByEmail(email).orElseThrow().getPassword())
+                .isEqualTo(rehashed);
+    }
+
+    @Test
+    @DisplayName("Registration stores an id-prefixed hash at the configured work factor")
+    void register_usesConfiguredStrength() {
+        if (roleRepository.findByName(RoleName.ROLE_USER).isEmpty()) {
+            roleRepository.save(new Role(null, RoleName.ROLE_USER));
+        }
+        UserRegistrationRequestDto request = new UserRegistrationRequestDto();
+        String email = "new-" + System.nanoTime() + "@example.com";
+        request.setEmail(email);
+        request.setPassword("password1");
+        request.setRepeatPassword("password1");
+        request.setFirstName("New");
+        request.setLastName("User");
+
+        userService.register(request);
+
+        assertThat(userRepository.findByEmail(email).orElseThrow().getPassword())
+                .startsWith("{bcrypt}$2a$05$");
+    }
+}
@@ -3,7 +3,6 @@ package com.book.store.app.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -13,17 +12,19 @@ import com.book.store.app.dto.AddToCartRequestDto;
 import com.book.store.app.dto.CartItemDto;
 import com.book.store.app.dto.ShoppingCartDto;
 import com.book.store.app.dto.UpdateCartItemRequestDto;
-import com.book.store.app.entity.Book;
 import com.book.store.app.entity.CartItem;
+import com.book.store.app.entity.RoleName;
 import com.book.store.app.entity.ShoppingCart;
 import com.book.store.app.entity.User;
 import com.book.store.app.exception.EntityNotFoundException;
 import com.book.store.app.mapper.CartMapper;
-import com.book.store.app.repository.BookRepository;
 import com.book.store.app.repository.CartItemRepository;
 import com.book.store.app.repository.ShoppingCartRepository;
 import com.book.store.app.repository.UserRepository;
+import com.book.store.app.security.CurrentUserProvider;
+import com.book.store.app.security.CustomUserDetails;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -46,9 +47,6 @@ class ShoppingCartServiceImplTest {
     @Mock
     private UserRepository userRepo;
 
-    @Mock
-    private BookRepository bookRepo;
-
     private ShoppingCartServiceImpl service;
     private CartMapper cartMapper;
 
@@ -60,7 +58,8 @@ class ShoppingCartServiceImplTest {
     void setUp() {
         // Use a real CartMapper instance
         cartMapper = new CartMapper();
-        service = new ShoppingCartServiceImpl(cartRepo, itemRepo, userRepo, bookRepo, cartMapper);
+        service = new ShoppingCartServiceImpl(cartRepo, itemRepo,
+                new CurrentUserProvider(userRepo), cartMapper);
 
         user = new User();
         user.setId(1L);
@@ -86,8 +85,8 @@ class ShoppingCartServiceImplTest {
     void getCartForCurrentUser_shouldReturnDto() {
         mockSecurityContextWithEmail(email);
 
-        when(userRepo.findByEmail(email)).thenReturn(Optional.of(user));
-        when(cartRepo.findByUser(user)).thenReturn(Optional.of(cart));
+        when(userRepo.findIdByEmail(email)).thenReturn(Optional.of(user.getId()));
+        when(cartRepo.findByUserId(user.getId())).thenReturn(Optional.of(cart));
 
         ShoppingCartDto result = service.getCartForCurrentUser();
 
@@ -96,15 +95,34 @@ class ShoppingCartServiceImplTest {
         assertThat(result.getUserId()).isEqualTo(user.getId());
         assertThat(result.getCartItems()).isEmpty();
 
-        verify(userRepo).findByEmail(email);
-        verify(cartRepo).findByUser(user);
+        verify(userRepo).findIdByEmail(email);
+        verify(cartRepo).findByUserId(user.getId());
+    }
+
+    @Test
+    @DisplayName("getCartForCurrentUser resolves the user id from the principal")
+    void getCartForCurrentUser_withUserDetailsPrincipal_shouldNotQueryUsers() {
+        CustomUserDetails principal = new CustomUserDetails(user.getId(), email, null,
+                Set.of(RoleName.ROLE_USER));
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, principal.getAuthorities()));
+        SecurityContextHolder.setContext(context);
+
+        when(cartRepo.findByUserId(user.getId())).thenReturn(Optional.of(cart));
+
+        ShoppingCartDto result = service.getCartForCurrentUser();
+
+        assertThat(result.getUserId()).isEqualTo(user.getId());
+        verify(cartRepo).findByUserId(user.getId());
+        verifyNoInteractions(userRepo);
     }
 
     @Test
     @DisplayName("getCartForCurrentUser throws when user not found")
     void getCartForCurrentUser_whenUserNotFound_shouldThrowException() {
         mockSecurityContextWithEmail(email);
-        when(userRepo.findByEmail(email)).thenReturn(Optional.empty());
+        when(userRepo.findIdByEmail(email)).thenReturn(Optional.empty());
 
         EntityNotFoundException exception = assertThrows(
                 EntityNotFoundException.class,
@@ -112,12 +130,12 @@ class ShoppingCartServiceImplTest {
         );
 
         assertThat(exception.getMessage()).contains("User not found");
-        verify(userRepo).findByEmail(email);
+        verify(userRepo).findIdByEmail(email);
         verifyNoInteractions(cartRepo);
     }
 
     @Test
-    @DisplayName("addToCart adds new item to cart")
+    @DisplayName("addToCart upserts the line and returns its projection")
     void addToCart_shouldAddItem() {
         mockSecurityContextWithEmail(email);
 
@@ -128,32 +146,44 @@ class ShoppingCartServiceImplTest {
         request.setBookId(bookId);
         request.setQuantity(quantity);
 
-        Book book = new Book();
-        book.setId(bookId);
-        book.setTitle("Sample Title");
-
-        when(userRepo.findByEmail(email)).thenReturn(Optional.of(user));
-        when(cartRepo.findByUser(user)).thenReturn(Optional.of(cart));
-        when(bookRepo.findById(bookId)).thenReturn(Optional.of(book));
-        when(itemRepo.save(any(CartItem.class)))
-                .thenAnswer(invocation -> {
-                    CartItem ci = invocation.getArgument(0);
-                    ci.setId(100L); // simulate ID assignment
-                    return ci;
-                });
+        when(userRepo.findIdByEmail(email)).thenReturn(Optional.of(user.getId()));
+        when(cartRepo.findIdByUserId(user.getId())).thenReturn(Optional.of(cart.getId()));
+        when(itemRepo.upsert(cart.getId(), bookId, quantity)).thenReturn(1);
+        when(itemRepo.findDtoByCartIdAndBookId(cart.getId(), bookId))
+                .thenReturn(Optional.of(new CartItemDto(100L, bookId, "Sample Title", quantity)));
 
         CartItemDto result = service.addToCart(request);
 
-        assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(100L);
         assertThat(result.getBookId()).isEqualTo(bookId);
         assertThat(result.getBookTitle()).isEqualTo("Sample Title");
         assertThat(result.getQuantity()).isEqualTo(quantity);
 
-        verify(userRepo).findByEmail(email);
-        verify(cartRepo).findByUser(user);
-        verify(bookRepo).findById(bookId);
-        verify(itemRepo).save(any(CartItem.class));
+        verify(cartRepo).findIdByUserId(user.getId());
+        verify(itemRepo).upsert(cart.getId(), bookId, quantity);
+        verify(cartRepo, never()).findByUserId(any());
+    }
+
+    @Test
+    @DisplayName("addToCart throws when the book does not exist")
+    void addToCart_whenBookNotFound_shouldThrowException() {
+        mockSecurityContextWithEmail(email);
+
+        AddToCartRequestDto request = new AddToCartRequestDto();
+        request.setBookId(9L);
+        request.setQuantity(1);
+
+        when(userRepo.findIdByEmail(email)).thenReturn(Optional.of(user.getId()));
+        when(cartRepo.findIdByUserId(user.getId())).thenReturn(Optional.of(cart.getId()));
+        when(itemRepo.upsert(cart.getId(), 9L, 1)).thenReturn(0);
+
+        EntityNotFoundException exception = assertThrows(
+                EntityNotFoundException.class,
+                () -> service.addToCart(request)
+        );
+
+        assertThat(exception.getMessage()).contains("Book not found");
+        verify(itemRepo, never()).findDtoByCartIdAndBookId(any(), any());
     }
 
     @Test
@@ -167,33 +197,23 @@ class ShoppingCartServiceImplTest {
         UpdateCartItemRequestDto request = new UpdateCartItemRequestDto();
         request.setQuantity(newQuantity);
 
-        Book book = new Book();
-        book.setId(2L);
-        book.setTitle("Updated Title");
-
-        CartItem item = new CartItem();
-        item.setId(cartItemId);
-        item.setBook(book);
-        item.setQuantity(1);
-
-        when(itemRepo.findById(cartItemId)).thenReturn(Optional.of(item));
-        when(itemRepo.save(any(CartItem.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepo.findIdByEmail(email)).thenReturn(Optional.of(user.getId()));
+        when(itemRepo.updateQuantity(cartItemId, user.getId(), newQuantity)).thenReturn(1);
+        when(itemRepo.findDtoById(cartItemId)).thenReturn(Optional.of(
+                new CartItemDto(cartItemId, 2L, "Updated Title", newQuantity)));
 
         CartItemDto result = service.updateCartItem(cartItemId, request);
 
-        assertThat(result).isNotNull();
-        assertThat(item.getQuantity()).isEqualTo(newQuantity);
         assertThat(result.getQuantity()).isEqualTo(newQuantity);
-        assertThat(result.getBookId()).isEqualTo(book.getId());
-        assertThat(result.getBookTitle()).isEqualTo(book.getTitle());
+        assertThat(result.getBookId()).isEqualTo(2L);
+        assertThat(result.getBookTitle()).isEqualTo("Updated Title");
 
-        verify(itemRepo).findById(cartItemId);
-        verify(itemRepo).save(item);
+        verify(itemRepo).updateQuantity(cartItemId, user.getId(), newQuantity);
+        verify(itemRepo, never()).findById(any());
     }
 
     @Test
-    @DisplayName("updateCartItem throws when item not found")
+    @DisplayName("updateCartItem throws when item not found or not owned")
     void updateCartItem_whenItemNotFound_shouldThrowException() {
         mockSecurityContextWithEmail(email);
 
@@ -201,7 +221,8 @@ class ShoppingCartServiceImplTest {
         UpdateCartItemRequestDto request = new UpdateCartItemRequestDto();
         request.setQuantity(3);
 
-        when(itemRepo.findById(cartItemId)).thenReturn(Optional.empty());
+        when(userRepo.findIdByEmail(email)).thenReturn(Optional.of(user.getId()));
+        when(itemRepo.updateQuantity(cartItemId, user.getId(), 3)).thenReturn(0);
 
         EntityNotFoundException exception = assertThrows(
                 EntityNotFoundException.class,
@@ -209,8 +230,7 @@ class ShoppingCartServiceImplTest {
         );
 
         assertThat(exception.getMessage()).contains("CartItem not found");
-        verify(itemRepo).findById(cartItemId);
-        verify(itemRepo, never()).save(any(CartItem.class));
+        verify(itemRepo, never()).findDtoById(any());
     }
 
     @Test
@@ -219,25 +239,23 @@ class ShoppingCartServiceImplTest {
         mockSecurityContextWithEmail(email);
 
         final Long itemId = 1L;
-        CartItem item = new CartItem();
-        item.setId(itemId);
-
-        when(itemRepo.findById(itemId)).thenReturn(Optional.of(item));
-        doNothing().when(itemRepo).delete(item);
+        when(userRepo.findIdByEmail(email)).thenReturn(Optional.of(user.getId()));
+        when(itemRepo.deleteByIdAndUserId(itemId, user.getId())).thenReturn(1);
 
         service.removeCartItem(itemId);
 
-        verify(itemRepo).findById(itemId);
-        verify(itemRepo).delete(item);
+        verify(itemRepo).deleteByIdAndUserId(itemId, user.getId());
+        verify(itemRepo, never()).delete(any(CartItem.class));
     }
 
     @Test
-    @DisplayName("removeCartItem throws when item not found")
+    @DisplayName("removeCartItem throws when item not found or not owned")
     void removeCartItem_whenItemNotFound_shouldThrowException() {
         mockSecurityContextWithEmail(email);
 
         final Long itemId = 1L;
-        when(itemRepo.findById(itemId)).thenReturn(Optional.empty());
+        when(userRepo.findIdByEmail(email)).thenReturn(Optional.of(user.getId()));
+        when(itemRepo.deleteByIdAndUserId(itemId, user.getId())).thenReturn(0);
 
         EntityNotFoundException exception = assertThrows(
                 EntityNotFoundException.class,
@@ -245,7 +263,5 @@ class ShoppingCartServiceImplTest {
         );
 
         assertThat(exception.getMessage()).contains("CartItem not found");
-        verify(itemRepo).findById(itemId);
-        verify(itemRepo, never()).delete(any(CartItem.class));
     }
 }
@@ -0,0 +1,187 @@
+package com.book.store.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.book.store.app.dto.AddToCartRequestDto;
+import com.book.store.app.dto.CartItemDto;
+import com.book.store.app.dto.UpdateCartItemRequestDto;
+import com.book.store.app.entity.Book;
+import com.book.store.app.entity.CartItem;
+import com.book.store.app.entity.RoleName;
+import com.book.store.app.entity.ShoppingCart;
+import com.book.store.app.entity.User;
+import com.book.store.app.exception.EntityNotFoundException;
+import com.book.store.app.security.CustomUserDetails;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class ShoppingCartWritePathTest {
+
+    private static final int CART_LINES = 50;
+
+    @Autowired
+    private ShoppingCartService shoppingCartService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Book book;
+    private Long ownItemId;
+    private Long foreignItemId;
+
+    @BeforeEach
+    void setUp() {
+        User owner = persistUser("owner");
+        final User other = persistUser("other");
+        ShoppingCart cart = persistCart(owner);
+        for (int i = 0; i < CART_LINES; i++) {
+            persistItem(cart, persistBook("Line " + i));
+        }
+        book = persistBook("Target");
+        ownItemId = persistItem(cart, persistBook("Own")).getId();
+        foreignItemId = persistItem(persistCart(other), persistBook("Foreign")).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        CustomUserDetails principal = new CustomUserDetails(owner.getId(), owner.getEmail(),
+                null, Set.of(RoleName.ROLE_USER));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null,
+                        principal.getAuthorities()));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("addToCart inserts then increments a single line without loading the cart")
+    void addToCart_upsertsLine() {
+        CartItemDto first = shoppingCartService.addToCart(request(book.getId(), 2));
+        CartItemDto second = shoppingCartService.addToCart(request(book.getId(), 3));
+
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getQuantity()).isEqualTo(5);
+        assertThat(second.getBookTitle()).isEqualTo("Target");
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+        assertThat(countLines(book.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("addToCart rejects a missing book without writing")
+    void addToCart_missingBook() {
+        assertThrows(EntityNotFoundException.class,
+                () -> shoppingCartService.addToCart(request(Long.MAX_VALUE, 1)));
+    }
+
+    @Test
+    @DisplayName("updateCartItem changes the quantity in one statement")
+    void updateCartItem_ownLine() {
+        UpdateCartItemRequestDto request = new UpdateCartItemRequestDto();
+        request.setQuantity(7);
+
+        CartItemDto updated = shoppingCartService.updateCartItem(ownItemId, request);
+
+        assertThat(updated.getQuantity()).isEqualTo(7);
+        assertThat(updated.getBookTitle()).isEqualTo("Own");
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("updateCartItem and removeCartItem do not touch another user's line")
+    void writes_foreignLine_notFound() {
+        UpdateCartItemRequestDto request = new UpdateCartItemRequestDto();
+        request.setQuantity(9);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> shoppingCartService.updateCartItem(foreignItemId, request));
+        assertThrows(EntityNotFoundException.class,
+                () -> shoppingCartService.removeCartItem(foreignItemId));
+
+        CartItem foreign = entityManager.find(CartItem.class, foreignItemId);
+        assertThat(foreign.getQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("removeCartItem deletes the line in one statement")
+    void removeCartItem_ownLine() {
+        shoppingCartService.removeCartItem(ownItemId);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(entityManager.find(CartItem.class, ownItemId)).isNull();
+    }
+
+    private AddToCartRequestDto request(Long bookId, int quantity) {
+        AddToCartRequestDto request = new AddToCartRequestDto();
+        request.setBookId(bookId);
+        request.setQuantity(quantity);
+        return request;
+    }
+
+    private long countLines(Long bookId) {
+        return entityManager.createQuery(
+                        "SELECT COUNT(ci) FROM CartItem ci WHERE ci.book.id = :bookId", Long.class)
+                .setParameter("bookId", bookId)
+                .getSingleResult();
+    }
+
+    private User persistUser(String name) {
+        User user = new User(null, name + "-" + System.nanoTime() + "@example.com", "secret",
+                "Cart", "User", "Street 1", Set.of());
+        entityManager.persist(user);
+        return user;
+    }
+
+    private ShoppingCart persistCart(User user) {
+        ShoppingCart cart = new ShoppingCart();
+        cart.setUser(user);
+        entityManager.persist(cart);
+        return cart;
+    }
+
+    private Book persistBook(String title) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Author");
+        book.setIsbn("CART-" + title + "-" + System.nanoTime());
+        book.setPrice(new BigDecimal("10.00"));
+        entityManager.persist(book);
+        return book;
+    }
+
+    private CartItem persistItem(ShoppingCart cart, Book book) {
+        CartItem item = new CartItem();
+        item.setShoppingCart(cart);
+        item.setBook(book);
+        item.setQuantity(1);
+        entityManager.persist(item);
+        return item;
+    }
+}